@@ -75,6 +75,10 @@ public final class TalaniaCombatLogPage extends InteractiveCustomUIPage {
 
     private void applyRows(UICommandBuilder commandBuilder) {
         List<CombatLogEntry> entries = TalaniaDebug.combatLog().recent(playerRef.getUuid(), MAX_ROWS);
+        if (entries.isEmpty()) {
+            // Nothing this session; fall back to persisted history if enabled.
+            entries = TalaniaDebug.combatLog().history(playerRef.getUuid(), 0L, Long.MAX_VALUE, MAX_ROWS);
+        }
         commandBuilder.set("#EmptyLabel.Visible", entries.isEmpty());
         int count = entries.size();
         int startIndex = Math.max(0, count - MAX_ROWS);
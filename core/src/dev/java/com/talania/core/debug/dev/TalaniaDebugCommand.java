@@ -9,6 +9,9 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.talania.core.debug.DebugModule;
+import com.talania.core.debug.TalaniaDebug;
+import com.talania.core.events.EventBus;
 
 import javax.annotation.Nonnull;
 
@@ -38,13 +41,52 @@ public final class TalaniaDebugCommand extends AbstractPlayerCommand {
             showHelp(context);
             return;
         }
+        if (args.length >= 3 && "events".equalsIgnoreCase(args[2])) {
+            handleEvents(context, args);
+            return;
+        }
 
         openMenu(context, ref, store);
     }
 
     private void showHelp(CommandContext context) {
-        context.sendMessage(Message.raw("Only /talania debug is available."));
         context.sendMessage(Message.raw("Usage: /talania debug"));
+        context.sendMessage(Message.raw("Usage: /talania debug events [on|off|reset|sample <n>]"));
+    }
+
+    private void handleEvents(CommandContext context, String[] args) {
+        String action = args.length >= 4 ? args[3].toLowerCase(java.util.Locale.ROOT) : "";
+        switch (action) {
+            case "on" -> EventBus.setMetricsEnabled(true);
+            case "off" -> EventBus.setMetricsEnabled(false);
+            case "reset" -> EventBus.resetMetrics();
+            case "sample" -> {
+                if (args.length < 5) {
+                    showHelp(context);
+                    return;
+                }
+                try {
+                    EventBus.setMetricsSampleRate(Integer.parseInt(args[4]));
+                } catch (NumberFormatException e) {
+                    context.sendMessage(Message.raw("Sample rate must be a number."));
+                    return;
+                }
+            }
+            default -> {
+                // Just show the current metrics.
+            }
+        }
+        DebugModule core = TalaniaDebug.registry().module("core");
+        if (core == null) {
+            return;
+        }
+        for (DebugModule.DebugSection section : core.sections()) {
+            if ("core-events".equals(section.id())) {
+                for (String line : section.lines()) {
+                    context.sendMessage(Message.raw(line));
+                }
+            }
+        }
     }
 
     private void openMenu(CommandContext context, Ref<EntityStore> ref, Store<EntityStore> store) {
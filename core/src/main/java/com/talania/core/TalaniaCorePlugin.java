@@ -10,21 +10,26 @@ import com.talania.core.combat.shield.EnergyShieldSystem;
 import com.talania.core.TalaniaDevMode;
 import com.talania.core.entities.EntityAnimationSystem;
 import com.talania.core.entities.PlayerScaleSystem;
+import com.talania.core.events.EventBus;
 import com.talania.core.events.entity.npc.NpcDeathEventSystem;
 import com.talania.core.events.entity.npc.NpcDeathHandledComponent;
+import com.talania.core.hytale.stats.StatChangeFlushSystem;
 import com.talania.core.input.InputPatternMovementSystem;
 import com.talania.core.input.InputPatternPlaceBlockSystem;
 import com.talania.core.projectiles.ProjectileDetectSystem;
 import com.talania.core.projectiles.ProjectileOwnerDetectSystem;
 import com.talania.core.runtime.TalaniaCoreRuntime;
+import com.talania.core.utils.time.TimerSystem;
 import com.talania.core.debug.TalaniaDebug;
 import com.talania.core.localization.TranslationManager;
 import com.talania.core.module.TalaniaModuleRegistry;
 import com.talania.core.movement.MovementStatSystem;
 import com.talania.core.combat.healing.HealingStatScalingSystem;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerMouseButtonEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
+import com.hypixel.hytale.server.core.universe.world.events.RemoveWorldEvent;
 
 import javax.annotation.Nonnull;
 
@@ -33,6 +38,8 @@ import javax.annotation.Nonnull;
  */
 public final class TalaniaCorePlugin extends JavaPlugin {
     private ComponentType<EntityStore, NpcDeathHandledComponent> npcDeathHandledType;
+    private MovementStatSystem movementStatSystem;
+    private PlayerScaleSystem playerScaleSystem;
 
     public TalaniaCorePlugin(@Nonnull JavaPluginInit init) {
         super(init);
@@ -43,26 +50,32 @@ public final class TalaniaCorePlugin extends JavaPlugin {
         TranslationManager.initialize(getDataDirectory());
         TranslationManager.registerBundledLanguages(TalaniaCorePlugin.class, "en");
         TalaniaDevMode.initialize(TalaniaCorePlugin.class);
+        EventBus.setErrorHandler((event, error) -> getLogger().at(java.util.logging.Level.WARNING)
+                .withCause(error)
+                .log("Talania event handler failed for %s", event.getClass().getSimpleName()));
         TalaniaCoreRuntime runtime = TalaniaCoreRuntime.init(getDataDirectory());
         ComponentRegistryProxy<EntityStore> registry = getEntityStoreRegistry();
         this.npcDeathHandledType = registry.registerComponent(
                 NpcDeathHandledComponent.class, NpcDeathHandledComponent::new);
 
+        registry.registerSystem(new StatChangeFlushSystem(runtime.statSyncService()));
+        registry.registerSystem(new TimerSystem());
         registry.registerSystem(new TalaniaDamageModifierSystem());
         registry.registerSystem(new ProjectileDetectSystem());
         registry.registerSystem(new ProjectileOwnerDetectSystem());
         registry.registerSystem(new NpcDeathEventSystem(npcDeathHandledType));
         registry.registerSystem(new EntityAnimationSystem());
-        PlayerScaleSystem playerScaleSystem = new PlayerScaleSystem();
+        this.playerScaleSystem = new PlayerScaleSystem();
         registry.registerSystem(playerScaleSystem);
         registry.registerSystem(new InputPatternMovementSystem(runtime.inputPatternTracker()));
         registry.registerSystem(new InputPatternPlaceBlockSystem(runtime.inputPatternTracker()));
-        MovementStatSystem movementStatSystem = new MovementStatSystem();
+        this.movementStatSystem = new MovementStatSystem();
         registry.registerSystem(movementStatSystem);
         registry.registerSystem(new HealingStatScalingSystem());
         EnergyShieldSystem energyShieldSystem = new EnergyShieldSystem();
         registry.registerSystem(energyShieldSystem);
 
+        getEventRegistry().registerGlobal(PlayerConnectEvent.class, runtime::handlePlayerConnect);
         getEventRegistry().registerGlobal(PlayerReadyEvent.class, runtime::handlePlayerReady);
         getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, event -> {
             runtime.handlePlayerDisconnect(event);
@@ -74,8 +87,22 @@ public final class TalaniaCorePlugin extends JavaPlugin {
             }
         });
         getEventRegistry().registerGlobal(PlayerMouseButtonEvent.class, runtime::handleMouseButton);
+        getEventRegistry().registerGlobal(RemoveWorldEvent.class, runtime::handleWorldRemoved);
 
         TalaniaModuleRegistry.get().initModules(this);
         TalaniaDebug.tryRegisterDev(this);
     }
+
+    @Override
+    protected void shutdown() {
+        if (movementStatSystem != null) {
+            movementStatSystem.shutdown();
+        }
+        if (playerScaleSystem != null) {
+            playerScaleSystem.shutdown();
+        }
+        TalaniaCoreRuntime.shutdown();
+        TalaniaDebug.shutdown();
+        EventBus.shutdownAsync();
+    }
 }
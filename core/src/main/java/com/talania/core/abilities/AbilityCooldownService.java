@@ -7,7 +7,11 @@ import com.hypixel.hytale.server.core.asset.type.entityeffect.config.OverlapBeha
 import com.hypixel.hytale.server.core.entity.effect.EffectControllerComponent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
+import com.talania.core.utils.time.TickClock;
+import com.talania.core.utils.time.TimingWheel;
+
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -17,7 +21,18 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * <p>How it works:</p>
  * <ul>
- *   <li>Cooldowns are stored per (ownerId, abilityId) with a ready-at timestamp.</li>
+ *   <li>Ability ids are interned to ints ({@link #abilityIndex}) and owners to
+ *       entity slots ({@link #entitySlot}) the first time they are seen.</li>
+ *   <li>Ready-at ticks live in a primitive open-addressing table keyed by
+ *       (entity slot, ability index), so checks and activations do not allocate.</li>
+ *   <li>Time comes from a caller-supplied {@link TickClock}; the default clock
+ *       ticks once per wall-clock millisecond.</li>
+ *   <li>Each cooldown also gets a {@link TimingWheel} timer that removes the
+ *       entry once it expires, so the table only holds live cooldowns.</li>
+ *   <li>Abilities registered with a {@link CooldownSpec} can have several
+ *       charges, share a group cooldown and use the global cooldown. An
+ *       ability stores only the tick at which all its charges are full, so
+ *       one table probe plus two array reads answer any activation.</li>
  *   <li>{@link #tryActivate} checks readiness, then records the cooldown.</li>
  *   <li>If a {@link CooldownEffect} is provided, the service applies the
  *       corresponding {@code EntityEffect} via {@code EffectControllerComponent}.</li>
@@ -25,46 +40,280 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * <p>How to use it:</p>
  * <ul>
- *   <li>Call {@link #tryActivate} when an ability is triggered.</li>
+ *   <li>Call {@link #tryActivate} when an ability is triggered. Hot paths can
+ *       resolve the slot and ability index once and use the int overloads.</li>
+ *   <li>For registered abilities, {@link #activate} and {@link #status} return
+ *       a packed {@code long} read with {@link CooldownResult}.</li>
  *   <li>Use {@link #remainingMs} or {@link #isReady} for UI or gating.</li>
  *   <li>Call {@link #clear} when an entity is removed.</li>
  * </ul>
  *
  * <p>Integration with Hytale:</p>
  * <ul>
- *   <li>Uses {@code EffectControllerComponent} to apply a status icon.</li>
+ *   <li>Uses {@code EffectControllerComponent} to apply a status icon when an
+ *       ability runs out of charges or its cooldown is extended.</li>
  *   <li>Resolves effect IDs via {@code EntityEffect.getAssetMap()}.</li>
  * </ul>
  */
 public final class AbilityCooldownService {
     public static final String DEFAULT_COOLDOWN_EFFECT_ID = "Potion_Stamina_Cooldown";
     public static final OverlapBehavior DEFAULT_COOLDOWN_OVERLAP = OverlapBehavior.OVERWRITE;
+    /** Returned by {@link #findEntitySlot} and {@link #findAbilityIndex} for unknown keys. */
+    public static final int UNKNOWN = -1;
 
     private final CooldownEffect defaultCooldownEffect;
-    private final Map<UUID, Map<String, Long>> cooldowns = new ConcurrentHashMap<>();
+    private final TickClock clock;
+    private final CooldownTable table = new CooldownTable();
+    private final TimingWheel expiries;
+    private final TimingWheel.Callback expireCallback = this::expire;
+    private final Map<String, Integer> abilityIndices = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> entitySlots = new ConcurrentHashMap<>();
+    private final Map<String, Integer> groupIndices = new ConcurrentHashMap<>();
+    private final Object internLock = new Object();
+    private volatile String[] abilityNames = new String[16];
+
+    // Registered specs by ability index, guarded by the table lock. A charge
+    // count of 0 marks an ability without a spec.
+    private long[] specRechargeTicks = new long[16];
+    private int[] specCharges = new int[16];
+    private int[] specGroup = new int[16];
+    private long[] specGroupTicks = new long[16];
+    private boolean[] specGlobal = new boolean[16];
+    private CooldownEffect[] specEffect = new CooldownEffect[16];
+    private long globalCooldownTicks;
+
+    // Per entity slot, guarded by the table lock.
+    private long[] globalReadyAt = new long[16];
+    private long[][] groupReadyAt = new long[16][];
+    private long[] iconUntil = new long[16];
+    private CooldownEffect[] iconEffect = new CooldownEffect[16];
+
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+    private int nextSlot = 1;
 
     public AbilityCooldownService() {
-        this(new CooldownEffect(DEFAULT_COOLDOWN_EFFECT_ID, DEFAULT_COOLDOWN_OVERLAP));
+        this(TickClock.millis());
     }
 
     public AbilityCooldownService(CooldownEffect defaultCooldownEffect) {
+        this(TickClock.millis(), defaultCooldownEffect);
+    }
+
+    public AbilityCooldownService(TickClock clock) {
+        this(clock, new CooldownEffect(DEFAULT_COOLDOWN_EFFECT_ID, DEFAULT_COOLDOWN_OVERLAP));
+    }
+
+    public AbilityCooldownService(TickClock clock, CooldownEffect defaultCooldownEffect) {
+        this.clock = clock != null ? clock : TickClock.millis();
         this.defaultCooldownEffect = defaultCooldownEffect;
+        this.expiries = new TimingWheel(this.clock.currentTick());
+    }
+
+    public TickClock clock() {
+        return clock;
+    }
+
+    // ==================== INTERNING ====================
+
+    /**
+     * Int index for an ability id, assigned on first use and stable for the
+     * lifetime of this service.
+     */
+    public int abilityIndex(String abilityId) {
+        Integer index = abilityIndices.get(abilityId);
+        if (index != null) {
+            return index;
+        }
+        synchronized (internLock) {
+            index = abilityIndices.get(abilityId);
+            if (index != null) {
+                return index;
+            }
+            int next = abilityIndices.size();
+            String[] names = abilityNames;
+            if (next == names.length) {
+                names = Arrays.copyOf(names, names.length << 1);
+            }
+            names[next] = abilityId;
+            abilityNames = names;
+            abilityIndices.put(abilityId, next);
+            return next;
+        }
+    }
+
+    public int findAbilityIndex(String abilityId) {
+        Integer index = abilityId == null ? null : abilityIndices.get(abilityId);
+        return index != null ? index : UNKNOWN;
+    }
+
+    public String abilityId(int abilityIndex) {
+        String[] names = abilityNames;
+        return abilityIndex >= 0 && abilityIndex < names.length ? names[abilityIndex] : null;
+    }
+
+    /**
+     * Entity slot for an owner, assigned on first use. Slots are recycled
+     * after {@link #clear(UUID)}, so do not keep one past that call.
+     */
+    public int entitySlot(UUID ownerId) {
+        Integer slot = entitySlots.get(ownerId);
+        if (slot != null) {
+            return slot;
+        }
+        synchronized (internLock) {
+            slot = entitySlots.get(ownerId);
+            if (slot != null) {
+                return slot;
+            }
+            int assigned = freeSlotCount > 0 ? freeSlots[--freeSlotCount] : nextSlot++;
+            entitySlots.put(ownerId, assigned);
+            return assigned;
+        }
+    }
+
+    public int findEntitySlot(UUID ownerId) {
+        Integer slot = ownerId == null ? null : entitySlots.get(ownerId);
+        return slot != null ? slot : UNKNOWN;
+    }
+
+    // ==================== REGISTRATION ====================
+
+    /**
+     * Register (or replace) the cooldown rules of an ability.
+     *
+     * @return the ability index
+     */
+    public int registerAbility(String abilityId, CooldownSpec spec) {
+        int index = abilityIndex(abilityId);
+        if (spec == null) {
+            return index;
+        }
+        int group = spec.group() != null ? groupIndex(spec.group()) : UNKNOWN;
+        synchronized (table) {
+            ensureAbility(index);
+            specRechargeTicks[index] = clock.ticksFor(spec.cooldownMs());
+            specCharges[index] = spec.charges();
+            specGroup[index] = group;
+            specGroupTicks[index] = clock.ticksFor(spec.groupCooldownMs());
+            specGlobal[index] = spec.globalCooldown();
+            specEffect[index] = spec.hasCustomEffect() ? spec.effect() : defaultCooldownEffect;
+        }
+        return index;
+    }
+
+    /**
+     * Length of the global cooldown started by abilities registered with
+     * {@link CooldownSpec#globalCooldown(boolean)}.
+     */
+    public void setGlobalCooldownMs(long globalCooldownMs) {
+        long ticks = clock.ticksFor(globalCooldownMs);
+        synchronized (table) {
+            globalCooldownTicks = ticks;
+        }
+    }
+
+    private int groupIndex(String groupId) {
+        Integer index = groupIndices.get(groupId);
+        if (index != null) {
+            return index;
+        }
+        synchronized (internLock) {
+            return groupIndices.computeIfAbsent(groupId, ignored -> groupIndices.size());
+        }
     }
 
+    // ==================== QUERIES ====================
+
     public boolean isReady(UUID ownerId, String abilityId) {
-        return remainingMs(ownerId, abilityId, System.currentTimeMillis()) <= 0L;
+        return remainingMs(ownerId, abilityId) <= 0L;
+    }
+
+    public boolean isReady(int entitySlot, int abilityIndex) {
+        return remainingTicks(entitySlot, abilityIndex, clock.currentTick()) <= 0L;
+    }
+
+    public long remainingMs(UUID ownerId, String abilityId) {
+        return remainingMs(ownerId, abilityId, clock.currentTick());
     }
 
+    /**
+     * @param now current tick of this service's clock (epoch milliseconds for the default clock)
+     */
     public long remainingMs(UUID ownerId, String abilityId, long now) {
-        Map<String, Long> ownerCooldowns = cooldowns.get(ownerId);
-        if (ownerCooldowns == null) {
+        int slot = findEntitySlot(ownerId);
+        int ability = findAbilityIndex(abilityId);
+        if (slot == UNKNOWN || ability == UNKNOWN) {
             return 0L;
         }
-        Long readyAt = ownerCooldowns.get(abilityId);
-        if (readyAt == null) {
+        return remainingTicks(slot, ability, now) * clock.tickMillis();
+    }
+
+    public long remainingMs(int entitySlot, int abilityIndex) {
+        return remainingTicks(entitySlot, abilityIndex, clock.currentTick()) * clock.tickMillis();
+    }
+
+    /**
+     * Ticks until the ability can be used, including its group and the
+     * global cooldown for registered abilities.
+     */
+    public long remainingTicks(int entitySlot, int abilityIndex, long nowTick) {
+        if (entitySlot <= 0 || abilityIndex < 0) {
             return 0L;
         }
-        return Math.max(0L, readyAt - now);
+        long result;
+        synchronized (table) {
+            expiries.advanceTo(clock.currentTick());
+            result = evaluate(entitySlot, abilityIndex, nowTick, false, 0L, null);
+        }
+        return CooldownResult.isReady(result) ? 0L : CooldownResult.remainingMs(result) / clock.tickMillis();
+    }
+
+    /**
+     * Cooldown state of a registered ability without using it.
+     *
+     * @return packed result, see {@link CooldownResult}
+     */
+    public long status(UUID ownerId, String abilityId) {
+        return status(findEntitySlot(ownerId), findAbilityIndex(abilityId));
+    }
+
+    public long status(int entitySlot, int abilityIndex) {
+        long now = clock.currentTick();
+        synchronized (table) {
+            if (entitySlot <= 0 || abilityIndex < 0) {
+                // Never used: every charge is available.
+                int charges = isRegistered(abilityIndex) ? specCharges[abilityIndex] : 1;
+                return CooldownResult.pack(true, 0L, charges, CooldownResult.Blocker.NONE);
+            }
+            expiries.advanceTo(now);
+            return evaluate(entitySlot, abilityIndex, now, false, 0L, null);
+        }
+    }
+
+    // ==================== ACTIVATION ====================
+
+    /**
+     * Use a registered ability if it has a charge and neither its group nor
+     * the global cooldown is running.
+     *
+     * @return packed result, see {@link CooldownResult}; ready means it was used
+     */
+    public long activate(UUID ownerId, String abilityId, Ref<EntityStore> ownerRef, Store<EntityStore> store) {
+        return activate(entitySlot(ownerId), abilityIndex(abilityId), ownerRef, store);
+    }
+
+    public long activate(int entitySlot, int abilityIndex, Ref<EntityStore> ownerRef, Store<EntityStore> store) {
+        long now = clock.currentTick();
+        long result;
+        CooldownEffect effect;
+        synchronized (table) {
+            expiries.advanceTo(now);
+            result = evaluate(entitySlot, abilityIndex, now, true, 0L, null);
+            effect = isRegistered(abilityIndex) ? specEffect[abilityIndex] : null;
+        }
+        showIcon(result, ownerRef, store, effect);
+        return result & ~CooldownResult.STATE_CHANGED;
     }
 
     public boolean tryActivate(UUID ownerId, String abilityId, long cooldownMs,
@@ -75,12 +324,30 @@ public final class AbilityCooldownService {
     public boolean tryActivate(UUID ownerId, String abilityId, long cooldownMs,
                                Ref<EntityStore> ownerRef, Store<EntityStore> store,
                                @Nullable CooldownEffect cooldownEffect) {
-        long now = System.currentTimeMillis();
-        if (remainingMs(ownerId, abilityId, now) > 0L) {
-            return false;
+        return tryActivate(entitySlot(ownerId), abilityIndex(abilityId), cooldownMs,
+                ownerRef, store, cooldownEffect);
+    }
+
+    /**
+     * Check and start a cooldown in one table probe. {@code cooldownMs} is
+     * used for abilities without a {@link CooldownSpec}; registered abilities
+     * follow their spec.
+     *
+     * @return false if the ability is still cooling down
+     */
+    public boolean tryActivate(int entitySlot, int abilityIndex, long cooldownMs,
+                               Ref<EntityStore> ownerRef, Store<EntityStore> store,
+                               @Nullable CooldownEffect cooldownEffect) {
+        long now = clock.currentTick();
+        long result;
+        CooldownEffect effect;
+        synchronized (table) {
+            expiries.advanceTo(now);
+            result = evaluate(entitySlot, abilityIndex, now, true, clock.ticksFor(cooldownMs), cooldownEffect);
+            effect = isRegistered(abilityIndex) ? specEffect[abilityIndex] : cooldownEffect;
         }
-        trigger(ownerId, abilityId, cooldownMs, ownerRef, store, cooldownEffect);
-        return true;
+        showIcon(result, ownerRef, store, effect);
+        return CooldownResult.isReady(result);
     }
 
     public void trigger(UUID ownerId, String abilityId, long cooldownMs,
@@ -94,8 +361,25 @@ public final class AbilityCooldownService {
         if (cooldownMs <= 0L) {
             return;
         }
-        long readyAt = System.currentTimeMillis() + cooldownMs;
-        cooldowns.computeIfAbsent(ownerId, ignored -> new ConcurrentHashMap<>()).put(abilityId, readyAt);
+        trigger(entitySlot(ownerId), abilityIndex(abilityId), cooldownMs, ownerRef, store, cooldownEffect);
+    }
+
+    /**
+     * Put an ability on cooldown for {@code cooldownMs} regardless of its
+     * state. For multi-charge abilities this is when all charges are full
+     * again; charges return one recharge apart before that.
+     */
+    public void trigger(int entitySlot, int abilityIndex, long cooldownMs,
+                        Ref<EntityStore> ownerRef, Store<EntityStore> store,
+                        @Nullable CooldownEffect cooldownEffect) {
+        if (cooldownMs <= 0L) {
+            return;
+        }
+        long now = clock.currentTick();
+        synchronized (table) {
+            expiries.advanceTo(now);
+            start(CooldownTable.key(entitySlot, abilityIndex), now + clock.ticksFor(cooldownMs));
+        }
         if (cooldownEffect != null) {
             applyCooldownEffect(ownerRef, store, cooldownMs, cooldownEffect);
         }
@@ -109,8 +393,223 @@ public final class AbilityCooldownService {
         applyCooldownEffect(ownerRef, store, durationMs, cooldownEffect);
     }
 
+    /**
+     * Forget an owner's cooldowns and release its entity slot.
+     */
     public void clear(UUID ownerId) {
-        cooldowns.remove(ownerId);
+        if (ownerId == null) {
+            return;
+        }
+        synchronized (internLock) {
+            Integer slot = entitySlots.remove(ownerId);
+            if (slot == null) {
+                return;
+            }
+            synchronized (table) {
+                table.removeEntity(slot);
+                if (slot < globalReadyAt.length) {
+                    globalReadyAt[slot] = 0L;
+                    groupReadyAt[slot] = null;
+                    iconUntil[slot] = 0L;
+                    iconEffect[slot] = null;
+                }
+            }
+            if (freeSlotCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length << 1);
+            }
+            freeSlots[freeSlotCount++] = slot;
+        }
+    }
+
+    /**
+     * Drop cooldowns that have already expired. This also happens on every
+     * query and activation, so calling it is only needed to release memory
+     * while the service is idle.
+     *
+     * @return number of entries removed
+     */
+    public int purgeExpired() {
+        long now = clock.currentTick();
+        synchronized (table) {
+            int before = table.size();
+            expiries.advanceTo(now);
+            return before - table.size();
+        }
+    }
+
+    /**
+     * Number of cooldowns currently tracked.
+     */
+    public int trackedCount() {
+        synchronized (table) {
+            return table.size();
+        }
+    }
+
+    /**
+     * Evaluate, and optionally use, an ability. Callers hold the table lock.
+     *
+     * @param adHocTicks cooldown for abilities without a spec
+     * @param adHocEffect icon for abilities without a spec
+     */
+    private long evaluate(int slot, int ability, long now, boolean consume,
+                          long adHocTicks, CooldownEffect adHocEffect) {
+        boolean registered = isRegistered(ability);
+        long recharge = registered ? specRechargeTicks[ability] : adHocTicks;
+        int maxCharges = registered ? specCharges[ability] : 1;
+        int group = registered ? specGroup[ability] : UNKNOWN;
+        boolean global = registered && specGlobal[ability];
+
+        long key = CooldownTable.key(slot, ability);
+        long fullAt = table.get(key);
+        if (!registered && fullAt != CooldownTable.MISSING && fullAt > now) {
+            // Ad-hoc cooldowns have one charge; the stored end is authoritative.
+            recharge = Math.max(recharge, fullAt - now);
+        }
+        int charges = chargesAt(fullAt, now, recharge, maxCharges);
+        long nextCharge = nextChargeTicks(fullAt, now, recharge);
+
+        CooldownResult.Blocker blocker = CooldownResult.Blocker.NONE;
+        long wait = 0L;
+        if (charges == 0) {
+            blocker = CooldownResult.Blocker.ABILITY;
+            wait = usableTicks(fullAt, now, recharge, maxCharges);
+        }
+        if (group >= 0 || global) {
+            ensureSlot(slot);
+            if (group >= 0) {
+                long[] groups = groupReadyAt[slot];
+                long groupWait = groups != null && group < groups.length ? groups[group] - now : 0L;
+                if (groupWait > wait) {
+                    blocker = CooldownResult.Blocker.GROUP;
+                    wait = groupWait;
+                }
+            }
+            if (global && globalReadyAt[slot] - now > wait) {
+                blocker = CooldownResult.Blocker.GLOBAL;
+                wait = globalReadyAt[slot] - now;
+            }
+        }
+        long tickMillis = clock.tickMillis();
+        if (blocker != CooldownResult.Blocker.NONE) {
+            return CooldownResult.pack(false, wait * tickMillis, charges, blocker);
+        }
+        if (!consume) {
+            return CooldownResult.pack(true, nextCharge * tickMillis, charges, blocker);
+        }
+
+        if (recharge > 0L) {
+            long newFullAt = Math.max(fullAt, now) + recharge;
+            start(key, newFullAt);
+            charges--;
+            nextCharge = charges == 0
+                    ? usableTicks(newFullAt, now, recharge, maxCharges)
+                    : nextChargeTicks(newFullAt, now, recharge);
+        }
+        if (group >= 0 && specGroupTicks[ability] > 0L) {
+            long[] groups = groupReadyAt[slot];
+            if (groups == null || group >= groups.length) {
+                groups = groups == null ? new long[Math.max(4, group + 1)] : Arrays.copyOf(groups, group + 1);
+                groupReadyAt[slot] = groups;
+            }
+            groups[group] = now + specGroupTicks[ability];
+        }
+        if (global && globalCooldownTicks > 0L) {
+            globalReadyAt[slot] = now + globalCooldownTicks;
+        }
+        long result = CooldownResult.pack(true, nextCharge * tickMillis, charges, blocker);
+        if (charges == 0 && recharge > 0L) {
+            // The icon only changes when the ability runs dry or its cooldown outlasts the shown one.
+            ensureSlot(slot);
+            long readyAt = now + nextCharge;
+            CooldownEffect shown = registered ? specEffect[ability] : adHocEffect;
+            if (readyAt > iconUntil[slot] || iconEffect[slot] != shown) {
+                iconUntil[slot] = readyAt;
+                iconEffect[slot] = shown;
+                result |= CooldownResult.STATE_CHANGED;
+            }
+        }
+        return result;
+    }
+
+    private boolean isRegistered(int ability) {
+        return ability >= 0 && ability < specCharges.length && specCharges[ability] > 0;
+    }
+
+    private static int chargesAt(long fullAt, long now, long recharge, int maxCharges) {
+        if (fullAt == CooldownTable.MISSING || fullAt <= now || recharge <= 0L) {
+            return maxCharges;
+        }
+        long missing = (fullAt - now + recharge - 1L) / recharge;
+        return (int) Math.max(0L, maxCharges - missing);
+    }
+
+    private static long nextChargeTicks(long fullAt, long now, long recharge) {
+        if (fullAt == CooldownTable.MISSING || fullAt <= now || recharge <= 0L) {
+            return 0L;
+        }
+        long deficit = fullAt - now;
+        long missing = (deficit + recharge - 1L) / recharge;
+        return deficit - (missing - 1L) * recharge;
+    }
+
+    /**
+     * Ticks until at least one charge is usable. Unlike
+     * {@link #nextChargeTicks}, this accounts for a {@code fullAt} pushed
+     * beyond {@code maxCharges * recharge} by {@link #trigger}.
+     */
+    private static long usableTicks(long fullAt, long now, long recharge, int maxCharges) {
+        if (fullAt == CooldownTable.MISSING || fullAt <= now || recharge <= 0L) {
+            return 0L;
+        }
+        return Math.max(0L, fullAt - now - (maxCharges - 1L) * recharge);
+    }
+
+    private void showIcon(long result, Ref<EntityStore> ownerRef, Store<EntityStore> store,
+                          @Nullable CooldownEffect cooldownEffect) {
+        if ((result & CooldownResult.STATE_CHANGED) == 0L || cooldownEffect == null
+                || ownerRef == null || store == null) {
+            return;
+        }
+        applyCooldownEffect(ownerRef, store, CooldownResult.remainingMs(result), cooldownEffect);
+    }
+
+    private void ensureAbility(int index) {
+        if (index < specCharges.length) {
+            return;
+        }
+        int capacity = Math.max(index + 1, specCharges.length << 1);
+        specRechargeTicks = Arrays.copyOf(specRechargeTicks, capacity);
+        specCharges = Arrays.copyOf(specCharges, capacity);
+        specGroup = Arrays.copyOf(specGroup, capacity);
+        specGroupTicks = Arrays.copyOf(specGroupTicks, capacity);
+        specGlobal = Arrays.copyOf(specGlobal, capacity);
+        specEffect = Arrays.copyOf(specEffect, capacity);
+    }
+
+    private void ensureSlot(int slot) {
+        if (slot < globalReadyAt.length) {
+            return;
+        }
+        int capacity = Math.max(slot + 1, globalReadyAt.length << 1);
+        globalReadyAt = Arrays.copyOf(globalReadyAt, capacity);
+        groupReadyAt = Arrays.copyOf(groupReadyAt, capacity);
+        iconUntil = Arrays.copyOf(iconUntil, capacity);
+        iconEffect = Arrays.copyOf(iconEffect, capacity);
+    }
+
+    // Callers hold the table lock.
+    private void start(long key, long readyAt) {
+        table.put(key, readyAt);
+        expiries.scheduleAt(readyAt, expireCallback, key);
+    }
+
+    private void expire(long key) {
+        // A later trigger may have extended the cooldown; only drop finished entries.
+        long readyAt = table.get(key);
+        if (readyAt != CooldownTable.MISSING && readyAt <= expiries.currentTick()) {
+            table.remove(key);
+        }
     }
 
     private void applyCooldownEffect(Ref<EntityStore> ownerRef, Store<EntityStore> store,
@@ -0,0 +1,73 @@
+package com.talania.core.abilities;
+
+/**
+ * Decoders for the packed {@code long} returned by
+ * {@link AbilityCooldownService#activate} and {@link AbilityCooldownService#status}.
+ *
+ * <p>Bits 0-39 hold the remaining milliseconds, bits 40-55 the charges left,
+ * bits 56-57 the {@link Blocker} and bit 58 the ready flag. Keeping the
+ * result a primitive lets UIs poll every tick without allocating.</p>
+ */
+public final class CooldownResult {
+    private static final long MS_MASK = (1L << 40) - 1L;
+    private static final int CHARGES_SHIFT = 40;
+    private static final long CHARGES_MASK = 0xFFFFL;
+    private static final int BLOCKER_SHIFT = 56;
+    private static final long READY_BIT = 1L << 58;
+    /** Internal: the activation changed what the cooldown icon should show. */
+    static final long STATE_CHANGED = 1L << 59;
+    private static final Blocker[] BLOCKERS = Blocker.values();
+
+    /**
+     * What keeps an ability from being used.
+     */
+    public enum Blocker {
+        NONE,
+        /** The ability itself has no charge left. */
+        ABILITY,
+        /** Another ability of the same group was used. */
+        GROUP,
+        /** The global cooldown is running. */
+        GLOBAL
+    }
+
+    private CooldownResult() {}
+
+    static long pack(boolean ready, long remainingMs, int charges, Blocker blocker) {
+        long result = Math.min(MS_MASK, Math.max(0L, remainingMs));
+        result |= ((long) Math.min(charges, (int) CHARGES_MASK) & CHARGES_MASK) << CHARGES_SHIFT;
+        result |= (long) blocker.ordinal() << BLOCKER_SHIFT;
+        return ready ? result | READY_BIT : result;
+    }
+
+    /**
+     * For {@code activate}: the ability was used. For {@code status}: it could be used now.
+     */
+    public static boolean isReady(long result) {
+        return (result & READY_BIT) != 0L;
+    }
+
+    /**
+     * Time until the ability can be used when not ready; time until the next
+     * charge when ready (0 once all charges are full).
+     */
+    public static long remainingMs(long result) {
+        return result & MS_MASK;
+    }
+
+    /**
+     * Charges left (after spending one, for a successful {@code activate}).
+     */
+    public static int charges(long result) {
+        return (int) ((result >>> CHARGES_SHIFT) & CHARGES_MASK);
+    }
+
+    public static Blocker blocker(long result) {
+        return BLOCKERS[(int) ((result >>> BLOCKER_SHIFT) & 3L)];
+    }
+
+    public static String toString(long result) {
+        return (isReady(result) ? "ready" : "blocked by " + blocker(result))
+                + " remaining=" + remainingMs(result) + "ms charges=" + charges(result);
+    }
+}
@@ -0,0 +1,90 @@
+package com.talania.core.abilities;
+
+/**
+ * Cooldown rules for one ability: recharge time, charges, shared group and
+ * global cooldown. Register with {@link AbilityCooldownService#registerAbility}.
+ */
+public final class CooldownSpec {
+    private final long cooldownMs;
+    private int charges = 1;
+    private String group;
+    private long groupCooldownMs;
+    private boolean globalCooldown;
+    private CooldownEffect effect;
+    private boolean customEffect;
+
+    private CooldownSpec(long cooldownMs) {
+        this.cooldownMs = Math.max(0L, cooldownMs);
+    }
+
+    /**
+     * @param cooldownMs cooldown, or recharge time of one charge
+     */
+    public static CooldownSpec of(long cooldownMs) {
+        return new CooldownSpec(cooldownMs);
+    }
+
+    /**
+     * Number of charges; each use spends one and charges recharge one at a time.
+     */
+    public CooldownSpec charges(int charges) {
+        this.charges = Math.max(1, charges);
+        return this;
+    }
+
+    /**
+     * Share a cooldown with every ability in {@code groupId}: using any of
+     * them locks the whole group for {@code groupCooldownMs}.
+     */
+    public CooldownSpec group(String groupId, long groupCooldownMs) {
+        this.group = groupId;
+        this.groupCooldownMs = Math.max(0L, groupCooldownMs);
+        return this;
+    }
+
+    /**
+     * Whether the ability both waits for and starts the global cooldown.
+     */
+    public CooldownSpec globalCooldown(boolean globalCooldown) {
+        this.globalCooldown = globalCooldown;
+        return this;
+    }
+
+    /**
+     * Icon shown while the ability is unavailable; null shows none.
+     * Defaults to the service's default effect.
+     */
+    public CooldownSpec effect(CooldownEffect effect) {
+        this.effect = effect;
+        this.customEffect = true;
+        return this;
+    }
+
+    public long cooldownMs() {
+        return cooldownMs;
+    }
+
+    public int charges() {
+        return charges;
+    }
+
+    public String group() {
+        return group;
+    }
+
+    public long groupCooldownMs() {
+        return groupCooldownMs;
+    }
+
+    public boolean globalCooldown() {
+        return globalCooldown;
+    }
+
+    public CooldownEffect effect() {
+        return effect;
+    }
+
+    public boolean hasCustomEffect() {
+        return customEffect;
+    }
+}
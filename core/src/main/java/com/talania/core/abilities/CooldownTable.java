@@ -0,0 +1,178 @@
+package com.talania.core.abilities;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from a (entity slot, ability index) pair to a
+ * ready-at tick.
+ *
+ * <p>Keys and values live in parallel {@code long[]} arrays with linear
+ * probing and backward-shift deletion, so lookups and updates never
+ * allocate. Key {@code 0} marks an empty slot; entity slots start at 1, so
+ * real keys are never 0. Not thread-safe; {@link AbilityCooldownService}
+ * guards it.</p>
+ */
+final class CooldownTable {
+    static final long MISSING = Long.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 64;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    CooldownTable() {
+        this(MIN_CAPACITY);
+    }
+
+    CooldownTable(int expected) {
+        allocate(capacityFor(expected));
+    }
+
+    static long key(int entitySlot, int abilityIndex) {
+        return ((long) entitySlot << 32) | (abilityIndex & 0xFFFFFFFFL);
+    }
+
+    static int entitySlotOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Value for a key, or {@link #MISSING}.
+     */
+    long get(long key) {
+        if (key == 0L) {
+            return MISSING;
+        }
+        int index = indexOf(key);
+        return index < 0 ? MISSING : values[index];
+    }
+
+    void put(long key, long value) {
+        int index = slot(key);
+        while (true) {
+            long existing = keys[index];
+            if (existing == 0L) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size >= resizeAt) {
+                    rehash(keys.length << 1);
+                }
+                return;
+            }
+            if (existing == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    boolean remove(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Remove every key whose entity slot matches.
+     *
+     * @return number of entries removed
+     */
+    int removeEntity(int entitySlot) {
+        int removed = 0;
+        int index = 0;
+        while (index < keys.length) {
+            long key = keys[index];
+            if (key != 0L && entitySlotOf(key) == entitySlot) {
+                removeAt(index);
+                removed++;
+                // removeAt may shift a later entry into this slot; look again.
+                continue;
+            }
+            index++;
+        }
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0L);
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int index = slot(key);
+        while (true) {
+            long existing = keys[index];
+            if (existing == key) {
+                return index;
+            }
+            if (existing == 0L) {
+                return -1;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void removeAt(int index) {
+        // Backward-shift deletion keeps probe chains intact without tombstones.
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (true) {
+            long key = keys[next];
+            if (key == 0L) {
+                break;
+            }
+            int home = slot(key);
+            boolean movable = gap <= next
+                    ? home <= gap || home > next
+                    : home <= gap && home > next;
+            if (movable) {
+                keys[gap] = key;
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0L;
+        size--;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0L) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (capacity * 3) >>> 2;
+    }
+
+    private static int capacityFor(int expected) {
+        int needed = Math.max(MIN_CAPACITY, (int) Math.min(1 << 30, (long) expected * 4 / 3 + 1));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
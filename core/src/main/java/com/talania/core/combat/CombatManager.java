@@ -1,9 +1,11 @@
 package com.talania.core.combat;
 
+import com.talania.core.combat.damage.DamagePipeline;
 import com.talania.core.combat.damage.WeaponCategoryDamageService;
 
 public final class CombatManager {
     private static final CombatSettings SETTINGS = new CombatSettings();
+    private static final DamagePipeline DAMAGE_PIPELINE = DamagePipeline.createDefault();
     private static volatile WeaponCategoryDamageService weaponCategoryDamageService;
 
     private CombatManager() {}
@@ -22,4 +24,11 @@ public final class CombatManager {
     public static CombatSettings settings() {
         return SETTINGS;
     }
+
+    /**
+     * Ordered damage stages applied by the Talania damage system.
+     */
+    public static DamagePipeline damagePipeline() {
+        return DAMAGE_PIPELINE;
+    }
 }
@@ -0,0 +1,242 @@
+package com.talania.core.combat.damage;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.talania.core.debug.combat.CombatLogEntry;
+import com.talania.core.debug.combat.CombatLogEntry.CombatLogStep;
+import com.talania.core.stats.DamageType;
+import com.talania.core.stats.StatType;
+
+import java.util.UUID;
+
+/**
+ * Per-event state shared by every {@link DamageStage}.
+ *
+ * <p>Holds the damage instance, both combatants and their stat snapshots, and
+ * the combat log builder. Amount changes should go through the helpers here
+ * so each one is recorded as a combat log step.</p>
+ *
+ * <p>The log builder is null when no combat log sink is active; the helpers
+ * then only change the amount and record nothing.</p>
+ */
+public final class DamageContext {
+    private final Damage damage;
+    private final Store<EntityStore> store;
+    private final Ref<EntityStore> attackerRef;
+    private final Ref<EntityStore> targetRef;
+    private final UUID attackerId;
+    private final UUID targetId;
+    private final boolean attackerIsPlayer;
+    private final boolean targetIsPlayer;
+    private final AttackType attackType;
+    private final DamageType damageType;
+    private final DamageStatSnapshot attacker;
+    private final DamageStatSnapshot target;
+    private final CombatLogEntry.Builder log;
+    private float preShieldAmount = Float.NaN;
+    private float shieldAbsorbed;
+
+    public DamageContext(Damage damage, Store<EntityStore> store,
+                         Ref<EntityStore> attackerRef, UUID attackerId, boolean attackerIsPlayer,
+                         Ref<EntityStore> targetRef, UUID targetId, boolean targetIsPlayer,
+                         AttackType attackType, DamageType damageType,
+                         CombatLogEntry.Builder log) {
+        this.damage = damage;
+        this.store = store;
+        this.attackerRef = attackerRef;
+        this.attackerId = attackerId;
+        this.attackerIsPlayer = attackerIsPlayer;
+        this.targetRef = targetRef;
+        this.targetId = targetId;
+        this.targetIsPlayer = targetIsPlayer;
+        this.attackType = attackType;
+        this.damageType = damageType;
+        this.attacker = DamageStatSnapshot.capture(attackerId);
+        this.target = DamageStatSnapshot.capture(targetId);
+        this.log = log;
+    }
+
+    public Damage damage() {
+        return damage;
+    }
+
+    public Store<EntityStore> store() {
+        return store;
+    }
+
+    public Ref<EntityStore> attackerRef() {
+        return attackerRef;
+    }
+
+    public Ref<EntityStore> targetRef() {
+        return targetRef;
+    }
+
+    public UUID attackerId() {
+        return attackerId;
+    }
+
+    public UUID targetId() {
+        return targetId;
+    }
+
+    public boolean attackerIsPlayer() {
+        return attackerIsPlayer;
+    }
+
+    public boolean targetIsPlayer() {
+        return targetIsPlayer;
+    }
+
+    public AttackType attackType() {
+        return attackType;
+    }
+
+    public DamageType damageType() {
+        return damageType;
+    }
+
+    /**
+     * Attacker stats captured at the start of the event (defaults if there is no attacker).
+     */
+    public DamageStatSnapshot attacker() {
+        return attacker;
+    }
+
+    /**
+     * Target stats captured at the start of the event.
+     */
+    public DamageStatSnapshot target() {
+        return target;
+    }
+
+    /**
+     * Combat log builder, or null if nobody is listening for combat logs.
+     */
+    public CombatLogEntry.Builder log() {
+        return log;
+    }
+
+    public boolean isLogging() {
+        return log != null;
+    }
+
+    public float amount() {
+        return damage.getAmount();
+    }
+
+    /**
+     * Multiply the damage amount and log it as {@code before * multiplier (source)}.
+     */
+    public void multiply(String label, float multiplier, String source) {
+        float before = damage.getAmount();
+        damage.setAmount(before * multiplier);
+        logStep(label, null, before, CombatLogStep.Operation.MULTIPLY, multiplier, source);
+    }
+
+    /**
+     * Multiply the damage amount by a stat value, labelled with the stat name.
+     */
+    public void multiply(StatType stat, float multiplier) {
+        float before = damage.getAmount();
+        damage.setAmount(before * multiplier);
+        logStep(null, stat, before, CombatLogStep.Operation.MULTIPLY, multiplier, null);
+    }
+
+    /**
+     * Reduce the damage amount by a fraction in [0, 1] and log it as
+     * {@code before * (1 - fraction) (label)}.
+     */
+    public void reduce(String label, float fraction) {
+        reduce(label, null, fraction);
+    }
+
+    /**
+     * Reduce the damage amount by a stat value in [0, 1], labelled with the stat name.
+     */
+    public void reduce(StatType stat, float fraction) {
+        reduce(null, stat, fraction);
+    }
+
+    /**
+     * Scale the damage amount by {@code 1 + bonus} (never below zero) and log it as
+     * {@code before * (1 + bonus) (source)}.
+     */
+    public void addBonus(String label, float bonus, String source) {
+        float before = damage.getAmount();
+        damage.setAmount(before * Math.max(0.0F, 1.0F + bonus));
+        logStep(label, null, before, CombatLogStep.Operation.BONUS, bonus, source);
+    }
+
+    /**
+     * Subtract a flat stat value from the damage amount (never below zero).
+     *
+     * @return the new amount
+     */
+    public float subtract(StatType stat, float amount) {
+        float before = damage.getAmount();
+        damage.setAmount(Math.max(0.0F, before - amount));
+        logStep(null, stat, before, CombatLogStep.Operation.SUBTRACT, amount, null);
+        return damage.getAmount();
+    }
+
+    /**
+     * Cancel the damage and record the reason.
+     */
+    public void cancel(String reason) {
+        damage.setCancelled(true);
+        damage.setAmount(0.0F);
+        if (log != null) {
+            log.cancelled(reason).finalAmount(0.0F);
+        }
+    }
+
+    public void markCrit() {
+        if (log != null) {
+            log.crit(true);
+        }
+    }
+
+    public void recordLifesteal(float healed) {
+        if (log != null) {
+            log.lifesteal(healed);
+        }
+    }
+
+    /**
+     * Amount that reached the shield stage, or NaN if it did not run.
+     */
+    public float preShieldAmount() {
+        return preShieldAmount;
+    }
+
+    public float shieldAbsorbed() {
+        return shieldAbsorbed;
+    }
+
+    void recordShield(float preShieldAmount, float absorbed) {
+        this.preShieldAmount = preShieldAmount;
+        this.shieldAbsorbed = absorbed;
+    }
+
+    private void reduce(String label, StatType stat, float fraction) {
+        float clamped = Math.max(0.0F, Math.min(1.0F, fraction));
+        float before = damage.getAmount();
+        damage.setAmount(before * (1.0F - clamped));
+        logStep(label, stat, before, CombatLogStep.Operation.REDUCE, clamped, label);
+    }
+
+    private void logStep(String label, StatType stat, float before,
+                         CombatLogStep.Operation operation, float operand, String source) {
+        if (log == null) {
+            return;
+        }
+        // Stat display names live with the stages, so resolve them here
+        // rather than in the debug package.
+        String statName = stat != null ? DamageStages.displayNameForStat(stat) : null;
+        log.step(new CombatLogStep(label != null ? label : statName, stat, before, damage.getAmount(),
+                operation, operand, source != null ? source : statName));
+    }
+}
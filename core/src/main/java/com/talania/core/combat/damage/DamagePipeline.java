@@ -0,0 +1,164 @@
+package com.talania.core.combat.damage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ordered list of {@link DamageStage}s run for every Talania damage event.
+ *
+ * <p>The stage array is replaced on every change and read without locking,
+ * so stages can be added or removed at runtime without affecting an event
+ * that is already being processed.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>{@code
+ * CombatManager.damagePipeline().insertAfter(DamageStages.ARMOR, new MyShieldWallStage());
+ * }</pre>
+ */
+public final class DamagePipeline {
+    private volatile DamageStage[] stages;
+
+    public DamagePipeline(DamageStage... stages) {
+        this.stages = stages != null ? stages.clone() : new DamageStage[0];
+    }
+
+    /**
+     * Create a pipeline with the built-in stages from {@link DamageStages#defaults()}.
+     */
+    public static DamagePipeline createDefault() {
+        return new DamagePipeline(DamageStages.defaults());
+    }
+
+    /**
+     * Run every active stage in order.
+     *
+     * @return false if a stage stopped the pipeline
+     */
+    public boolean run(DamageContext context) {
+        for (DamageStage stage : stages) {
+            if (!stage.isActive(context)) {
+                continue;
+            }
+            if (!stage.apply(context)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized void addFirst(DamageStage stage) {
+        if (stage != null) {
+            insertAt(0, stage);
+        }
+    }
+
+    public synchronized void addLast(DamageStage stage) {
+        if (stage != null) {
+            insertAt(stages.length, stage);
+        }
+    }
+
+    /**
+     * Insert a stage directly before the stage with the given id.
+     *
+     * @return false if no stage has that id
+     */
+    public synchronized boolean insertBefore(String anchorId, DamageStage stage) {
+        int index = indexOf(anchorId);
+        if (stage == null || index < 0) {
+            return false;
+        }
+        insertAt(index, stage);
+        return true;
+    }
+
+    /**
+     * Insert a stage directly after the stage with the given id.
+     *
+     * @return false if no stage has that id
+     */
+    public synchronized boolean insertAfter(String anchorId, DamageStage stage) {
+        int index = indexOf(anchorId);
+        if (stage == null || index < 0) {
+            return false;
+        }
+        insertAt(index + 1, stage);
+        return true;
+    }
+
+    /**
+     * Replace the stage with the given id.
+     *
+     * @return false if no stage has that id
+     */
+    public synchronized boolean replace(String id, DamageStage stage) {
+        int index = indexOf(id);
+        if (stage == null || index < 0) {
+            return false;
+        }
+        DamageStage[] next = stages.clone();
+        next[index] = stage;
+        stages = next;
+        return true;
+    }
+
+    /**
+     * Remove the stage with the given id.
+     *
+     * @return false if no stage has that id
+     */
+    public synchronized boolean remove(String id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        DamageStage[] current = stages;
+        DamageStage[] next = new DamageStage[current.length - 1];
+        System.arraycopy(current, 0, next, 0, index);
+        System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+        stages = next;
+        return true;
+    }
+
+    /**
+     * Ids of the current stages, in order.
+     */
+    public List<String> stageIds() {
+        DamageStage[] current = stages;
+        List<String> ids = new ArrayList<>(current.length);
+        for (DamageStage stage : current) {
+            ids.add(stage.id());
+        }
+        return ids;
+    }
+
+    /**
+     * Combat log steps one event can record, assuming each stage logs at most
+     * {@link DamageStages#MAX_LOGGED_STEPS_PER_STAGE}.
+     */
+    public int maxLoggedSteps() {
+        return stages.length * DamageStages.MAX_LOGGED_STEPS_PER_STAGE;
+    }
+
+    private int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        DamageStage[] current = stages;
+        for (int i = 0; i < current.length; i++) {
+            if (id.equals(current[i].id())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insertAt(int index, DamageStage stage) {
+        DamageStage[] current = stages;
+        DamageStage[] next = Arrays.copyOf(current, current.length + 1);
+        System.arraycopy(current, index, next, index + 1, current.length - index);
+        next[index] = stage;
+        stages = next;
+    }
+}
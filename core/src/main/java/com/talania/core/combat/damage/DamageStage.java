@@ -0,0 +1,34 @@
+package com.talania.core.combat.damage;
+
+/**
+ * One step of the Talania damage pipeline.
+ *
+ * <p>Stages run in the order held by {@link DamagePipeline}. A stage reads
+ * stats from the per-event snapshots on {@link DamageContext} and adjusts the
+ * damage amount through the context so the combat log stays in sync.</p>
+ *
+ * <p>Mods can add their own stages with {@link DamagePipeline#insertBefore}
+ * or {@link DamagePipeline#insertAfter} using the ids in {@link DamageStages}.</p>
+ */
+public interface DamageStage {
+
+    /**
+     * Stable identifier used to position other stages relative to this one.
+     */
+    String id();
+
+    /**
+     * Whether this stage has any effect for the event. Stages whose inputs
+     * are at their neutral value return false and are skipped entirely.
+     */
+    default boolean isActive(DamageContext context) {
+        return true;
+    }
+
+    /**
+     * Apply this stage.
+     *
+     * @return false to stop the pipeline (e.g. the damage was cancelled)
+     */
+    boolean apply(DamageContext context);
+}
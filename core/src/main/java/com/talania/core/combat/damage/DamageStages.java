@@ -0,0 +1,457 @@
+package com.talania.core.combat.damage;
+
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageCause;
+import com.talania.core.combat.CombatManager;
+import com.talania.core.combat.healing.HealingService;
+import com.talania.core.combat.shield.EnergyShieldService;
+import com.talania.core.stats.DamageType;
+import com.talania.core.stats.StatType;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Built-in damage stages, in default pipeline order.
+ *
+ * <p>The ids are public so custom stages can be positioned relative to them.</p>
+ */
+public final class DamageStages {
+    public static final String DODGE = "dodge";
+    public static final String CRIT = "crit";
+    public static final String POWER = "power";
+    public static final String ATTACK_TYPE = "attack_type";
+    public static final String SPRINT = "sprint";
+    public static final String PVP = "pvp";
+    public static final String WEAPON = "weapon";
+    public static final String ARMOR = "armor";
+    public static final String FLAT = "flat";
+    public static final String RESIST = "resist";
+    public static final String FALL = "fall";
+    public static final String SHIELD = "shield";
+    public static final String STAMINA = "stamina";
+    public static final String LIFESTEAL = "lifesteal";
+
+    /** Most combat log steps one built-in stage records (attack type and weapon log two). */
+    public static final int MAX_LOGGED_STEPS_PER_STAGE = 2;
+
+    private DamageStages() {}
+
+    /**
+     * Create the default stages in pipeline order.
+     */
+    public static DamageStage[] defaults() {
+        return new DamageStage[] {
+                new Dodge(), new Crit(), new Power(), new AttackTypeScaling(), new Sprint(), new Pvp(),
+                new Weapon(), new Armor(), new Flat(), new Resist(), new Fall(), new Shield(),
+                new Stamina(), new Lifesteal()
+        };
+    }
+
+    // ==================== STAGES ====================
+
+    /** Target dodge chance; cancels the damage on success. */
+    static final class Dodge implements DamageStage {
+        @Override
+        public String id() {
+            return DODGE;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.attackerRef() != null && context.target().get(StatType.DODGE_CHANCE) > 0.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            if (ThreadLocalRandom.current().nextFloat() < context.target().get(StatType.DODGE_CHANCE)) {
+                context.cancel("dodge");
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /** Attacker critical hits. */
+    static final class Crit implements DamageStage {
+        @Override
+        public String id() {
+            return CRIT;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.attackerId() != null && context.attacker().get(StatType.CRIT_CHANCE) > 0.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            if (ThreadLocalRandom.current().nextFloat() >= context.attacker().get(StatType.CRIT_CHANCE)) {
+                return true;
+            }
+            float critMultiplier = context.attacker().get(StatType.CRIT_DAMAGE);
+            if (critMultiplier <= 0.0F) {
+                critMultiplier = 1.5F;
+            }
+            context.multiply("Critical Hit", critMultiplier, displayNameForStat(StatType.CRIT_DAMAGE));
+            context.damage().putMetaObject(DamageMetaKeys.CRIT_HIT, Boolean.TRUE);
+            context.markCrit();
+            return true;
+        }
+    }
+
+    /** Base attack power (physical or magic). */
+    static final class Power implements DamageStage {
+        @Override
+        public String id() {
+            return POWER;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.attackerId() != null && context.attackType() != null
+                    && context.attacker().get(powerStat(context)) != 1.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            StatType powerStat = powerStat(context);
+            context.multiply(powerStat, context.attacker().get(powerStat));
+            return true;
+        }
+
+        private static StatType powerStat(DamageContext context) {
+            return context.attackType() == AttackType.MAGIC ? StatType.MAGIC_ATTACK : StatType.ATTACK;
+        }
+    }
+
+    /** Outgoing and incoming attack-type multipliers. */
+    static final class AttackTypeScaling implements DamageStage {
+        @Override
+        public String id() {
+            return ATTACK_TYPE;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            AttackType attackType = context.attackType();
+            if (attackType == null) {
+                return false;
+            }
+            return (context.attackerId() != null && context.attacker().get(attackType.damageStat()) != 1.0F)
+                    || (context.targetId() != null && context.target().get(attackType.damageTakenStat()) != 1.0F);
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            AttackType attackType = context.attackType();
+            if (context.attackerId() != null) {
+                float outgoing = context.attacker().get(attackType.damageStat());
+                if (outgoing != 1.0F) {
+                    context.multiply(attackType.damageStat(), outgoing);
+                }
+            }
+            if (context.targetId() != null) {
+                float incoming = context.target().get(attackType.damageTakenStat());
+                if (incoming != 1.0F) {
+                    context.multiply(attackType.damageTakenStat(), incoming);
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Sprint damage multiplier while the attacker is sprinting. */
+    static final class Sprint implements DamageStage {
+        @Override
+        public String id() {
+            return SPRINT;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.attackerRef() != null && context.attacker().get(StatType.SPRINT_DAMAGE_MULT) > 1.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            com.hypixel.hytale.protocol.MovementStates movementStates =
+                    TalaniaDamageModifierSystem.movementStates(context.store(), context.attackerRef());
+            if (movementStates != null && movementStates.sprinting) {
+                context.multiply(StatType.SPRINT_DAMAGE_MULT, context.attacker().get(StatType.SPRINT_DAMAGE_MULT));
+            }
+            return true;
+        }
+    }
+
+    /** Global player damage multipliers from {@link CombatManager#settings()}. */
+    static final class Pvp implements DamageStage {
+        @Override
+        public String id() {
+            return PVP;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.attackerIsPlayer() && context.attackerId() != null && multiplier(context) != 1.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            context.multiply("Player Damage", multiplier(context), "Combat Settings");
+            return true;
+        }
+
+        private static float multiplier(DamageContext context) {
+            return context.targetIsPlayer()
+                    ? CombatManager.settings().playerDamageToPlayerMultiplier()
+                    : CombatManager.settings().playerDamageMultiplier();
+        }
+    }
+
+    /** Weapon category modifiers (optional service). */
+    static final class Weapon implements DamageStage {
+        @Override
+        public String id() {
+            return WEAPON;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.attackerId() != null && context.attackerRef() != null
+                    && CombatManager.weaponCategoryDamageService() != null;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            WeaponCategoryDamageService service = CombatManager.weaponCategoryDamageService();
+            if (service == null) {
+                return true;
+            }
+            String category = TalaniaDamageModifierSystem.resolveWeaponCategory(context.store(), context.attackerRef());
+            WeaponCategoryDamage weaponDamage = service.get(context.attackerId(), category);
+            if (weaponDamage == null) {
+                return true;
+            }
+            if (weaponDamage.bonus != 0.0f) {
+                context.addBonus("Weapon Bonus", weaponDamage.bonus, category);
+            }
+            if (weaponDamage.multiplier != 1.0f) {
+                context.multiply("Weapon Multiplier", weaponDamage.multiplier, category);
+            }
+            return true;
+        }
+    }
+
+    /** Target armor (percent reduction). */
+    static final class Armor implements DamageStage {
+        @Override
+        public String id() {
+            return ARMOR;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.targetId() != null && context.target().get(StatType.ARMOR) > 0.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            context.reduce(StatType.ARMOR, context.target().get(StatType.ARMOR));
+            return true;
+        }
+    }
+
+    /** Target flat damage reduction; cancels the damage if nothing is left. */
+    static final class Flat implements DamageStage {
+        @Override
+        public String id() {
+            return FLAT;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.targetId() != null && context.target().get(StatType.FLAT_DAMAGE_REDUCTION) > 0.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            float reduced = context.subtract(StatType.FLAT_DAMAGE_REDUCTION,
+                    context.target().get(StatType.FLAT_DAMAGE_REDUCTION));
+            if (reduced <= 0.0F) {
+                context.cancel("flat_reduction");
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /** Damage-type resistances (optional meta). */
+    static final class Resist implements DamageStage {
+        @Override
+        public String id() {
+            return RESIST;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            DamageType damageType = context.damageType();
+            return damageType != null && damageType != DamageType.PHYSICAL
+                    && context.target().get(damageType.resistanceStat()) > 0.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            StatType stat = context.damageType().resistanceStat();
+            context.reduce(stat, context.target().get(stat));
+            return true;
+        }
+    }
+
+    /** Fall damage reduction. */
+    static final class Fall implements DamageStage {
+        @Override
+        public String id() {
+            return FALL;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.damage().getCause() == DamageCause.FALL
+                    && context.target().get(StatType.FALL_RESISTANCE) > 0.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            context.reduce(StatType.FALL_RESISTANCE, context.target().get(StatType.FALL_RESISTANCE));
+            return true;
+        }
+    }
+
+    /** Energy shield absorption (applies before health damage). */
+    static final class Shield implements DamageStage {
+        @Override
+        public String id() {
+            return SHIELD;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.targetId() != null && context.target().get(StatType.ENERGY_SHIELD_MAX) > 0.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            float preShieldAmount = context.amount();
+            float remaining = EnergyShieldService.applyDamage(
+                    context.targetId(), preShieldAmount, context.target().get(StatType.ENERGY_SHIELD_MAX));
+            float absorbed = 0.0f;
+            if (remaining != preShieldAmount) {
+                absorbed = preShieldAmount - remaining;
+                context.damage().setAmount(remaining);
+            }
+            context.recordShield(preShieldAmount, absorbed);
+            return true;
+        }
+    }
+
+    /** Blocking efficiency and stamina drain scaling. */
+    static final class Stamina implements DamageStage {
+        @Override
+        public String id() {
+            return STAMINA;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.damage().getIfPresentMetaObject(Damage.STAMINA_DRAIN_MULTIPLIER) == null;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            float staminaMult = context.target().get(StatType.STAMINA_DRAIN_MULT);
+            Boolean blocked = context.damage().getIfPresentMetaObject(Damage.BLOCKED);
+            if (blocked != null && blocked.booleanValue()) {
+                float blockingEfficiency = context.target().get(StatType.BLOCKING_EFFICIENCY);
+                if (blockingEfficiency > 0.0F) {
+                    staminaMult *= (1.0F / blockingEfficiency);
+                }
+            }
+            if (staminaMult != 1.0F) {
+                context.damage().putMetaObject(Damage.STAMINA_DRAIN_MULTIPLIER, staminaMult);
+            }
+            return true;
+        }
+    }
+
+    /** Attacker lifesteal. */
+    static final class Lifesteal implements DamageStage {
+        @Override
+        public String id() {
+            return LIFESTEAL;
+        }
+
+        @Override
+        public boolean isActive(DamageContext context) {
+            return context.attackerId() != null && context.attacker().get(StatType.LIFESTEAL) > 0.0F;
+        }
+
+        @Override
+        public boolean apply(DamageContext context) {
+            float heal = context.amount() * context.attacker().get(StatType.LIFESTEAL);
+            if (heal > 0.0F) {
+                float applied = HealingService.applyHeal(context.attackerRef(), context.store(), heal);
+                if (applied > 0.0f) {
+                    context.recordLifesteal(applied);
+                }
+            }
+            return true;
+        }
+    }
+
+    // ==================== LABELS ====================
+
+    /**
+     * Display name used for a stat in combat log steps.
+     */
+    public static String displayNameForStat(StatType stat) {
+        if (stat == null) {
+            return "Unknown";
+        }
+        return switch (stat) {
+            case ATTACK -> "Attack Power";
+            case MAGIC_ATTACK -> "Magic Power";
+            case MELEE_DAMAGE_MULT -> "Melee Damage";
+            case RANGED_DAMAGE_MULT -> "Ranged Damage";
+            case MAGIC_DAMAGE_MULT -> "Magic Damage";
+            case SPRINT_DAMAGE_MULT -> "Sprint Damage";
+            case MELEE_DAMAGE_TAKEN_MULT -> "Melee Damage Taken";
+            case RANGED_DAMAGE_TAKEN_MULT -> "Ranged Damage Taken";
+            case MAGIC_DAMAGE_TAKEN_MULT -> "Magic Damage Taken";
+            case CRIT_DAMAGE -> "Critical Damage";
+            case CRIT_CHANCE -> "Critical Chance";
+            case FLAT_DAMAGE_REDUCTION -> "Flat Reduction";
+            case STAMINA_DRAIN_MULT -> "Stamina Drain";
+            default -> humanizeStatId(stat.getId());
+        };
+    }
+
+    private static String humanizeStatId(String id) {
+        if (id == null || id.isBlank()) {
+            return "Unknown";
+        }
+        String raw = id.replace('_', ' ').trim();
+        StringBuilder sb = new StringBuilder(raw.length());
+        boolean upperNext = true;
+        for (int i = 0; i < raw.length(); i++) {
+            char ch = raw.charAt(i);
+            if (ch == ' ') {
+                sb.append(' ');
+                upperNext = true;
+                continue;
+            }
+            sb.append(upperNext ? Character.toUpperCase(ch) : ch);
+            upperNext = false;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.talania.core.combat.damage;
+
+import com.talania.core.debug.DebugStatModifierService;
+import com.talania.core.debug.TalaniaDebug;
+import com.talania.core.stats.EntityStats;
+import com.talania.core.stats.StatType;
+import com.talania.core.stats.StatsManager;
+
+import java.util.UUID;
+
+/**
+ * Stat values of one combatant, captured once per damage event.
+ *
+ * <p>Reading every stat up front replaces the per-step registry and debug
+ * lookups the damage pipeline used to do. Debug overrides are only resolved
+ * for players that actually have debug modifiers active.</p>
+ */
+public final class DamageStatSnapshot {
+    private static final StatType[] TYPES = StatType.values();
+    private static final float DEBUG_EPS = 0.0001f;
+
+    private final float[] values = new float[TYPES.length];
+
+    private DamageStatSnapshot() {
+    }
+
+    /**
+     * Capture the current stats of an entity, or defaults if it has none.
+     */
+    public static DamageStatSnapshot capture(UUID entityId) {
+        DamageStatSnapshot snapshot = new DamageStatSnapshot();
+        EntityStats stats = entityId != null ? StatsManager.get(entityId) : null;
+        if (stats == null) {
+            for (StatType type : TYPES) {
+                snapshot.values[type.ordinal()] = type.getDefaultValue();
+            }
+            return snapshot;
+        }
+        DebugStatModifierService debug = TalaniaDebug.statModifiers();
+        if (debug.hasActiveModifiers(entityId)) {
+            for (StatType type : TYPES) {
+                snapshot.values[type.ordinal()] = statWithDebug(debug, entityId, stats, type);
+            }
+            return snapshot;
+        }
+        for (StatType type : TYPES) {
+            snapshot.values[type.ordinal()] = stats.get(type);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Value of a stat at capture time.
+     */
+    public float get(StatType stat) {
+        return values[stat.ordinal()];
+    }
+
+    private static float statWithDebug(DebugStatModifierService debug, UUID entityId,
+                                       EntityStats stats, StatType stat) {
+        float delta = debug.getDelta(entityId, stat);
+        float mult = debug.getMultiplier(entityId, stat);
+        if (Math.abs(delta) > DEBUG_EPS || Math.abs(mult - 1.0f) > DEBUG_EPS) {
+            float base = debug.baseValue(entityId, stat);
+            return (base + delta) * mult;
+        }
+        return stats.get(stat);
+    }
+}
@@ -1,11 +1,18 @@
 package com.talania.core.combat.shield;
 
+import com.talania.core.utils.time.TimerService;
+import com.talania.core.utils.time.TimingWheel;
+
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Tracks per-entity energy shield values and recharge timing.
+ *
+ * <p>Damage blocks recharge until a {@link TimerService#global()} timer for
+ * the recharge delay fires, so ticking a shield that is waiting does not
+ * read the clock.</p>
  */
 public final class EnergyShieldService {
     private static final float EPS = 0.0001f;
@@ -34,7 +41,7 @@ public final class EnergyShieldService {
             ShieldState existing = STATES.get(entityId);
             if (existing != null) {
                 existing.current = 0.0f;
-                existing.lastDamageAt = System.currentTimeMillis();
+                existing.markDamaged(System.currentTimeMillis());
             }
             return amount;
         }
@@ -46,8 +53,7 @@ public final class EnergyShieldService {
         if (state.current > maxShield + EPS) {
             state.current = maxShield;
         }
-        long now = System.currentTimeMillis();
-        state.lastDamageAt = now;
+        state.markDamaged(System.currentTimeMillis());
         float absorbed = Math.min(amount, state.current);
         state.current = Math.max(0.0f, state.current - absorbed);
         return amount - absorbed;
@@ -59,7 +65,7 @@ public final class EnergyShieldService {
             return;
         }
         if (maxShield <= 0.0f) {
-            STATES.remove(entityId);
+            clear(entityId);
             return;
         }
         ShieldState state = STATES.computeIfAbsent(entityId, id -> new ShieldState());
@@ -76,12 +82,8 @@ public final class EnergyShieldService {
         if (state.current >= maxShield - EPS) {
             return;
         }
-        long now = System.currentTimeMillis();
-        if (state.lastDamageAt > 0L) {
-            long delayMs = (long) (Math.max(0.0f, rechargeDelaySeconds) * 1000.0f);
-            if (now - state.lastDamageAt < delayMs) {
-                return;
-            }
+        if (state.rechargeBlocked && !state.awaitRecharge(rechargeDelaySeconds)) {
+            return;
         }
         float next = state.current + rechargePerSecond * Math.max(0.0f, deltaSeconds);
         state.current = Math.min(maxShield, next);
@@ -105,24 +107,67 @@ public final class EnergyShieldService {
         if (state == null || state.lastDamageAt <= 0L) {
             return Status.RECHARGING;
         }
-        long now = System.currentTimeMillis();
-        long delayMs = (long) (Math.max(0.0f, rechargeDelaySeconds) * 1000.0f);
-        if (now - state.lastDamageAt < delayMs) {
-            return Status.DEPLETED;
-        }
-        return Status.RECHARGING;
+        return state.rechargeBlocked ? Status.DEPLETED : Status.RECHARGING;
     }
 
     public static void clear(UUID entityId) {
         if (entityId == null) {
             return;
         }
-        STATES.remove(entityId);
+        ShieldState removed = STATES.remove(entityId);
+        if (removed != null) {
+            removed.cancelTimer();
+        }
     }
 
-    private static final class ShieldState {
+    private static final class ShieldState implements TimingWheel.Callback {
         private float current;
         private long lastDamageAt;
         private boolean initialized;
+        private volatile boolean rechargeBlocked;
+        private volatile long damageSerial;
+        private volatile long timer = TimingWheel.NO_TIMER;
+
+        private void markDamaged(long now) {
+            lastDamageAt = now;
+            damageSerial++;
+            rechargeBlocked = true;
+            cancelTimer();
+        }
+
+        /**
+         * Start the recharge delay timer if it is not running yet.
+         *
+         * @return true if recharge may proceed now
+         */
+        private boolean awaitRecharge(float rechargeDelaySeconds) {
+            if (timer != TimingWheel.NO_TIMER) {
+                return false;
+            }
+            long delayMs = (long) (Math.max(0.0f, rechargeDelaySeconds) * 1000.0f);
+            long remaining = lastDamageAt + delayMs - System.currentTimeMillis();
+            if (remaining <= 0L) {
+                rechargeBlocked = false;
+                return true;
+            }
+            timer = TimerService.global().schedule(remaining, this, damageSerial);
+            return false;
+        }
+
+        private void cancelTimer() {
+            if (timer != TimingWheel.NO_TIMER) {
+                TimerService.global().cancel(timer);
+                timer = TimingWheel.NO_TIMER;
+            }
+        }
+
+        @Override
+        public void onExpire(long serial) {
+            // Ignore timers from before the latest hit.
+            if (serial == damageSerial) {
+                rechargeBlocked = false;
+                timer = TimingWheel.NO_TIMER;
+            }
+        }
     }
 }
@@ -11,6 +11,8 @@ import com.hypixel.hytale.server.core.universe.world.ParticleUtil;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.talania.core.combat.healing.HealingService;
 import com.talania.core.combat.targeting.AreaOfEffect;
+import com.talania.core.utils.time.TimerService;
+import com.talania.core.utils.time.TimingWheel;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectList;
 
@@ -18,6 +20,10 @@ import java.util.List;
 
 /**
  * Utility for a simple area healing zone.
+ *
+ * <p>Heal pulses and the zone's end are driven by {@link TimerService#global()}
+ * timers that only raise flags; {@link #tick} does the work on the world
+ * thread when a flag is set and otherwise returns immediately.</p>
  */
 public final class AreaHealing {
     private AreaHealing() {}
@@ -29,10 +35,15 @@ public final class AreaHealing {
         if (state == null || center == null || durationMs <= 0L) {
             return;
         }
+        state.cancelTimers();
+        state.generation++;
         state.activeUntil = nowMs + durationMs;
-        state.nextTickAt = nowMs;
         state.vfxSpawned = false;
         state.center = new Vector3d(center);
+        state.expired = false;
+        state.pulseDue = true;
+        long remainingMs = Math.max(1L, state.activeUntil - System.currentTimeMillis());
+        state.expireTimer = TimerService.global().schedule(remainingMs, state, state.payload(State.EXPIRE));
     }
 
     /**
@@ -42,15 +53,14 @@ public final class AreaHealing {
         if (state == null || store == null || settings == null) {
             return;
         }
-        long now = System.currentTimeMillis();
         if (state.activeUntil <= 0L) {
             return;
         }
-        if (now >= state.activeUntil) {
+        if (state.expired) {
             end(state);
             return;
         }
-        if (now < state.nextTickAt) {
+        if (!state.pulseDue) {
             return;
         }
         if (state.center == null) {
@@ -90,15 +100,20 @@ public final class AreaHealing {
             float heal = max * settings.healRatio * Math.max(0.0F, healMultiplier);
             HealingService.applyHeal(targetRef, store, heal);
         }
-        state.nextTickAt = now + settings.tickMs;
+        state.pulseDue = false;
+        state.pulseTimer = TimerService.global().schedule(Math.max(1L, settings.tickMs), state,
+                state.payload(State.PULSE));
     }
 
     public static void end(State state) {
         if (state == null) {
             return;
         }
+        state.cancelTimers();
+        state.generation++;
         state.activeUntil = 0L;
-        state.nextTickAt = 0L;
+        state.pulseDue = false;
+        state.expired = false;
         state.vfxSpawned = false;
         state.center = null;
     }
@@ -107,11 +122,42 @@ public final class AreaHealing {
         return new ObjectArrayList<>(AreaOfEffect.collectSphere(null, store, position, 75.0, true, null));
     }
 
-    public static final class State {
+    public static final class State implements TimingWheel.Callback {
+        private static final long PULSE = 0L;
+        private static final long EXPIRE = 1L;
+
         private long activeUntil;
-        private long nextTickAt;
         private boolean vfxSpawned;
         private Vector3d center;
+        private volatile boolean pulseDue;
+        private volatile boolean expired;
+        private volatile long generation;
+        private long pulseTimer = TimingWheel.NO_TIMER;
+        private long expireTimer = TimingWheel.NO_TIMER;
+
+        private long payload(long kind) {
+            return (generation << 1) | kind;
+        }
+
+        private void cancelTimers() {
+            TimerService.global().cancel(pulseTimer);
+            TimerService.global().cancel(expireTimer);
+            pulseTimer = TimingWheel.NO_TIMER;
+            expireTimer = TimingWheel.NO_TIMER;
+        }
+
+        @Override
+        public void onExpire(long payload) {
+            // Timers from an earlier start are ignored.
+            if ((payload >>> 1) != generation) {
+                return;
+            }
+            if ((payload & 1L) == EXPIRE) {
+                expired = true;
+            } else {
+                pulseDue = true;
+            }
+        }
     }
 
     public static final class Settings {
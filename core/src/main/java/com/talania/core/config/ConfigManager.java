@@ -8,8 +8,11 @@ import com.google.gson.JsonParser;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 /**
@@ -20,7 +23,7 @@ import java.util.function.Consumer;
  *   <li>JSON-based configuration files</li>
  *   <li>Automatic directory creation</li>
  *   <li>Default value extraction from resources</li>
- *   <li>File watching for hot-reload</li>
+ *   <li>File watching for hot-reload ({@link #attach(FileWatcher)})</li>
  *   <li>Type-safe configuration loading via Gson</li>
  * </ul>
  * 
@@ -41,6 +44,13 @@ import java.util.function.Consumer;
  * });
  * }</pre>
  * 
+ * <p>Once attached to a {@link FileWatcher}, an edited file is re-parsed on the
+ * watcher thread and the new object replaces the cached one in a single
+ * swap; it is never mutated in place, so code holding the previous instance
+ * keeps a consistent view. Watch callbacks then run once per server tick on
+ * the {@code TalaniaCore-Tick} thread, not on a world thread.
+ * A file that fails to parse keeps its previous values.</p>
+ * 
  * @author TalaniaCore Team
  * @since 0.1.0
  */
@@ -55,7 +65,10 @@ public final class ConfigManager {
     
     private static Path configDir;
     private static final Map<String, Object> configCache = new ConcurrentHashMap<>();
-    private static final Map<String, Consumer<?>> watchCallbacks = new ConcurrentHashMap<>();
+    private static final Map<String, Watch<?>> watches = new ConcurrentHashMap<>();
+    /** Modification time of each file as last loaded or saved, to ignore our own writes. */
+    private static final Map<String, FileTime> knownStamps = new ConcurrentHashMap<>();
+    private static volatile FileWatcher watcher;
     
     private static Consumer<String> infoLogger = System.out::println;
     private static Consumer<String> errorLogger = System.err::println;
@@ -144,9 +157,11 @@ public final class ConfigManager {
 
         // Load file
         if (Files.exists(configFile)) {
+            FileTime stamp = stampOf(configFile);
             try (Reader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
                 T config = GSON.fromJson(reader, configClass);
                 configCache.put(filename, config);
+                remember(filename, stamp);
                 log("Loaded: " + filename);
                 return config;
             } catch (Exception e) {
@@ -199,6 +214,7 @@ public final class ConfigManager {
         try {
             Files.writeString(configFile, GSON.toJson(config), StandardCharsets.UTF_8);
             configCache.put(filename, config);
+            remember(filename, stampOf(configFile));
             log("Saved: " + filename);
         } catch (IOException e) {
             error("Failed to save " + filename + ": " + e.getMessage());
@@ -234,26 +250,59 @@ public final class ConfigManager {
         configCache.remove(filename);
         T config = load(filename, configClass);
         
-        // Trigger watch callback if registered
+        // Trigger watch callbacks if registered
         @SuppressWarnings("unchecked")
-        Consumer<T> callback = (Consumer<T>) watchCallbacks.get(filename);
-        if (callback != null && config != null) {
-            try {
-                callback.accept(config);
-            } catch (Exception e) {
-                error("Watch callback error for " + filename + ": " + e.getMessage());
-            }
+        Watch<T> watch = (Watch<T>) watches.get(filename);
+        if (watch != null && config != null) {
+            watch.fire(filename, config);
         }
         
         return config;
     }
 
     /**
-     * Register a callback for config file changes.
-     * Note: Automatic watching requires calling {@code checkForChanges()} periodically.
+     * Register a callback for config file changes. Several callbacks may watch
+     * the same file. Changes are only picked up automatically once the
+     * manager is attached to a {@link FileWatcher}; {@link #reload} always
+     * fires the callbacks on the calling thread.
      */
     public static <T> void watch(String filename, Class<T> configClass, Consumer<T> callback) {
-        watchCallbacks.put(filename, callback);
+        if (filename == null || configClass == null || callback == null) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Watch<T> watch = (Watch<T>) watches.computeIfAbsent(filename, name -> new Watch<>(configClass));
+        watch.callbacks.add(callback);
+    }
+
+    /**
+     * Remove a callback registered with {@link #watch}.
+     */
+    public static void unwatch(String filename, Consumer<?> callback) {
+        Watch<?> watch = filename != null ? watches.get(filename) : null;
+        if (watch != null) {
+            watch.callbacks.remove(callback);
+        }
+    }
+
+    /**
+     * Hot-reload config files edited on disk. Only files that were loaded or
+     * watched are re-parsed; callbacks are queued on the watcher and run on
+     * the {@code TalaniaCore-Tick} thread.
+     */
+    public static void attach(FileWatcher fileWatcher) {
+        ensureInitialized();
+        if (fileWatcher != null && fileWatcher.watch(configDir, ConfigManager::onFileChanged)) {
+            watcher = fileWatcher;
+            log("Watching for changes: " + configDir);
+        }
+    }
+
+    /**
+     * Stop queueing callbacks on the watcher passed to {@link #attach}.
+     */
+    public static void detach() {
+        watcher = null;
     }
 
     /**
@@ -316,6 +365,58 @@ public final class ConfigManager {
         }
     }
 
+    /**
+     * Re-parse one changed file on the watcher thread.
+     */
+    private static void onFileChanged(Path file) {
+        FileWatcher current = watcher;
+        if (current == null || configDir == null || !file.getParent().equals(configDir.toAbsolutePath().normalize())) {
+            return;
+        }
+        String filename = file.getFileName().toString();
+        Watch<?> watch = watches.get(filename);
+        Object cached = configCache.get(filename);
+        if (watch == null && cached == null) {
+            return;
+        }
+        FileTime stamp = stampOf(file);
+        if (stamp == null || stamp.equals(knownStamps.get(filename))) {
+            // Deleted, or a write made by save().
+            return;
+        }
+        Class<?> configClass = watch != null ? watch.configClass : cached.getClass();
+        Object config;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            config = GSON.fromJson(reader, configClass);
+        } catch (Exception e) {
+            error("Failed to reload " + filename + ", keeping previous values: " + e.getMessage());
+            return;
+        }
+        if (config == null) {
+            return;
+        }
+        configCache.put(filename, config);
+        remember(filename, stamp);
+        log("Reloaded: " + filename);
+        if (watch != null) {
+            current.dispatch(() -> watch.fireUnchecked(filename, config));
+        }
+    }
+
+    private static FileTime stampOf(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void remember(String filename, FileTime stamp) {
+        if (stamp != null) {
+            knownStamps.put(filename, stamp);
+        }
+    }
+
     private static void ensureInitialized() {
         if (configDir == null) {
             throw new IllegalStateException("ConfigManager not initialized. Call initialize() first.");
@@ -329,4 +430,29 @@ public final class ConfigManager {
     private static void error(String message) {
         errorLogger.accept(LOG_PREFIX + message);
     }
+
+    private static final class Watch<T> {
+        private final Class<T> configClass;
+        private final List<Consumer<T>> callbacks = new CopyOnWriteArrayList<>();
+
+        private Watch(Class<T> configClass) {
+            this.configClass = configClass;
+        }
+
+        private void fire(String filename, T config) {
+            for (Consumer<T> callback : callbacks) {
+                try {
+                    callback.accept(config);
+                } catch (Exception e) {
+                    error("Watch callback error for " + filename + ": " + e.getMessage());
+                }
+            }
+        }
+
+        private void fireUnchecked(String filename, Object config) {
+            if (configClass.isInstance(config)) {
+                fire(filename, configClass.cast(config));
+            }
+        }
+    }
 }
@@ -0,0 +1,246 @@
+package com.talania.core.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * One background thread watching config directories for edits.
+ *
+ * <p>Each watched directory has a handler that receives the path of a
+ * changed file. Bursts of events for the same file (editors often write a
+ * file several times per save) are debounced: the handler runs once the file
+ * has been quiet for the debounce delay. Handlers run on the watcher thread,
+ * so they can parse files without stalling the server; user callbacks
+ * should be queued with {@link #dispatch(Runnable)} and are then run by
+ * {@link #runCallbacks()}, which the runtime calls once per server tick from
+ * its {@link com.talania.core.utils.time.GlobalTicker}. That is one thread,
+ * not a world thread: callbacks that touch entities must hop to the world.</p>
+ */
+public final class FileWatcher implements Closeable {
+    public static final long DEFAULT_DEBOUNCE_MS = 250L;
+
+    private final long debounceMs;
+    private final Map<WatchKey, Watched> keys = new ConcurrentHashMap<>();
+    private final Queue<Runnable> callbacks = new ConcurrentLinkedQueue<>();
+    /** Changed files and the time they become due; only touched by the watcher thread. */
+    private final Map<Path, Long> due = new LinkedHashMap<>();
+    private final Object lifecycleLock = new Object();
+    private WatchService service;
+    private Thread thread;
+    private volatile boolean closed;
+
+    public FileWatcher() {
+        this(DEFAULT_DEBOUNCE_MS);
+    }
+
+    public FileWatcher(long debounceMs) {
+        this.debounceMs = Math.max(0L, debounceMs);
+    }
+
+    /**
+     * Watch a directory (not its subdirectories). Starts the watcher thread on
+     * first use.
+     *
+     * @param directory Directory to watch
+     * @param handler   Called on the watcher thread with the changed file;
+     *                  the file may no longer exist if it was deleted
+     * @return true if the directory is now watched
+     */
+    public boolean watch(Path directory, Consumer<Path> handler) {
+        if (directory == null || handler == null) {
+            return false;
+        }
+        synchronized (lifecycleLock) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (service == null) {
+                    service = FileSystems.getDefault().newWatchService();
+                }
+                Path dir = directory.toAbsolutePath().normalize();
+                WatchKey key = dir.register(service,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                keys.put(key, new Watched(dir, handler));
+                if (thread == null) {
+                    thread = new Thread(this::run, "TalaniaCore-FileWatcher");
+                    thread.setDaemon(true);
+                    thread.start();
+                }
+                return true;
+            } catch (IOException e) {
+                System.err.println("[TalaniaCore] Failed to watch " + directory + ": " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Queue work for the next {@link #runCallbacks()}.
+     */
+    public void dispatch(Runnable callback) {
+        if (callback != null && !closed) {
+            callbacks.add(callback);
+        }
+    }
+
+    /**
+     * Run queued callbacks. Call once per tick from a single owner, not from
+     * a per-world system.
+     *
+     * @return number of callbacks run
+     */
+    public int runCallbacks() {
+        int count = 0;
+        Runnable callback;
+        while ((callback = callbacks.poll()) != null) {
+            count++;
+            try {
+                callback.run();
+            } catch (Exception e) {
+                System.err.println("[TalaniaCore] File watch callback failed: " + e);
+            }
+        }
+        return count;
+    }
+
+    public int pendingCallbacks() {
+        return callbacks.size();
+    }
+
+    public boolean isRunning() {
+        Thread current = thread;
+        return current != null && current.isAlive();
+    }
+
+    /**
+     * Stop watching. Changes still inside their debounce window are dropped.
+     */
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (lifecycleLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            current = thread;
+            if (service != null) {
+                try {
+                    service.close();
+                } catch (IOException e) {
+                    System.err.println("[TalaniaCore] Failed to close file watcher: " + e.getMessage());
+                }
+            }
+        }
+        if (current != null && current != Thread.currentThread()) {
+            try {
+                current.join(1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        keys.clear();
+        callbacks.clear();
+    }
+
+    private void run() {
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = due.isEmpty() ? service.take() : service.poll(nextDelay(), TimeUnit.MILLISECONDS);
+            } catch (ClosedWatchServiceException e) {
+                return;
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (key != null) {
+                collect(key);
+            }
+            fireDue();
+        }
+    }
+
+    private void collect(WatchKey key) {
+        Watched watched = keys.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (watched == null || !(event.context() instanceof Path)) {
+                // OVERFLOW carries no file; the next event per file still arrives.
+                continue;
+            }
+            Path file = watched.directory.resolve((Path) event.context());
+            // Re-arm: the handler runs once the file has been quiet for the whole delay.
+            due.remove(file);
+            due.put(file, System.currentTimeMillis() + debounceMs);
+        }
+        if (!key.reset()) {
+            keys.remove(key);
+        }
+    }
+
+    private void fireDue() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<Path, Long>> iterator = due.entrySet().iterator();
+        while (iterator.hasNext() && !closed) {
+            Map.Entry<Path, Long> entry = iterator.next();
+            if (entry.getValue() > now) {
+                continue;
+            }
+            iterator.remove();
+            Path file = entry.getKey();
+            Watched watched = find(file.getParent());
+            if (watched == null) {
+                continue;
+            }
+            try {
+                watched.handler.accept(file);
+            } catch (Exception e) {
+                System.err.println("[TalaniaCore] Failed to reload " + file.getFileName() + ": " + e);
+            }
+        }
+    }
+
+    private long nextDelay() {
+        long next = Long.MAX_VALUE;
+        for (long time : due.values()) {
+            next = Math.min(next, time);
+        }
+        return Math.max(1L, next - System.currentTimeMillis());
+    }
+
+    private Watched find(Path directory) {
+        for (Watched watched : keys.values()) {
+            if (watched.directory.equals(directory)) {
+                return watched;
+            }
+        }
+        return null;
+    }
+
+    private static final class Watched {
+        private final Path directory;
+        private final Consumer<Path> handler;
+
+        private Watched(Path directory, Consumer<Path> handler) {
+            this.directory = directory;
+            this.handler = handler;
+        }
+    }
+}
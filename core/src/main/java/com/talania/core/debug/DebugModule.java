@@ -3,6 +3,7 @@ package com.talania.core.debug;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Debug registration info for a module.
@@ -38,10 +39,19 @@ public final class DebugModule {
     public static final class DebugSection {
         private final String id;
         private final String title;
+        private final Supplier<List<String>> lines;
 
         public DebugSection(String id, String title) {
+            this(id, title, null);
+        }
+
+        /**
+         * @param lines live status lines shown for this section, or null
+         */
+        public DebugSection(String id, String title, Supplier<List<String>> lines) {
             this.id = id;
             this.title = title;
+            this.lines = lines;
         }
 
         public String id() {
@@ -51,5 +61,16 @@ public final class DebugModule {
         public String title() {
             return title;
         }
+
+        /**
+         * Current status lines, or an empty list if the section has none.
+         */
+        public List<String> lines() {
+            if (lines == null) {
+                return List.of();
+            }
+            List<String> result = lines.get();
+            return result == null ? List.of() : result;
+        }
     }
 }
@@ -3,8 +3,10 @@ package com.talania.core.debug;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Registry for module-provided debug metadata.
@@ -44,5 +46,13 @@ public final class DebugRegistry {
             module.addSection(new DebugModule.DebugSection(id, title));
             return this;
         }
+
+        /**
+         * Add a section with live status lines (e.g. metrics).
+         */
+        public DebugModuleBuilder section(String id, String title, Supplier<List<String>> lines) {
+            module.addSection(new DebugModule.DebugSection(id, title, lines));
+            return this;
+        }
     }
 }
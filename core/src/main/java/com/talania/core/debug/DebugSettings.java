@@ -12,5 +12,8 @@ public final class DebugSettings {
     public boolean logToConsole = false;
     public int rateLimitMs = 0;
     public int combatLogMaxEntries = 200;
+    public boolean combatLogPersistence = false;
+    public int combatLogSegmentMb = 16;
+    public int combatLogMaxSegments = 32;
     public Set<DebugCategory> defaultEnabledCategories = EnumSet.noneOf(DebugCategory.class);
 }
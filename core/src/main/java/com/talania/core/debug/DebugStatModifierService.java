@@ -2,6 +2,7 @@ package com.talania.core.debug;
 
 import com.talania.core.stats.EntityStats;
 import com.talania.core.stats.StatModifier;
+import com.talania.core.stats.StatTransaction;
 import com.talania.core.stats.StatType;
 import com.talania.core.stats.StatsManager;
 
@@ -96,7 +97,7 @@ public final class DebugStatModifierService {
             return stat.getDefaultValue();
         }
         EntityStats copy = stats.copy();
-        removeDebugModifiers(copy);
+        copy.batch(this::removeDebugModifiers);
         return copy.get(stat);
     }
 
@@ -104,25 +105,26 @@ public final class DebugStatModifierService {
         if (playerId == null || stats == null) {
             return;
         }
-        removeDebugModifiers(stats);
         PlayerState state = states.computeIfAbsent(playerId, id -> new PlayerState());
-        for (Map.Entry<StatType, Float> entry : state.addDeltas.entrySet()) {
-            float value = entry.getValue();
-            if (Math.abs(value) <= 0.0001f) {
-                continue;
+        stats.batch(tx -> {
+            removeDebugModifiers(tx);
+            for (Map.Entry<StatType, Float> entry : state.addDeltas.entrySet()) {
+                float value = entry.getValue();
+                if (Math.abs(value) <= 0.0001f) {
+                    continue;
+                }
+                StatType stat = entry.getKey();
+                tx.add(StatModifier.add(sourceFor(stat, "add"), stat, value));
             }
-            StatType stat = entry.getKey();
-            stats.addModifier(StatModifier.add(sourceFor(stat, "add"), stat, value));
-        }
-        for (Map.Entry<StatType, Float> entry : state.multipliers.entrySet()) {
-            float value = entry.getValue();
-            if (Math.abs(value - 1.0f) <= MULTIPLIER_EPS) {
-                continue;
+            for (Map.Entry<StatType, Float> entry : state.multipliers.entrySet()) {
+                float value = entry.getValue();
+                if (Math.abs(value - 1.0f) <= MULTIPLIER_EPS) {
+                    continue;
+                }
+                StatType stat = entry.getKey();
+                tx.add(StatModifier.multiplyTotal(sourceFor(stat, "mult"), stat, value));
             }
-            StatType stat = entry.getKey();
-            stats.addModifier(StatModifier.multiplyTotal(sourceFor(stat, "mult"), stat, value));
-        }
-        stats.recalculate();
+        });
     }
 
     public boolean hasActiveModifiers(UUID playerId) {
@@ -145,11 +147,11 @@ public final class DebugStatModifierService {
         state.multipliers.clear();
     }
 
-    private void removeDebugModifiers(EntityStats stats) {
+    private void removeDebugModifiers(StatTransaction tx) {
         for (StatType stat : StatType.values()) {
-            stats.removeModifier(SOURCE_PREFIX + stat.getId());
-            stats.removeModifier(sourceFor(stat, "add"));
-            stats.removeModifier(sourceFor(stat, "mult"));
+            tx.removeSource(SOURCE_PREFIX + stat.getId());
+            tx.removeSource(sourceFor(stat, "add"));
+            tx.removeSource(sourceFor(stat, "mult"));
         }
     }
 
@@ -2,13 +2,18 @@ package com.talania.core.debug;
 
 import com.talania.core.config.ConfigManager;
 import com.talania.core.debug.combat.CombatLogManager;
+import com.talania.core.debug.combat.CombatLogSegmentStore;
 import com.talania.core.debug.events.CombatLogEvent;
 import com.talania.core.events.EventBus;
+import com.talania.core.events.EventChannel;
+import com.talania.core.events.ListenerMetrics;
 import com.talania.core.TalaniaDevMode;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 
 import java.lang.reflect.Method;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -21,7 +26,8 @@ public final class TalaniaDebug {
     private static final CombatLogManager COMBAT_LOG = new CombatLogManager(LOG_SERVICE);
     private static final DebugStatModifierService STAT_MODIFIERS = new DebugStatModifierService();
     private static DebugSettings SETTINGS = new DebugSettings();
-    private static boolean initialized = false;
+    private static volatile boolean initialized = false;
+    private static volatile EventBus.EventRegistration combatLogListener;
 
     private TalaniaDebug() {}
 
@@ -39,11 +45,25 @@ public final class TalaniaDebug {
             }
         }
         LOG_SERVICE.setSettings(SETTINGS);
-        EventBus.subscribe(CombatLogEvent.class, COMBAT_LOG::handleEvent);
+        combatLogListener = EventBus.subscribe(TalaniaDebug.class, CombatLogEvent.class,
+                COMBAT_LOG::handleEvent, EventBus.EventPriority.NORMAL);
+        if (SETTINGS.combatLogPersistence && dataDirectory != null) {
+            openCombatLogHistory(dataDirectory.resolve("combat-log"));
+        }
         registerCoreModule();
         initialized = true;
     }
 
+    /**
+     * Flush and close combat log sinks and drop the debug event listeners.
+     */
+    public static void shutdown() {
+        EventBus.unsubscribeOwner(TalaniaDebug.class);
+        combatLogListener = null;
+        COMBAT_LOG.closeSinks();
+        initialized = false;
+    }
+
     public static DebugRegistry registry() {
         return REGISTRY;
     }
@@ -65,6 +85,29 @@ public final class TalaniaDebug {
         return COMBAT_LOG;
     }
 
+    /**
+     * Whether a combat log entry for this pair has anywhere to go: a sink of
+     * {@link CombatLogManager} or another {@link CombatLogEvent} subscriber.
+     */
+    public static boolean isCombatLogActive(UUID attackerId, UUID targetId) {
+        return isCombatLogActive(EventBus.global(), attackerId, targetId);
+    }
+
+    /**
+     * Same as {@link #isCombatLogActive(UUID, UUID)} for an entry published on
+     * {@code channel}, counting that channel's listeners and its parents'.
+     * The debug listener itself only counts when the combat log is recording.
+     */
+    public static boolean isCombatLogActive(EventChannel channel, UUID attackerId, UUID targetId) {
+        EventBus.EventRegistration own = combatLogListener;
+        boolean ownReached = own != null && own.isActive() && channel.reaches(own.channel());
+        int ownListeners = ownReached ? 1 : 0;
+        if (channel.listenerCount(CombatLogEvent.class) > ownListeners) {
+            return true;
+        }
+        return ownReached && COMBAT_LOG.isRecording(attackerId, targetId);
+    }
+
     public static DebugSettings settings() {
         return SETTINGS;
     }
@@ -104,9 +147,29 @@ public final class TalaniaDebug {
             builder.section("core-log", "Logging");
             builder.section("core-combat", "Combat");
             builder.section("core-cosmetics", "Cosmetics");
+            builder.section("core-events", "Event Bus", TalaniaDebug::eventBusLines);
         });
     }
 
+    private static List<String> eventBusLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("metrics " + (EventBus.isMetricsEnabled() ? "on" : "off")
+                + ", sampling 1/" + EventBus.metricsSampleRate());
+        for (ListenerMetrics metrics : EventBus.topListeners(10)) {
+            lines.add(metrics.toString());
+        }
+        return lines;
+    }
+
+    private static void openCombatLogHistory(Path directory) {
+        try {
+            COMBAT_LOG.attachHistoryStore(CombatLogSegmentStore.open(directory,
+                    Math.max(1, SETTINGS.combatLogSegmentMb) * 1024 * 1024, SETTINGS.combatLogMaxSegments));
+        } catch (Exception e) {
+            System.err.println("[TalaniaDebug] Combat log history disabled: " + e.getMessage());
+        }
+    }
+
     private static void applyDevStatModifierStore(UUID playerId) {
         if (playerId == null) {
             return;
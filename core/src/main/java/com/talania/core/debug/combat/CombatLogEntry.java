@@ -3,17 +3,27 @@ package com.talania.core.debug.combat;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageCause;
 import com.talania.core.combat.damage.AttackType;
 import com.talania.core.stats.DamageType;
+import com.talania.core.stats.StatType;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Immutable combat log entry for a single damage event.
+ *
+ * <p>Steps keep their raw amounts and stat ids; labels and formulas are only
+ * turned into strings when a sink renders them.</p>
  */
 public final class CombatLogEntry {
-    private final UUID eventId;
+    private static final AtomicLong EVENT_IDS = new AtomicLong();
+    /** High bits of ids from {@link #nextEventId()}; random per process so ids survive restarts. */
+    private static final long LOCAL_EVENT_ID_MOST = UUID.randomUUID().getMostSignificantBits();
+
+    private final long eventIdMost;
+    private final long eventIdLeast;
     private final long timestamp;
     private final UUID attackerId;
     private final UUID targetId;
@@ -35,7 +45,8 @@ public final class CombatLogEntry {
     private final List<CombatLogStep> steps;
 
     private CombatLogEntry(Builder builder) {
-        this.eventId = builder.eventId;
+        this.eventIdMost = builder.eventIdMost;
+        this.eventIdLeast = builder.eventIdLeast;
         this.timestamp = builder.timestamp;
         this.attackerId = builder.attackerId;
         this.targetId = builder.targetId;
@@ -58,7 +69,15 @@ public final class CombatLogEntry {
     }
 
     public UUID eventId() {
-        return eventId;
+        return new UUID(eventIdMost, eventIdLeast);
+    }
+
+    long eventIdMost() {
+        return eventIdMost;
+    }
+
+    long eventIdLeast() {
+        return eventIdLeast;
     }
 
     public long timestamp() {
@@ -144,27 +163,110 @@ public final class CombatLogEntry {
         return steps;
     }
 
+    /**
+     * Next process-wide event id. Ids are monotonic and start at 1; pass one to
+     * {@link #builder(long, UUID, UUID, float)} instead of a random UUID.
+     */
+    public static long nextEventId() {
+        return EVENT_IDS.incrementAndGet();
+    }
+
     public static Builder builder(UUID eventId, UUID attackerId, UUID targetId, float baseAmount) {
-        return new Builder(eventId, attackerId, targetId, baseAmount);
+        return new Builder(eventId.getMostSignificantBits(), eventId.getLeastSignificantBits(),
+                attackerId, targetId, baseAmount);
+    }
+
+    /**
+     * Builder for an entry whose {@link #eventId()} is derived from a
+     * {@link #nextEventId()} value without allocating a random UUID.
+     */
+    public static Builder builder(long eventId, UUID attackerId, UUID targetId, float baseAmount) {
+        return new Builder(LOCAL_EVENT_ID_MOST, eventId, attackerId, targetId, baseAmount);
     }
 
     public static final class CombatLogStep {
+        /**
+         * How a step derived {@code after} from {@code before}.
+         */
+        public enum Operation {
+            /** Pre-formatted formula supplied by the caller. */
+            CUSTOM,
+            /** {@code before * operand} */
+            MULTIPLY,
+            /** {@code before * (1 - operand)} */
+            REDUCE,
+            /** {@code before * (1 + operand)} */
+            BONUS,
+            /** {@code before - operand} */
+            SUBTRACT
+        }
+
         private final String label;
+        private final StatType stat;
         private final float before;
         private final float after;
-        private final String formula;
+        private final Operation operation;
+        private final float operand;
+        private final String source;
+        private String formula;
 
         public CombatLogStep(String label, float before, float after, String formula) {
+            this(label, null, before, after, Operation.CUSTOM, 0.0f, null);
+            this.formula = formula;
+        }
+
+        /**
+         * Create a step from raw values. {@code label} and {@code source} may be
+         * null, in which case they fall back to the id of {@code stat}.
+         */
+        public CombatLogStep(String label, StatType stat, float before, float after,
+                             Operation operation, float operand, String source) {
             this.label = label;
+            this.stat = stat;
             this.before = before;
             this.after = after;
-            this.formula = formula;
+            this.operation = operation != null ? operation : Operation.CUSTOM;
+            this.operand = operand;
+            this.source = source;
         }
 
         public String label() {
+            if (label != null) {
+                return label;
+            }
+            return stat != null ? stat.getId() : null;
+        }
+
+        public StatType stat() {
+            return stat;
+        }
+
+        String rawLabel() {
             return label;
         }
 
+        String rawSource() {
+            return source;
+        }
+
+        public Operation operation() {
+            return operation;
+        }
+
+        public float operand() {
+            return operand;
+        }
+
+        /**
+         * What caused the change, e.g. a stat or setting name.
+         */
+        public String source() {
+            if (source != null) {
+                return source;
+            }
+            return stat != null ? stat.getId() : label;
+        }
+
         public float before() {
             return before;
         }
@@ -173,14 +275,23 @@ public final class CombatLogEntry {
             return after;
         }
 
+        /**
+         * Formula text, formatted on first use.
+         */
         public String formula() {
-            return formula;
+            String result = formula;
+            if (result == null && operation != Operation.CUSTOM) {
+                result = CombatLogFormatter.formula(this);
+                formula = result;
+            }
+            return result;
         }
     }
 
     public static final class Builder {
-        private final UUID eventId;
-        private final long timestamp;
+        private final long eventIdMost;
+        private final long eventIdLeast;
+        private long timestamp;
         private final UUID attackerId;
         private final UUID targetId;
         private String attackerName;
@@ -200,8 +311,9 @@ public final class CombatLogEntry {
         private float shieldAbsorbed;
         private final List<CombatLogStep> steps = new ArrayList<>();
 
-        private Builder(UUID eventId, UUID attackerId, UUID targetId, float baseAmount) {
-            this.eventId = eventId;
+        private Builder(long eventIdMost, long eventIdLeast, UUID attackerId, UUID targetId, float baseAmount) {
+            this.eventIdMost = eventIdMost;
+            this.eventIdLeast = eventIdLeast;
             this.timestamp = System.currentTimeMillis();
             this.attackerId = attackerId;
             this.targetId = targetId;
@@ -209,6 +321,11 @@ public final class CombatLogEntry {
             this.finalAmount = baseAmount;
         }
 
+        Builder timestamp(long timestamp) {
+            this.timestamp = timestamp;
+            return this;
+        }
+
         public Builder attackerName(String name) {
             this.attackerName = name;
             return this;
@@ -282,6 +399,13 @@ public final class CombatLogEntry {
             return this;
         }
 
+        public Builder step(CombatLogStep step) {
+            if (step != null) {
+                steps.add(step);
+            }
+            return this;
+        }
+
         public CombatLogEntry build() {
             return new CombatLogEntry(this);
         }
@@ -16,6 +16,7 @@ import java.util.UUID;
  */
 public final class CombatLogFormatter {
     private static final DecimalFormat AMOUNT = new DecimalFormat("0.##");
+    private static final DecimalFormat MULTIPLIER = new DecimalFormat("0.0");
     private static final DateTimeFormatter TIME =
             DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
 
@@ -166,6 +167,23 @@ public final class CombatLogFormatter {
         return lines;
     }
 
+    /**
+     * Render the formula of a step built from raw values.
+     */
+    static String formula(CombatLogEntry.CombatLogStep step) {
+        if (step == null) {
+            return null;
+        }
+        String source = " (" + step.source() + ")";
+        return switch (step.operation()) {
+            case MULTIPLY -> "before * " + MULTIPLIER.format(step.operand()) + source;
+            case REDUCE -> "before * (1 - " + MULTIPLIER.format(step.operand()) + ")" + source;
+            case BONUS -> "before * (1 + " + MULTIPLIER.format(step.operand()) + ")" + source;
+            case SUBTRACT -> "before - " + formatAmount(step.operand()) + source;
+            case CUSTOM -> null;
+        };
+    }
+
     private static String formatAmount(float value) {
         return AMOUNT.format(value);
     }
@@ -1,28 +1,59 @@
 package com.talania.core.debug.combat;
 
+import com.talania.core.TalaniaDevMode;
 import com.talania.core.debug.DebugCategory;
 import com.talania.core.debug.DebugLogService;
+import com.talania.core.debug.DebugSettings;
 import com.talania.core.debug.events.CombatLogEvent;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Stores per-player combat log entries in memory.
+ *
+ * <p>In dev mode each player gets a {@link CombatLogRingBuffer} sized by
+ * {@link DebugSettings#combatLogMaxEntries}; entries are copied into its
+ * primitive slots, so the heap stays flat however many hits are logged.</p>
+ *
+ * <p>Additional {@link CombatLogSink}s (such as a {@link CombatLogSegmentStore}
+ * for on-disk history) receive every entry.</p>
  */
 public final class CombatLogManager {
     private final DebugLogService logService;
-    private final Map<UUID, CombatLogBuffer> buffers = new ConcurrentHashMap<>();
+    private final Map<UUID, CombatLogRingBuffer> buffers = new ConcurrentHashMap<>();
+    private final List<CombatLogSink> sinks = new CopyOnWriteArrayList<>();
+    private volatile CombatLogSegmentStore historyStore;
+    private volatile int maxSteps = CombatLogRingBuffer.DEFAULT_MAX_STEPS;
 
     public CombatLogManager(DebugLogService logService) {
         this.logService = logService;
     }
 
+    /**
+     * Whether an entry between these entities would reach any sink: the
+     * console, a registered sink, the in-memory {@link #recent} history and
+     * dev combat log page (dev mode only), or a participant with DAMAGE or
+     * MODIFIERS chat output enabled. Callers can skip building the entry
+     * entirely when this returns false.
+     */
+    public boolean isRecording(UUID attackerId, UUID targetId) {
+        DebugSettings settings = logService.settings();
+        if (settings.logToConsole || !sinks.isEmpty()) {
+            return true;
+        }
+        if (TalaniaDevMode.isEnabled() && (settings.enableUiOutput || settings.combatLogMaxEntries > 0)) {
+            return true;
+        }
+        if (!settings.enableChatOutput) {
+            return false;
+        }
+        return wantsChat(attackerId) || wantsChat(targetId);
+    }
+
     public void handleEvent(CombatLogEvent event) {
         if (event == null || event.entry() == null) {
             return;
@@ -31,8 +62,18 @@ public final class CombatLogManager {
         UUID attackerId = entry.attackerId();
         UUID targetId = entry.targetId();
 
-        logService.logToConsole(DebugCategory.DAMAGE,
-                CombatLogFormatter.summaryFor(null, entry, entry.attackerName(), entry.targetName()));
+        if (logService.settings().logToConsole) {
+            logService.logToConsole(DebugCategory.DAMAGE,
+                    CombatLogFormatter.summaryFor(null, entry, entry.attackerName(), entry.targetName()));
+        }
+
+        for (CombatLogSink sink : sinks) {
+            try {
+                sink.accept(entry);
+            } catch (RuntimeException e) {
+                System.err.println("[TalaniaDebug] Combat log sink error: " + e.getMessage());
+            }
+        }
 
         if (attackerId != null) {
             addIfEnabled(attackerId, entry);
@@ -44,6 +85,72 @@ public final class CombatLogManager {
         }
     }
 
+    /**
+     * Keep room for at least {@code steps} steps per entry in per-player
+     * history. The damage system passes its pipeline size here; a history
+     * created with fewer step slots is copied into a larger one on its next
+     * entry.
+     */
+    public void ensureStepCapacity(int steps) {
+        if (steps <= maxSteps) {
+            return;
+        }
+        synchronized (buffers) {
+            maxSteps = Math.max(maxSteps, steps);
+        }
+    }
+
+    public void addSink(CombatLogSink sink) {
+        if (sink != null) {
+            sinks.add(sink);
+        }
+    }
+
+    /**
+     * Remove and close a sink.
+     */
+    public void removeSink(CombatLogSink sink) {
+        if (sink != null && sinks.remove(sink)) {
+            if (sink == historyStore) {
+                historyStore = null;
+            }
+            sink.close();
+        }
+    }
+
+    /**
+     * Register a segment store as a sink and use it for {@link #history}.
+     */
+    public void attachHistoryStore(CombatLogSegmentStore store) {
+        CombatLogSegmentStore previous = historyStore;
+        if (previous != null) {
+            removeSink(previous);
+        }
+        historyStore = store;
+        addSink(store);
+    }
+
+    /**
+     * Persisted entries involving a player in a time range, oldest first.
+     * Empty if no history store is attached.
+     */
+    public List<CombatLogEntry> history(UUID playerId, long fromMillis, long toMillis, int limit) {
+        CombatLogSegmentStore store = historyStore;
+        if (store == null) {
+            return List.of();
+        }
+        return store.query(playerId, fromMillis, toMillis, limit);
+    }
+
+    /**
+     * Close every sink. Called on plugin shutdown.
+     */
+    public void closeSinks() {
+        for (CombatLogSink sink : sinks) {
+            removeSink(sink);
+        }
+    }
+
     public void clear(UUID playerId) {
         if (playerId == null) {
             return;
@@ -51,11 +158,15 @@ public final class CombatLogManager {
         buffers.remove(playerId);
     }
 
+    /**
+     * Most recent entries involving a player, oldest first. Only kept in dev
+     * mode, where the combat log page reads them.
+     */
     public List<CombatLogEntry> recent(UUID playerId, int limit) {
         if (playerId == null || limit <= 0) {
             return List.of();
         }
-        CombatLogBuffer buffer = buffers.get(playerId);
+        CombatLogRingBuffer buffer = buffers.get(playerId);
         if (buffer == null) {
             return List.of();
         }
@@ -63,9 +174,28 @@ public final class CombatLogManager {
     }
 
     private void addIfEnabled(UUID playerId, CombatLogEntry entry) {
-        CombatLogBuffer buffer = buffers.computeIfAbsent(playerId,
-                id -> new CombatLogBuffer(logService.settings().combatLogMaxEntries));
-        buffer.add(entry);
+        if (logService.settings().combatLogMaxEntries <= 0 || !TalaniaDevMode.isEnabled()) {
+            return;
+        }
+        CombatLogRingBuffer buffer = buffers.get(playerId);
+        int steps = maxSteps;
+        if (buffer == null || buffer.maxSteps() < steps) {
+            CombatLogRingBuffer grown = new CombatLogRingBuffer(logService.settings().combatLogMaxEntries, steps);
+            if (buffer != null) {
+                for (CombatLogEntry previous : buffer.snapshot(Integer.MAX_VALUE)) {
+                    grown.append(previous);
+                }
+            }
+            buffers.put(playerId, grown);
+            buffer = grown;
+        }
+        buffer.append(entry);
+    }
+
+    private boolean wantsChat(UUID playerId) {
+        return playerId != null
+                && (logService.isEnabled(playerId, DebugCategory.DAMAGE)
+                || logService.isEnabled(playerId, DebugCategory.MODIFIERS));
     }
 
     private void emitChatIfEnabled(UUID playerId, CombatLogEntry entry) {
@@ -79,47 +209,4 @@ public final class CombatLogManager {
             }
         }
     }
-
-
-    private static final class CombatLogBuffer {
-        private final int max;
-        private final Deque<CombatLogEntry> entries = new ArrayDeque<>();
-        private UUID lastEventId;
-
-        private CombatLogBuffer(int max) {
-            this.max = Math.max(1, max);
-        }
-
-        void add(CombatLogEntry entry) {
-            if (entry == null) {
-                return;
-            }
-            synchronized (entries) {
-                if (lastEventId != null && lastEventId.equals(entry.eventId())) {
-                    return;
-                }
-                lastEventId = entry.eventId();
-                if (entries.size() >= max) {
-                    entries.removeFirst();
-                }
-                entries.addLast(entry);
-            }
-        }
-
-        List<CombatLogEntry> snapshot(int limit) {
-            List<CombatLogEntry> result = new ArrayList<>();
-            synchronized (entries) {
-                int count = Math.min(limit, entries.size());
-                int skip = Math.max(0, entries.size() - count);
-                int index = 0;
-                for (CombatLogEntry entry : entries) {
-                    if (index++ < skip) {
-                        continue;
-                    }
-                    result.add(entry);
-                }
-            }
-            return result;
-        }
-    }
 }
@@ -0,0 +1,280 @@
+package com.talania.core.debug.combat;
+
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageCause;
+import com.talania.core.combat.damage.AttackType;
+import com.talania.core.debug.combat.CombatLogEntry.CombatLogStep;
+import com.talania.core.stats.DamageType;
+import com.talania.core.stats.StatType;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fixed-capacity ring of combat log entries for one player.
+ *
+ * <p>Entries are stored field by field in parallel arrays, so appending does
+ * not allocate and the buffer holds no per-hit objects. Each slot owns
+ * {@link #maxSteps()} step slots; extra steps are dropped.</p>
+ *
+ * <p>There must be a single writer at a time. Damage events for both
+ * combatants run on the world thread, so this holds for combat logging.
+ * Readers never block the writer: {@link #head} works as a sequence lock,
+ * and readers copy the slots they need and then discard any that were
+ * overwritten while they were reading.</p>
+ */
+final class CombatLogRingBuffer {
+    /**
+     * Step slots per entry until the damage system reports its pipeline size
+     * (see {@link CombatLogManager#ensureStepCapacity}); two per built-in stage.
+     */
+    static final int DEFAULT_MAX_STEPS = 28;
+
+    private static final DamageType[] DAMAGE_TYPES = DamageType.values();
+    private static final AttackType[] ATTACK_TYPES = AttackType.values();
+    private static final StatType[] STAT_TYPES = StatType.values();
+    private static final CombatLogStep.Operation[] OPERATIONS = CombatLogStep.Operation.values();
+
+    private static final int HAS_ATTACKER = 1;
+    private static final int HAS_TARGET = 1 << 1;
+    private static final int CANCELLED = 1 << 2;
+    private static final int CRIT = 1 << 3;
+    private static final int HAS_THORNS = 1 << 4;
+    private static final int HAS_BLOCKED = 1 << 5;
+    private static final int BLOCKED = 1 << 6;
+
+    private final int capacity;
+    private final int maxSteps;
+
+    private final long[] eventIdMost;
+    private final long[] eventIdLeast;
+    private final long[] timestamps;
+    private final long[] attackerMost;
+    private final long[] attackerLeast;
+    private final long[] targetMost;
+    private final long[] targetLeast;
+    private final String[] attackerNames;
+    private final String[] targetNames;
+    private final String[] cancelReasons;
+    private final DamageCause[] causes;
+    private final byte[] damageTypes;
+    private final byte[] attackTypes;
+    private final int[] flags;
+    private final float[] baseAmounts;
+    private final float[] finalAmounts;
+    private final float[] lifesteals;
+    private final float[] thorns;
+    private final float[] lifeDamages;
+    private final float[] shieldAbsorbed;
+    private final byte[] stepCounts;
+
+    private final String[] stepLabels;
+    private final String[] stepSources;
+    private final String[] stepFormulas;
+    private final byte[] stepStats;
+    private final byte[] stepOperations;
+    private final float[] stepBefore;
+    private final float[] stepAfter;
+    private final float[] stepOperands;
+
+    /** Number of entries ever published; written only by the writer. */
+    private volatile long head;
+    private long lastEventIdMost;
+    private long lastEventIdLeast;
+
+    CombatLogRingBuffer(int capacity, int maxSteps) {
+        this.capacity = Math.max(1, capacity);
+        // Step counts are stored as bytes.
+        this.maxSteps = Math.max(1, Math.min(Byte.MAX_VALUE, maxSteps));
+        int n = this.capacity;
+        eventIdMost = new long[n];
+        eventIdLeast = new long[n];
+        timestamps = new long[n];
+        attackerMost = new long[n];
+        attackerLeast = new long[n];
+        targetMost = new long[n];
+        targetLeast = new long[n];
+        attackerNames = new String[n];
+        targetNames = new String[n];
+        cancelReasons = new String[n];
+        causes = new DamageCause[n];
+        damageTypes = new byte[n];
+        attackTypes = new byte[n];
+        flags = new int[n];
+        baseAmounts = new float[n];
+        finalAmounts = new float[n];
+        lifesteals = new float[n];
+        thorns = new float[n];
+        lifeDamages = new float[n];
+        shieldAbsorbed = new float[n];
+        stepCounts = new byte[n];
+        int steps = n * this.maxSteps;
+        stepLabels = new String[steps];
+        stepSources = new String[steps];
+        stepFormulas = new String[steps];
+        stepStats = new byte[steps];
+        stepOperations = new byte[steps];
+        stepBefore = new float[steps];
+        stepAfter = new float[steps];
+        stepOperands = new float[steps];
+    }
+
+    int maxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * Append an entry, overwriting the oldest one when full. Repeated event ids
+     * are ignored.
+     */
+    void append(CombatLogEntry entry) {
+        if (entry == null
+                || (entry.eventIdMost() == lastEventIdMost && entry.eventIdLeast() == lastEventIdLeast)) {
+            return;
+        }
+        lastEventIdMost = entry.eventIdMost();
+        lastEventIdLeast = entry.eventIdLeast();
+        long seq = head;
+        int slot = (int) (seq % capacity);
+        // Keep the slot writes below from becoming visible before the
+        // previous head store, which would let a reader miss the overwrite.
+        VarHandle.releaseFence();
+
+        eventIdMost[slot] = entry.eventIdMost();
+        eventIdLeast[slot] = entry.eventIdLeast();
+        timestamps[slot] = entry.timestamp();
+        int bits = 0;
+        UUID attackerId = entry.attackerId();
+        if (attackerId != null) {
+            bits |= HAS_ATTACKER;
+            attackerMost[slot] = attackerId.getMostSignificantBits();
+            attackerLeast[slot] = attackerId.getLeastSignificantBits();
+        }
+        UUID targetId = entry.targetId();
+        if (targetId != null) {
+            bits |= HAS_TARGET;
+            targetMost[slot] = targetId.getMostSignificantBits();
+            targetLeast[slot] = targetId.getLeastSignificantBits();
+        }
+        if (entry.cancelled()) {
+            bits |= CANCELLED;
+        }
+        if (entry.crit()) {
+            bits |= CRIT;
+        }
+        Float thornsDamage = entry.thorns();
+        if (thornsDamage != null) {
+            bits |= HAS_THORNS;
+            thorns[slot] = thornsDamage;
+        }
+        Boolean blocked = entry.blocked();
+        if (blocked != null) {
+            bits |= HAS_BLOCKED;
+            if (blocked) {
+                bits |= BLOCKED;
+            }
+        }
+        flags[slot] = bits;
+        attackerNames[slot] = entry.attackerName();
+        targetNames[slot] = entry.targetName();
+        cancelReasons[slot] = entry.cancelReason();
+        causes[slot] = entry.cause();
+        damageTypes[slot] = ordinalOf(entry.damageType());
+        attackTypes[slot] = ordinalOf(entry.attackType());
+        baseAmounts[slot] = entry.baseAmount();
+        finalAmounts[slot] = entry.finalAmount();
+        lifesteals[slot] = entry.lifesteal();
+        lifeDamages[slot] = entry.lifeDamage();
+        shieldAbsorbed[slot] = entry.shieldAbsorbed();
+
+        List<CombatLogStep> steps = entry.steps();
+        int count = Math.min(steps.size(), maxSteps);
+        int base = slot * maxSteps;
+        for (int i = 0; i < count; i++) {
+            CombatLogStep step = steps.get(i);
+            int at = base + i;
+            stepLabels[at] = step.rawLabel();
+            stepSources[at] = step.rawSource();
+            stepFormulas[at] = step.operation() == CombatLogStep.Operation.CUSTOM ? step.formula() : null;
+            stepStats[at] = ordinalOf(step.stat());
+            stepOperations[at] = (byte) step.operation().ordinal();
+            stepBefore[at] = step.before();
+            stepAfter[at] = step.after();
+            stepOperands[at] = step.operand();
+        }
+        stepCounts[slot] = (byte) count;
+
+        head = seq + 1;
+    }
+
+    /**
+     * Up to {@code limit} most recent entries, oldest first.
+     */
+    List<CombatLogEntry> snapshot(int limit) {
+        long end = head;
+        long start = Math.max(0L, end - Math.min(limit, capacity));
+        List<CombatLogEntry> result = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            result.add(read((int) (seq % capacity)));
+        }
+        // The writer fills slot `head` before publishing it, which overwrites
+        // entry `head - capacity`; drop anything that may have been torn.
+        // The fence keeps the slot reads above from moving past the re-read.
+        VarHandle.acquireFence();
+        long after = head;
+        long firstValid = after + 1 - capacity;
+        int stale = (int) Math.max(0L, Math.min(result.size(), firstValid - start));
+        return stale == 0 ? result : new ArrayList<>(result.subList(stale, result.size()));
+    }
+
+    private CombatLogEntry read(int slot) {
+        int bits = flags[slot];
+        UUID attackerId = (bits & HAS_ATTACKER) != 0 ? new UUID(attackerMost[slot], attackerLeast[slot]) : null;
+        UUID targetId = (bits & HAS_TARGET) != 0 ? new UUID(targetMost[slot], targetLeast[slot]) : null;
+        UUID eventId = new UUID(eventIdMost[slot], eventIdLeast[slot]);
+        CombatLogEntry.Builder builder = CombatLogEntry.builder(eventId, attackerId, targetId, baseAmounts[slot])
+                .timestamp(timestamps[slot])
+                .attackerName(attackerNames[slot])
+                .targetName(targetNames[slot])
+                .cause(causes[slot])
+                .damageType(valueOf(DAMAGE_TYPES, damageTypes[slot]))
+                .attackType(valueOf(ATTACK_TYPES, attackTypes[slot]))
+                .finalAmount(finalAmounts[slot])
+                .crit((bits & CRIT) != 0)
+                .lifesteal(lifesteals[slot])
+                .lifeDamage(lifeDamages[slot])
+                .shieldAbsorbed(shieldAbsorbed[slot]);
+        if ((bits & CANCELLED) != 0) {
+            builder.cancelled(cancelReasons[slot]);
+        }
+        if ((bits & HAS_THORNS) != 0) {
+            builder.thorns(thorns[slot]);
+        }
+        if ((bits & HAS_BLOCKED) != 0) {
+            builder.blocked((bits & BLOCKED) != 0);
+        }
+        int base = slot * maxSteps;
+        int count = stepCounts[slot];
+        for (int i = 0; i < count; i++) {
+            int at = base + i;
+            CombatLogStep.Operation operation = OPERATIONS[stepOperations[at]];
+            if (operation == CombatLogStep.Operation.CUSTOM) {
+                builder.step(new CombatLogStep(stepLabels[at], stepBefore[at], stepAfter[at], stepFormulas[at]));
+            } else {
+                builder.step(new CombatLogStep(stepLabels[at], valueOf(STAT_TYPES, stepStats[at]),
+                        stepBefore[at], stepAfter[at], operation, stepOperands[at], stepSources[at]));
+            }
+        }
+        return builder.build();
+    }
+
+    /** Ordinal + 1, or 0 for null. */
+    private static byte ordinalOf(Enum<?> value) {
+        return value == null ? 0 : (byte) (value.ordinal() + 1);
+    }
+
+    private static <E> E valueOf(E[] values, byte stored) {
+        return stored == 0 ? null : values[stored - 1];
+    }
+}
@@ -0,0 +1,600 @@
+package com.talania.core.debug.combat;
+
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageCause;
+import com.talania.core.combat.damage.AttackType;
+import com.talania.core.debug.combat.CombatLogEntry.CombatLogStep;
+import com.talania.core.stats.DamageType;
+import com.talania.core.stats.StatType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One memory-mapped combat log segment file and its player index.
+ *
+ * <p>Layout: a header (magic, version, creation time and the enum name tables
+ * used to encode ordinals) followed by length-prefixed records. A zero length
+ * marks the end of the written data. When a segment is sealed its index is
+ * written to a sidecar {@code .idx} file; segments without one (e.g. after a
+ * crash) are scanned on open.</p>
+ *
+ * <p>Only the segment being written keeps its file channel open; sealing
+ * closes it and read-only segments close theirs right after mapping. Java
+ * cannot unmap a {@link MappedByteBuffer} explicitly, so {@link #close()}
+ * only drops the reference and the mapping is released when the buffer is
+ * garbage collected. Until then the file stays mapped, and on Windows a
+ * pruned segment cannot be deleted.</p>
+ */
+final class CombatLogSegment {
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final String INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x54434C53; // "TCLS"
+    private static final int INDEX_MAGIC = 0x54434C49; // "TCLI"
+    private static final short VERSION = 2;
+
+    private static final int FLAG_ATTACKER = 1;
+    private static final int FLAG_TARGET = 1 << 1;
+    private static final int FLAG_CANCELLED = 1 << 2;
+    private static final int FLAG_CRIT = 1 << 3;
+    private static final int FLAG_THORNS = 1 << 4;
+    private static final int FLAG_HAS_BLOCKED = 1 << 5;
+    private static final int FLAG_BLOCKED = 1 << 6;
+
+    // Fixed record prefix written by encode(): length, event id (two longs),
+    // timestamp, flags, attacker id, target id.
+    private static final int LENGTH_BYTES = 4;
+    private static final int EVENT_ID_OFFSET = LENGTH_BYTES;
+    private static final int TIMESTAMP_OFFSET = EVENT_ID_OFFSET + 16;
+    private static final int FLAGS_OFFSET = TIMESTAMP_OFFSET + 8;
+    private static final int ATTACKER_OFFSET = FLAGS_OFFSET + 1;
+    private static final int TARGET_OFFSET = ATTACKER_OFFSET + 16;
+
+    private final Path path;
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private boolean writable;
+    private final int dataStart;
+    private final StatType[] stats;
+    private final DamageType[] damageTypes;
+    private final AttackType[] attackTypes;
+    private final CombatLogStep.Operation[] operations;
+    private final Map<UUID, OffsetList> index = new HashMap<>();
+    private int writePosition;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private int recordCount;
+
+    private CombatLogSegment(Path path, FileChannel channel, MappedByteBuffer buffer, boolean writable,
+                             int dataStart, StatType[] stats, DamageType[] damageTypes,
+                             AttackType[] attackTypes, CombatLogStep.Operation[] operations) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.writable = writable;
+        this.dataStart = dataStart;
+        this.stats = stats;
+        this.damageTypes = damageTypes;
+        this.attackTypes = attackTypes;
+        this.operations = operations;
+        this.writePosition = dataStart;
+    }
+
+    /**
+     * Create and map a new, empty segment of {@code size} bytes.
+     */
+    static CombatLogSegment create(Path path, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putLong(System.currentTimeMillis());
+        writeNames(buffer, StatType.values());
+        writeNames(buffer, DamageType.values());
+        writeNames(buffer, AttackType.values());
+        writeNames(buffer, CombatLogStep.Operation.values());
+        return new CombatLogSegment(path, channel, buffer, true, buffer.position(),
+                StatType.values(), DamageType.values(), AttackType.values(), CombatLogStep.Operation.values());
+    }
+
+    /**
+     * Map an existing segment read-only and load (or rebuild) its index.
+     */
+    static CombatLogSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a combat log segment: " + path);
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported combat log segment version " + version + ": " + path);
+            }
+            buffer.getLong();
+            StatType[] stats = readNames(buffer, StatType.class);
+            DamageType[] damageTypes = readNames(buffer, DamageType.class);
+            AttackType[] attackTypes = readNames(buffer, AttackType.class);
+            CombatLogStep.Operation[] operations = readNames(buffer, CombatLogStep.Operation.class);
+            CombatLogSegment segment = new CombatLogSegment(path, null, buffer, false, buffer.position(),
+                    stats, damageTypes, attackTypes, operations);
+            if (!segment.loadIndex()) {
+                segment.rebuildIndex();
+            }
+            return segment;
+        } finally {
+            // The mapping stays valid without the channel.
+            channel.close();
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long minTimestamp() {
+        return minTimestamp;
+    }
+
+    long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    int recordCount() {
+        return recordCount;
+    }
+
+    Set<UUID> players() {
+        return index.keySet();
+    }
+
+    /**
+     * Append an encoded record.
+     *
+     * @return false if the record does not fit (the caller should roll)
+     */
+    boolean append(CombatLogEntry entry, ByteBuffer scratch) {
+        if (!writable) {
+            return false;
+        }
+        scratch.clear();
+        encode(entry, scratch);
+        scratch.flip();
+        int length = scratch.remaining();
+        // Keep room for the zero terminator.
+        if (writePosition + length + 4 > buffer.capacity()) {
+            return false;
+        }
+        int offset = writePosition;
+        buffer.put(offset, scratch, 0, length);
+        writePosition += length;
+        track(offset, entry.timestamp(), entry.attackerId(), entry.targetId());
+        return true;
+    }
+
+    /**
+     * Flush the mapped data, write the sidecar index and close the channel.
+     * The segment stays readable but no longer accepts records.
+     */
+    void seal() throws IOException {
+        if (!writable) {
+            return;
+        }
+        writable = false;
+        try {
+            buffer.force();
+            writeIndex();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    /**
+     * Seal if still writable and drop the mapping. Queries already running
+     * finish on the buffer they started with; later ones find nothing.
+     */
+    void close() throws IOException {
+        try {
+            seal();
+        } finally {
+            buffer = null;
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        FileChannel current = channel;
+        channel = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * Collect entries involving {@code playerId} in [from, to], newest first,
+     * until {@code out} holds {@code limit} entries.
+     */
+    void collect(UUID playerId, long from, long to, int limit, List<CombatLogEntry> out) {
+        if (out.size() >= limit || maxTimestamp < from || minTimestamp > to) {
+            return;
+        }
+        OffsetList offsets = index.get(playerId);
+        if (offsets != null) {
+            collect(offsets.values, offsets.size, from, to, limit, out);
+        }
+    }
+
+    /**
+     * Copy of the record offsets for a player, oldest first, or null. Records
+     * at these offsets are never rewritten, so they can be decoded with
+     * {@link #collect(int[], int, long, long, int, List)} after the writer
+     * has moved on.
+     */
+    int[] offsetsOf(UUID playerId) {
+        OffsetList offsets = index.get(playerId);
+        return offsets != null ? Arrays.copyOf(offsets.values, offsets.size) : null;
+    }
+
+    /**
+     * Decode the records at {@code offsets[0..count)} in [from, to], newest
+     * first, until {@code out} holds {@code limit} entries.
+     */
+    void collect(int[] offsets, int count, long from, long to, int limit, List<CombatLogEntry> out) {
+        MappedByteBuffer source = buffer;
+        if (source == null) {
+            return;
+        }
+        for (int i = count - 1; i >= 0 && out.size() < limit; i--) {
+            int offset = offsets[i];
+            long timestamp = source.getLong(offset + TIMESTAMP_OFFSET);
+            if (timestamp < from || timestamp > to) {
+                continue;
+            }
+            out.add(decode(source, offset));
+        }
+    }
+
+    // ==================== INDEX ====================
+
+    private void track(int offset, long timestamp, UUID attackerId, UUID targetId) {
+        recordCount++;
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        if (attackerId != null) {
+            index.computeIfAbsent(attackerId, id -> new OffsetList()).add(offset);
+        }
+        if (targetId != null && !targetId.equals(attackerId)) {
+            index.computeIfAbsent(targetId, id -> new OffsetList()).add(offset);
+        }
+    }
+
+    private void rebuildIndex() {
+        int position = dataStart;
+        while (position + LENGTH_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + length > buffer.capacity()) {
+                break;
+            }
+            long timestamp = buffer.getLong(position + TIMESTAMP_OFFSET);
+            int flags = buffer.get(position + FLAGS_OFFSET);
+            int attacker = position + ATTACKER_OFFSET;
+            int target = position + TARGET_OFFSET;
+            UUID attackerId = (flags & FLAG_ATTACKER) != 0
+                    ? new UUID(buffer.getLong(attacker), buffer.getLong(attacker + 8)) : null;
+            UUID targetId = (flags & FLAG_TARGET) != 0
+                    ? new UUID(buffer.getLong(target), buffer.getLong(target + 8)) : null;
+            track(position, timestamp, attackerId, targetId);
+            position += length;
+        }
+        writePosition = position;
+    }
+
+    private Path indexPath() {
+        String name = path.getFileName().toString();
+        return path.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private void writeIndex() throws IOException {
+        int size = 4 + 4 + 8 + 8 + 4;
+        for (OffsetList offsets : index.values()) {
+            size += 16 + 4 + offsets.size * 4;
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(INDEX_MAGIC);
+        out.putInt(recordCount);
+        out.putLong(minTimestamp);
+        out.putLong(maxTimestamp);
+        out.putInt(index.size());
+        for (Map.Entry<UUID, OffsetList> entry : index.entrySet()) {
+            out.putLong(entry.getKey().getMostSignificantBits());
+            out.putLong(entry.getKey().getLeastSignificantBits());
+            OffsetList offsets = entry.getValue();
+            out.putInt(offsets.size);
+            for (int i = 0; i < offsets.size; i++) {
+                out.putInt(offsets.values[i]);
+            }
+        }
+        Path target = indexPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, out.array());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private boolean loadIndex() {
+        Path indexPath = indexPath();
+        if (!Files.isRegularFile(indexPath)) {
+            return false;
+        }
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+            if (in.getInt() != INDEX_MAGIC) {
+                return false;
+            }
+            recordCount = in.getInt();
+            minTimestamp = in.getLong();
+            maxTimestamp = in.getLong();
+            int players = in.getInt();
+            for (int p = 0; p < players; p++) {
+                UUID playerId = new UUID(in.getLong(), in.getLong());
+                int count = in.getInt();
+                OffsetList offsets = new OffsetList(count);
+                for (int i = 0; i < count; i++) {
+                    offsets.add(in.getInt());
+                }
+                index.put(playerId, offsets);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            index.clear();
+            recordCount = 0;
+            minTimestamp = Long.MAX_VALUE;
+            maxTimestamp = Long.MIN_VALUE;
+            return false;
+        }
+    }
+
+    // ==================== CODEC ====================
+
+    private static void encode(CombatLogEntry entry, ByteBuffer out) {
+        int start = out.position();
+        out.putInt(0);
+        out.putLong(entry.eventIdMost());
+        out.putLong(entry.eventIdLeast());
+        out.putLong(entry.timestamp());
+        int flags = 0;
+        UUID attackerId = entry.attackerId();
+        UUID targetId = entry.targetId();
+        if (attackerId != null) {
+            flags |= FLAG_ATTACKER;
+        }
+        if (targetId != null) {
+            flags |= FLAG_TARGET;
+        }
+        if (entry.cancelled()) {
+            flags |= FLAG_CANCELLED;
+        }
+        if (entry.crit()) {
+            flags |= FLAG_CRIT;
+        }
+        if (entry.thorns() != null) {
+            flags |= FLAG_THORNS;
+        }
+        if (entry.blocked() != null) {
+            flags |= FLAG_HAS_BLOCKED;
+            if (entry.blocked()) {
+                flags |= FLAG_BLOCKED;
+            }
+        }
+        out.put((byte) flags);
+        out.putLong(attackerId != null ? attackerId.getMostSignificantBits() : 0L);
+        out.putLong(attackerId != null ? attackerId.getLeastSignificantBits() : 0L);
+        out.putLong(targetId != null ? targetId.getMostSignificantBits() : 0L);
+        out.putLong(targetId != null ? targetId.getLeastSignificantBits() : 0L);
+        out.putFloat(entry.baseAmount());
+        out.putFloat(entry.finalAmount());
+        out.putFloat(entry.lifesteal());
+        out.putFloat(entry.thorns() != null ? entry.thorns() : 0.0f);
+        out.putFloat(entry.lifeDamage());
+        out.putFloat(entry.shieldAbsorbed());
+        out.put(ordinalOf(entry.damageType()));
+        out.put(ordinalOf(entry.attackType()));
+        writeString(out, entry.attackerName());
+        writeString(out, entry.targetName());
+        writeString(out, entry.cause() != null ? entry.cause().getId() : null);
+        writeString(out, entry.cancelReason());
+        List<CombatLogStep> steps = entry.steps();
+        int count = Math.min(steps.size(), 255);
+        out.put((byte) count);
+        for (int i = 0; i < count; i++) {
+            CombatLogStep step = steps.get(i);
+            out.put((byte) step.operation().ordinal());
+            out.put(ordinalOf(step.stat()));
+            out.putFloat(step.before());
+            out.putFloat(step.after());
+            out.putFloat(step.operand());
+            writeString(out, step.rawLabel());
+            writeString(out, step.rawSource());
+            writeString(out, step.operation() == CombatLogStep.Operation.CUSTOM ? step.formula() : null);
+        }
+        out.putInt(start, out.position() - start);
+    }
+
+    private CombatLogEntry decode(ByteBuffer records, int offset) {
+        ByteBuffer in = records.duplicate();
+        in.position(offset + EVENT_ID_OFFSET);
+        UUID eventId = new UUID(in.getLong(), in.getLong());
+        long timestamp = in.getLong();
+        int flags = in.get();
+        long attackerMost = in.getLong();
+        long attackerLeast = in.getLong();
+        long targetMost = in.getLong();
+        long targetLeast = in.getLong();
+        UUID attackerId = (flags & FLAG_ATTACKER) != 0 ? new UUID(attackerMost, attackerLeast) : null;
+        UUID targetId = (flags & FLAG_TARGET) != 0 ? new UUID(targetMost, targetLeast) : null;
+        float baseAmount = in.getFloat();
+        CombatLogEntry.Builder builder = CombatLogEntry.builder(eventId, attackerId, targetId, baseAmount)
+                .timestamp(timestamp)
+                .finalAmount(in.getFloat())
+                .lifesteal(in.getFloat());
+        float thorns = in.getFloat();
+        builder.lifeDamage(in.getFloat())
+                .shieldAbsorbed(in.getFloat())
+                .damageType(valueOf(damageTypes, in.get()))
+                .attackType(valueOf(attackTypes, in.get()))
+                .attackerName(readString(in))
+                .targetName(readString(in))
+                .cause(resolveCause(readString(in)))
+                .crit((flags & FLAG_CRIT) != 0);
+        String cancelReason = readString(in);
+        if ((flags & FLAG_CANCELLED) != 0) {
+            builder.cancelled(cancelReason);
+        }
+        if ((flags & FLAG_THORNS) != 0) {
+            builder.thorns(thorns);
+        }
+        if ((flags & FLAG_HAS_BLOCKED) != 0) {
+            builder.blocked((flags & FLAG_BLOCKED) != 0);
+        }
+        int count = in.get() & 0xFF;
+        for (int i = 0; i < count; i++) {
+            CombatLogStep.Operation operation = valueOf(operations, (byte) (in.get() + 1));
+            StatType stat = valueOf(stats, in.get());
+            float before = in.getFloat();
+            float after = in.getFloat();
+            float operand = in.getFloat();
+            String label = readString(in);
+            String source = readString(in);
+            String formula = readString(in);
+            if (operation == null || operation == CombatLogStep.Operation.CUSTOM) {
+                builder.step(new CombatLogStep(label, before, after, formula));
+            } else {
+                builder.step(new CombatLogStep(label, stat, before, after, operation, operand, source));
+            }
+        }
+        return builder.build();
+    }
+
+    private static DamageCause resolveCause(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            int index = DamageCause.getAssetMap().getIndex(id);
+            return index < 0 ? null : DamageCause.getAssetMap().getAsset(index);
+        } catch (RuntimeException | LinkageError e) {
+            // Offline tools run without the asset store.
+            return null;
+        }
+    }
+
+    private static byte ordinalOf(Enum<?> value) {
+        return value == null ? 0 : (byte) (value.ordinal() + 1);
+    }
+
+    private static <E> E valueOf(E[] values, byte stored) {
+        int index = stored - 1;
+        return index < 0 || index >= values.length ? null : values[index];
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, Short.MAX_VALUE);
+        out.putShort((short) length);
+        out.put(bytes, 0, length);
+    }
+
+    private static String readString(ByteBuffer in) {
+        short length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeNames(ByteBuffer out, Enum<?>[] values) {
+        out.putShort((short) values.length);
+        for (Enum<?> value : values) {
+            writeString(out, value.name());
+        }
+    }
+
+    /**
+     * Map the stored name table onto the current enum constants, so segments
+     * stay readable if constants are added or reordered.
+     */
+    private static <E extends Enum<E>> E[] readNames(ByteBuffer in, Class<E> type) {
+        int count = in.getShort();
+        E[] result = Arrays.copyOf(type.getEnumConstants(), count);
+        for (int i = 0; i < count; i++) {
+            String name = readString(in);
+            E value = null;
+            for (E constant : type.getEnumConstants()) {
+                if (constant.name().equals(name)) {
+                    value = constant;
+                    break;
+                }
+            }
+            result[i] = value;
+        }
+        return result;
+    }
+
+    private static final class OffsetList {
+        private int[] values;
+        private int size;
+
+        OffsetList() {
+            this(16);
+        }
+
+        OffsetList(int capacity) {
+            this.values = new int[Math.max(1, capacity)];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> result = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return result;
+        }
+        try (var stream = Files.list(directory)) {
+            stream.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .forEach(result::add);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+package com.talania.core.debug.combat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read-only access to combat log segments written by {@link CombatLogSegmentStore}.
+ *
+ * <p>Intended for offline tools and post-mortems; it does not need a running
+ * server. Damage causes are only resolved when the asset store is loaded.</p>
+ *
+ * <pre>{@code
+ * try (CombatLogSegmentReader reader = CombatLogSegmentReader.open(Path.of("combat-log"))) {
+ *     for (CombatLogEntry entry : reader.query(playerId, from, to, 500)) {
+ *         System.out.println(CombatLogFormatter.summary(entry));
+ *     }
+ * }
+ * }</pre>
+ */
+public final class CombatLogSegmentReader implements Closeable {
+    private final List<CombatLogSegment> segments;
+
+    private CombatLogSegmentReader(List<CombatLogSegment> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Open every readable segment in a directory. Unreadable segments are skipped.
+     */
+    public static CombatLogSegmentReader open(Path directory) throws IOException {
+        List<CombatLogSegment> segments = new ArrayList<>();
+        for (Path path : CombatLogSegment.listSegments(directory)) {
+            try {
+                segments.add(CombatLogSegment.open(path));
+            } catch (IOException e) {
+                System.err.println("[TalaniaDebug] Skipping unreadable combat log segment " + path
+                        + ": " + e.getMessage());
+            }
+        }
+        return new CombatLogSegmentReader(Collections.unmodifiableList(segments));
+    }
+
+    /**
+     * Entries involving a player between two epoch-millisecond timestamps
+     * (inclusive), oldest first, at most {@code limit}.
+     */
+    public List<CombatLogEntry> query(UUID playerId, long fromMillis, long toMillis, int limit) {
+        if (playerId == null || limit <= 0) {
+            return List.of();
+        }
+        return CombatLogSegmentStore.collect(segments, playerId, fromMillis, toMillis, limit);
+    }
+
+    /**
+     * Every player that appears in at least one segment.
+     */
+    public Set<UUID> players() {
+        Set<UUID> players = new HashSet<>();
+        for (CombatLogSegment segment : segments) {
+            players.addAll(segment.players());
+        }
+        return players;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public long recordCount() {
+        long count = 0;
+        for (CombatLogSegment segment : segments) {
+            count += segment.recordCount();
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (CombatLogSegment segment : segments) {
+            segment.close();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.talania.core.debug.combat;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CombatLogSink} that appends entries to rolling memory-mapped segment
+ * files, keeping hours of combat history off the heap.
+ *
+ * <p>Each segment is a fixed-size file named {@code combat-<sequence>.seg}.
+ * When a record does not fit, the segment is sealed (flushed, and its player
+ * index written next to it) and a new one is started. Only the newest
+ * {@code maxSegments} segments are kept.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>{@code
+ * CombatLogSegmentStore store = CombatLogSegmentStore.open(dataDir.resolve("combat-log"), 16 << 20, 32);
+ * TalaniaDebug.combatLog().addSink(store);
+ * List<CombatLogEntry> history = store.query(playerId, from, to, 100);
+ * }</pre>
+ *
+ * <p>Segments from previous runs are loaded read-only so they can be queried;
+ * use {@link CombatLogSegmentReader} to read them without a running server.</p>
+ *
+ * <p>{@link #accept} runs on the world thread, so it never touches the disk
+ * beyond the mapped write: sealing a full segment (flush and index) and
+ * deleting pruned ones happen on a background thread. Queries hold the lock
+ * only to copy the active segment's offsets and decode outside it.</p>
+ *
+ * <p>Sealed and pruned segments close their files once the background thread
+ * is done with them, but their mappings are only released by the garbage
+ * collector (see {@link CombatLogSegment}).</p>
+ */
+public final class CombatLogSegmentStore implements CombatLogSink {
+    private static final int SCRATCH_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final Deque<CombatLogSegment> segments = new ArrayDeque<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(SCRATCH_BYTES);
+    private final ExecutorService sealer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TalaniaDebug-CombatLogSealer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private CombatLogSegment active;
+    private long nextSequence;
+    private long dropped;
+    private boolean closed;
+
+    private CombatLogSegmentStore(Path directory, int segmentBytes, int maxSegments) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+    }
+
+    /**
+     * Open (or create) a segment store in {@code directory}.
+     *
+     * @param segmentBytes size of each segment file
+     * @param maxSegments number of segments to keep, including the active one
+     */
+    public static CombatLogSegmentStore open(Path directory, int segmentBytes, int maxSegments) throws IOException {
+        Files.createDirectories(directory);
+        CombatLogSegmentStore store = new CombatLogSegmentStore(directory,
+                Math.max(SCRATCH_BYTES, segmentBytes), Math.max(1, maxSegments));
+        for (Path path : CombatLogSegment.listSegments(directory)) {
+            store.nextSequence = Math.max(store.nextSequence, sequenceOf(path) + 1);
+            try {
+                store.segments.addLast(CombatLogSegment.open(path));
+            } catch (IOException e) {
+                System.err.println("[TalaniaDebug] Skipping unreadable combat log segment " + path
+                        + ": " + e.getMessage());
+            }
+        }
+        store.roll();
+        return store;
+    }
+
+    @Override
+    public synchronized void accept(CombatLogEntry entry) {
+        if (entry == null || closed) {
+            return;
+        }
+        try {
+            if (active.append(entry, scratch)) {
+                return;
+            }
+            roll();
+            if (!active.append(entry, scratch)) {
+                dropped++;
+            }
+        } catch (BufferOverflowException e) {
+            dropped++;
+        } catch (IOException e) {
+            dropped++;
+            System.err.println("[TalaniaDebug] Failed to roll combat log segment: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Entries involving a player between two epoch-millisecond timestamps
+     * (inclusive), oldest first, at most {@code limit}.
+     */
+    public List<CombatLogEntry> query(UUID playerId, long fromMillis, long toMillis, int limit) {
+        if (playerId == null || limit <= 0) {
+            return List.of();
+        }
+        CombatLogSegment current;
+        int[] activeOffsets;
+        List<CombatLogSegment> older;
+        synchronized (this) {
+            if (closed) {
+                return List.of();
+            }
+            current = active;
+            activeOffsets = current.offsetsOf(playerId);
+            older = new ArrayList<>(segments);
+        }
+        // Sealed segments never change, and the active one is only appended
+        // past the copied offsets, so decoding needs no lock.
+        List<CombatLogEntry> newestFirst = new ArrayList<>();
+        if (activeOffsets != null) {
+            current.collect(activeOffsets, activeOffsets.length, fromMillis, toMillis, limit, newestFirst);
+        }
+        for (int i = older.size() - 1; i >= 0 && newestFirst.size() < limit; i--) {
+            CombatLogSegment segment = older.get(i);
+            if (segment != current) {
+                segment.collect(playerId, fromMillis, toMillis, limit, newestFirst);
+            }
+        }
+        Collections.reverse(newestFirst);
+        return newestFirst;
+    }
+
+    /**
+     * Number of entries that could not be written.
+     */
+    public synchronized long droppedCount() {
+        return dropped;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Seal the active segment and close every segment, after pending
+     * background seals finish.
+     */
+    @Override
+    public void close() {
+        List<CombatLogSegment> remaining;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            remaining = new ArrayList<>(segments);
+            segments.clear();
+            active = null;
+        }
+        sealer.shutdown();
+        try {
+            sealer.awaitTermination(10L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (CombatLogSegment segment : remaining) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                System.err.println("[TalaniaDebug] Failed to seal combat log segment: " + e.getMessage());
+            }
+        }
+    }
+
+    static List<CombatLogEntry> collect(Iterable<CombatLogSegment> oldestFirst, UUID playerId,
+                                        long fromMillis, long toMillis, int limit) {
+        List<CombatLogSegment> ordered = new ArrayList<>();
+        oldestFirst.forEach(ordered::add);
+        List<CombatLogEntry> newestFirst = new ArrayList<>();
+        for (int i = ordered.size() - 1; i >= 0 && newestFirst.size() < limit; i--) {
+            ordered.get(i).collect(playerId, fromMillis, toMillis, limit, newestFirst);
+        }
+        Collections.reverse(newestFirst);
+        return newestFirst;
+    }
+
+    /**
+     * Start a new active segment. The previous one is sealed, and segments
+     * past {@code maxSegments} are deleted, on the background thread.
+     */
+    private void roll() throws IOException {
+        CombatLogSegment previous = active;
+        Path path = directory.resolve(String.format("combat-%010d%s", nextSequence++, CombatLogSegment.SEGMENT_SUFFIX));
+        active = CombatLogSegment.create(path, segmentBytes);
+        segments.addLast(active);
+        List<CombatLogSegment> pruned = prune();
+        if (previous == null && pruned.isEmpty()) {
+            return;
+        }
+        sealer.execute(() -> {
+            if (previous != null) {
+                try {
+                    previous.seal();
+                } catch (IOException e) {
+                    System.err.println("[TalaniaDebug] Failed to seal combat log segment: " + e.getMessage());
+                }
+            }
+            pruned.forEach(CombatLogSegmentStore::delete);
+        });
+    }
+
+    private List<CombatLogSegment> prune() {
+        List<CombatLogSegment> pruned = new ArrayList<>();
+        Iterator<CombatLogSegment> iterator = segments.iterator();
+        while (segments.size() > maxSegments && iterator.hasNext()) {
+            CombatLogSegment oldest = iterator.next();
+            if (oldest == active) {
+                break;
+            }
+            iterator.remove();
+            pruned.add(oldest);
+        }
+        return pruned;
+    }
+
+    private static void delete(CombatLogSegment segment) {
+        try {
+            segment.close();
+            Path path = segment.path();
+            Files.deleteIfExists(path);
+            String name = path.getFileName().toString();
+            Files.deleteIfExists(path.resolveSibling(
+                    name.substring(0, name.length() - CombatLogSegment.SEGMENT_SUFFIX.length())
+                            + CombatLogSegment.INDEX_SUFFIX));
+        } catch (IOException e) {
+            System.err.println("[TalaniaDebug] Failed to delete combat log segment " + segment.path()
+                    + ": " + e.getMessage());
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        int dash = name.lastIndexOf('-');
+        int dot = name.lastIndexOf('.');
+        if (dash < 0 || dot <= dash) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(name.substring(dash + 1, dot));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.talania.core.debug.combat;
+
+/**
+ * Extra destination for combat log entries, registered on {@link CombatLogManager}.
+ *
+ * <p>Sinks are called on the thread that handled the damage event and should
+ * return quickly.</p>
+ */
+public interface CombatLogSink {
+
+    void accept(CombatLogEntry entry);
+
+    /**
+     * Flush and release resources. Called when the sink is removed or on shutdown.
+     */
+    default void close() {
+    }
+}
@@ -30,4 +30,12 @@ public interface EntityAnimationEffect {
      * Whether this effect has finished and should be removed.
      */
     boolean isFinished(long nowMs);
+
+    /**
+     * Time the effect ends on its own, known after {@link #start}. The manager
+     * schedules a timer for it; {@link Long#MAX_VALUE} means no fixed end.
+     */
+    default long endsAtMs() {
+        return Long.MAX_VALUE;
+    }
 }
@@ -2,8 +2,9 @@ package com.talania.core.entities;
 
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.talania.core.utils.time.TimerService;
+import com.talania.core.utils.time.TimerSystem;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -11,7 +12,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * Central manager for timed entity animation effects.
  *
  * <p>Register effects via {@link #add}. The manager will call start/tick/stop
- * and remove finished effects automatically.</p>
+ * and remove finished effects automatically. Effects with a fixed end
+ * ({@link EntityAnimationEffect#endsAtMs()}) are stopped by a timer on the
+ * world's {@link TimerService}.</p>
  */
 public final class EntityAnimationManager {
     private final List<EntityAnimationEffect> effects = new CopyOnWriteArrayList<>();
@@ -33,6 +36,12 @@ public final class EntityAnimationManager {
         }
         effect.start(store, nowMs);
         effects.add(effect);
+        long endsAt = effect.endsAtMs();
+        if (endsAt != Long.MAX_VALUE) {
+            // Compare before subtracting; an end far in the past would overflow.
+            long delayMs = endsAt <= nowMs ? 0L : endsAt - nowMs;
+            TimerSystem.forStore(store).schedule(delayMs, ignored -> expire(effect, store), 0L);
+        }
     }
 
     /**
@@ -55,6 +64,13 @@ public final class EntityAnimationManager {
         }
     }
 
+    private void expire(EntityAnimationEffect effect, Store<EntityStore> store) {
+        // Already stopped by tick or remove.
+        if (effects.remove(effect)) {
+            effect.stop(store);
+        }
+    }
+
     /**
      * Remove a specific effect and stop it immediately.
      */
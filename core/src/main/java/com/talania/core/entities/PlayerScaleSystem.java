@@ -20,10 +20,16 @@ import com.talania.core.stats.StatsManager;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Applies the PLAYER_SCALE stat to player entities.
+ *
+ * <p>After the first application per player, the stat is only re-read when
+ * {@link StatsManager} reports a PLAYER_SCALE change.</p>
  */
 public final class PlayerScaleSystem extends EntityTickingSystem<EntityStore> {
     private static final Query<EntityStore> QUERY = Query.and(Archetype.of(
@@ -32,6 +38,16 @@ public final class PlayerScaleSystem extends EntityTickingSystem<EntityStore> {
     ));
     private static final float EPSILON = 0.001f;
     private final Map<UUID, Float> lastScale = new HashMap<>();
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    private final Consumer<StatsManager.StatChangeBatch> changeListener = batch -> {
+        if (batch.contains(StatType.PLAYER_SCALE)) {
+            changed.add(batch.getEntityId());
+        }
+    };
+
+    public PlayerScaleSystem() {
+        StatsManager.onStatsChanged(changeListener);
+    }
 
     @Override
     public Query<EntityStore> getQuery() {
@@ -50,8 +66,11 @@ public final class PlayerScaleSystem extends EntityTickingSystem<EntityStore> {
         if (uuid == null) {
             return;
         }
-        float scale = StatsManager.getStat(uuid, StatType.PLAYER_SCALE);
         Float last = lastScale.get(uuid);
+        if (last != null && !changed.remove(uuid)) {
+            return;
+        }
+        float scale = StatsManager.getStat(uuid, StatType.PLAYER_SCALE);
         if (last != null && Math.abs(last - scale) <= EPSILON) {
             return;
         }
@@ -70,6 +89,15 @@ public final class PlayerScaleSystem extends EntityTickingSystem<EntityStore> {
             return;
         }
         lastScale.remove(playerId);
+        changed.remove(playerId);
+    }
+
+    /**
+     * Stop listening for stat changes. Call on plugin shutdown.
+     */
+    public void shutdown() {
+        StatsManager.removeStatsChangedListener(changeListener);
+        changed.clear();
     }
 
     private boolean applyModelScale(Ref<EntityStore> ref, Store<EntityStore> store,
@@ -12,7 +12,7 @@ public final class SwordOrbitEffect implements EntityAnimationEffect {
     private final SwordOrbit orbit;
     private final long durationMs;
 
-    private long endAtMs;
+    private long endAtMs = Long.MAX_VALUE;
     private boolean invalidated;
 
     public SwordOrbitEffect(Ref<EntityStore> targetRef, SwordOrbit orbit, long durationMs) {
@@ -24,7 +24,7 @@ public final class SwordOrbitEffect implements EntityAnimationEffect {
     @Override
     public void start(Store<EntityStore> store, long nowMs) {
         if (orbit == null || store == null || targetRef == null || !targetRef.isValid()) {
-            invalidated = true;
+            invalidate(nowMs);
             return;
         }
         orbit.start(nowMs);
@@ -35,7 +35,7 @@ public final class SwordOrbitEffect implements EntityAnimationEffect {
     @Override
     public void tick(Store<EntityStore> store, long nowMs) {
         if (orbit == null || store == null || targetRef == null || !targetRef.isValid()) {
-            invalidated = true;
+            invalidate(nowMs);
             return;
         }
         orbit.update(targetRef, store, nowMs);
@@ -48,8 +48,23 @@ public final class SwordOrbitEffect implements EntityAnimationEffect {
         }
     }
 
+    /**
+     * End time, or the time the effect was invalidated if that came first.
+     */
+    @Override
+    public long endsAtMs() {
+        return endAtMs;
+    }
+
     @Override
     public boolean isFinished(long nowMs) {
         return invalidated || durationMs <= 0L || nowMs >= endAtMs;
     }
+
+    private void invalidate(long nowMs) {
+        if (!invalidated) {
+            invalidated = true;
+            endAtMs = Math.min(endAtMs, nowMs);
+        }
+    }
 }
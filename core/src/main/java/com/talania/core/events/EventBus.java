@@ -1,15 +1,22 @@
 package com.talania.core.events;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
  * Simple event bus for inter-module communication.
  * 
  * <p>Provides a publish-subscribe pattern for loose coupling between
- * components. Supports prioritized listeners and event cancellation.
+ * components. Supports prioritized listeners, event cancellation and
+ * listeners on supertypes or interfaces of the published event.
  * 
  * <p>Usage:
  * <pre>{@code
@@ -26,14 +33,38 @@ import java.util.function.Consumer;
  * if (!event.isCancelled()) {
  *     // Apply damage
  * }
+ *
+ * // Observe off the world thread
+ * EventBus.subscribe(CombatLogEvent.class, analytics::record,
+ *         EventBus.EventPriority.MONITOR, EventBus.DeliveryMode.ASYNC);
  * }</pre>
+ *
+ * <p>{@link DeliveryMode#ASYNC} and {@link DeliveryMode#BATCHED} listeners
+ * receive events through a bounded queue and cannot cancel them. Batched
+ * listeners are drained by {@link #flushBatched()}, which the runtime's
+ * {@link com.talania.core.utils.time.GlobalTicker} calls once per server
+ * tick, always on the same thread.</p>
+ *
+ * <p>The static methods operate on the global {@link EventChannel}. Worlds
+ * and modules have child channels ({@link #forWorld(String)},
+ * {@link #forModule(String)}) whose events bubble up to the global one.</p>
  * 
  * @author TalaniaCore Team
  * @since 0.1.0
  */
 public final class EventBus {
 
-    private static final Map<Class<?>, List<ListenerEntry<?>>> listeners = new ConcurrentHashMap<>();
+    private static final Object lock = new Object();
+    private static final EventChannel GLOBAL = EventChannel.create("global");
+    private static final List<QueuedListener> batchedListeners = new CopyOnWriteArrayList<>();
+
+    /** Default queue size for async and batched subscriptions. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private static volatile ExecutorService asyncExecutor;
+    private static volatile boolean metricsEnabled = true;
+    private static volatile int metricsSampleRate = 16;
+    private static volatile BiConsumer<Object, Throwable> errorHandler = EventBus::printError;
 
     private EventBus() {}
 
@@ -48,7 +79,7 @@ public final class EventBus {
      * @return A registration that can be used to unsubscribe
      */
     public static <T> EventRegistration subscribe(Class<T> eventType, Consumer<T> handler) {
-        return subscribe(eventType, handler, Priority.NORMAL);
+        return subscribe(eventType, handler, EventPriority.NORMAL);
     }
 
     /**
@@ -57,17 +88,44 @@ public final class EventBus {
      * 
      * @param eventType The event class to listen for
      * @param handler The handler to call
-     * @param priority Execution priority (use EventPriority for new code)
+     * @param priority Execution priority
      * @param <T> Event type
      * @return A registration that can be used to unsubscribe
      */
     public static <T> EventRegistration subscribe(Class<T> eventType, Consumer<T> handler, EventPriority priority) {
-        return subscribe(eventType, handler, priority.toLegacy());
+        return register(eventType, handler, priority, DeliveryMode.SYNC, 0);
+    }
+
+    /**
+     * Subscribe with a priority and delivery mode.
+     *
+     * @param eventType The event class to listen for
+     * @param handler The handler to call
+     * @param priority Execution priority
+     * @param mode How events reach the handler
+     * @param <T> Event type
+     * @return A registration that can be used to unsubscribe
+     */
+    public static <T> EventRegistration subscribe(Class<T> eventType, Consumer<T> handler,
+                                                  EventPriority priority, DeliveryMode mode) {
+        return subscribe(eventType, handler, priority, mode, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Subscribe with a priority, delivery mode and queue capacity. The
+     * capacity is ignored for {@link DeliveryMode#SYNC}.
+     */
+    public static <T> EventRegistration subscribe(Class<T> eventType, Consumer<T> handler,
+                                                  EventPriority priority, DeliveryMode mode, int queueCapacity) {
+        return register(eventType, handler, priority, mode, queueCapacity);
     }
 
     /**
      * Subscribe with a specific priority (legacy).
      * Higher priority listeners are called first.
+     *
+     * <p>The listener also receives subclasses of {@code eventType}, and
+     * {@code eventType} may be an interface.</p>
      * 
      * @param eventType The event class to listen for
      * @param handler The handler to call
@@ -78,53 +136,88 @@ public final class EventBus {
      */
     @Deprecated
     public static <T> EventRegistration subscribe(Class<T> eventType, Consumer<T> handler, Priority priority) {
-        Objects.requireNonNull(eventType, "eventType cannot be null");
-        Objects.requireNonNull(handler, "handler cannot be null");
+        return register(eventType, handler, priority != null ? EventPriority.fromLegacy(priority) : null,
+                DeliveryMode.SYNC, 0);
+    }
 
-        ListenerEntry<T> entry = new ListenerEntry<>(eventType, handler, priority);
-        
-        listeners.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>())
-                 .add(entry);
-        
-        // Sort by priority (higher first)
-        sortListeners(eventType);
+    private static <T> EventRegistration register(Class<T> eventType, Consumer<T> handler, EventPriority priority,
+                                                  DeliveryMode mode, int queueCapacity) {
+        return GLOBAL.register(null, eventType, handler, priority, mode, queueCapacity);
+    }
+
+    /**
+     * Subscribe on the global channel on behalf of an owner. Remove all of the
+     * owner's listeners, on every channel, with {@link #unsubscribeOwner(Object)}.
+     */
+    public static <T> EventRegistration subscribe(Object owner, Class<T> eventType, Consumer<T> handler,
+                                                  EventPriority priority) {
+        return GLOBAL.subscribe(owner, eventType, handler, priority);
+    }
+
+    /**
+     * Owner-tagged subscription with every option.
+     */
+    public static <T> EventRegistration subscribe(Object owner, Class<T> eventType, Consumer<T> handler,
+                                                  EventPriority priority, DeliveryMode mode, int queueCapacity) {
+        return GLOBAL.subscribe(owner, eventType, handler, priority, mode, queueCapacity);
+    }
 
-        return new EventRegistration(eventType, entry);
+    // ==================== CHANNELS ====================
+
+    /**
+     * The root channel that the static methods of this class operate on.
+     */
+    public static EventChannel global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Channel for one world. Events published here reach the world's own
+     * listeners, then bubble to the global channel.
+     */
+    public static EventChannel forWorld(String worldName) {
+        if (worldName == null || worldName.isEmpty()) {
+            return GLOBAL;
+        }
+        return GLOBAL.child("world:" + worldName, EventChannel.Propagation.BUBBLE);
+    }
+
+    /**
+     * Drop a world's channel and its listeners. The core runtime calls this
+     * when a world is removed.
+     */
+    public static void removeWorld(String worldName) {
+        if (worldName != null) {
+            GLOBAL.removeChild("world:" + worldName);
+        }
+    }
+
+    /**
+     * Channel for one module. Events bubble to the global channel.
+     */
+    public static EventChannel forModule(String moduleId) {
+        if (moduleId == null || moduleId.isEmpty()) {
+            return GLOBAL;
+        }
+        return GLOBAL.child("module:" + moduleId, EventChannel.Propagation.BUBBLE);
     }
 
     // ==================== PUBLISH ====================
 
     /**
      * Publish an event to all registered listeners.
+     *
+     * <p>Listeners registered on the event's class, any superclass or any
+     * implemented interface are called in priority order. The handler array
+     * for each concrete class is built once and reused until the
+     * subscriptions change.</p>
      * 
      * @param event The event to publish
      * @param <T> Event type
      * @return The event (possibly modified by listeners)
      */
-    @SuppressWarnings("unchecked")
     public static <T> T publish(T event) {
-        if (event == null) return null;
-
-        Class<?> eventType = event.getClass();
-        List<ListenerEntry<?>> eventListeners = listeners.get(eventType);
-
-        if (eventListeners != null) {
-            for (ListenerEntry<?> entry : eventListeners) {
-                try {
-                    ((Consumer<T>) entry.handler).accept(event);
-                    
-                    // Stop if event is cancelled and cancellable
-                    if (event instanceof Cancellable && ((Cancellable) event).isCancelled()) {
-                        break;
-                    }
-                } catch (Exception e) {
-                    System.err.println("[TalaniaCore] Event handler error: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }
-        }
-
-        return event;
+        return GLOBAL.publish(event);
     }
 
     /**
@@ -138,6 +231,113 @@ public final class EventBus {
         return event.isCancelled();
     }
 
+    /**
+     * Deliver events queued for {@link DeliveryMode#BATCHED} listeners on the
+     * calling thread.
+     *
+     * <p>The bus is global, so drive this from a single owner once per server
+     * tick rather than from a per-world system, which would run it once per
+     * world on different threads.</p>
+     *
+     * @return number of events delivered
+     */
+    public static int flushBatched() {
+        int delivered = 0;
+        for (QueuedListener listener : batchedListeners) {
+            delivered += listener.flush();
+        }
+        return delivered;
+    }
+
+    /**
+     * Handle exceptions thrown by listeners. Defaults to printing to stderr.
+     *
+     * @param handler receives the event and the exception; null restores the default
+     */
+    public static void setErrorHandler(BiConsumer<Object, Throwable> handler) {
+        errorHandler = handler != null ? handler : EventBus::printError;
+    }
+
+    // ==================== METRICS ====================
+
+    /**
+     * Turn per-listener metrics on or off. On by default.
+     */
+    public static void setMetricsEnabled(boolean enabled) {
+        metricsEnabled = enabled;
+    }
+
+    public static boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * Time one in {@code everyN} invocations (1 times every call). Invocations
+     * and errors are always counted while metrics are enabled.
+     */
+    public static void setMetricsSampleRate(int everyN) {
+        metricsSampleRate = Math.max(1, everyN);
+    }
+
+    public static int metricsSampleRate() {
+        return metricsSampleRate;
+    }
+
+    /**
+     * Metrics of every current subscription, on every channel.
+     */
+    public static List<ListenerMetrics> metrics() {
+        List<ListenerMetrics> result = new ArrayList<>();
+        GLOBAL.collectMetrics(result);
+        return result;
+    }
+
+    /**
+     * Subscriptions with the highest estimated total handler time.
+     */
+    public static List<ListenerMetrics> topListeners(int limit) {
+        List<ListenerMetrics> all = metrics();
+        all.sort(Comparator.comparingLong(ListenerMetrics::estimatedTotalNanos).reversed()
+                .thenComparing(Comparator.comparingLong(ListenerMetrics::errors).reversed()));
+        return all.size() > limit ? new ArrayList<>(all.subList(0, Math.max(0, limit))) : all;
+    }
+
+    public static void resetMetrics() {
+        for (ListenerMetrics metrics : metrics()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Stop the async executor, waiting briefly for queued deliveries.
+     */
+    public static void shutdownAsync() {
+        ExecutorService executor;
+        synchronized (lock) {
+            executor = asyncExecutor;
+            asyncExecutor = null;
+        }
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Number of global listeners that would receive an event of this class,
+     * including listeners on its supertypes. Publishers can use this to
+     * skip building events nobody receives; for world events use
+     * {@link EventChannel#listenerCount(Class)} on the world channel.
+     */
+    public static int listenerCount(Class<?> eventType) {
+        return GLOBAL.listenerCount(eventType);
+    }
+
     // ==================== UNSUBSCRIBE ====================
 
     /**
@@ -145,33 +345,95 @@ public final class EventBus {
      */
     public static void unsubscribe(EventRegistration registration) {
         if (registration == null) return;
-        
-        List<ListenerEntry<?>> eventListeners = listeners.get(registration.eventType);
-        if (eventListeners != null) {
-            eventListeners.remove(registration.entry);
-        }
+        registration.unsubscribe();
     }
 
     /**
-     * Unsubscribe all listeners for an event type.
+     * Unsubscribe all global listeners for an event type.
      */
     public static void unsubscribeAll(Class<?> eventType) {
-        listeners.remove(eventType);
+        GLOBAL.unsubscribeAll(eventType);
     }
 
     /**
-     * Clear all listeners.
+     * Remove every listener registered by {@code owner} on any channel.
+     *
+     * @return number of listeners removed
      */
+    public static int unsubscribeOwner(Object owner) {
+        return GLOBAL.unsubscribeOwner(owner);
+    }
+
+    /**
+     * Clear all listeners on every channel.
+     * @deprecated Removes other modules' listeners too; use {@link #unsubscribeOwner(Object)}
+     */
+    @Deprecated
     public static void clear() {
-        listeners.clear();
+        GLOBAL.clear();
     }
 
     // ==================== INTERNAL ====================
 
-    private static void sortListeners(Class<?> eventType) {
-        List<ListenerEntry<?>> list = listeners.get(eventType);
-        if (list != null && list.size() > 1) {
-            list.sort(Comparator.comparingInt((ListenerEntry<?> e) -> e.priority.ordinal()).reversed());
+    static void invoke(Consumer<Object> handler, Object event, ListenerMetrics metrics) {
+        if (metrics == null || !metricsEnabled) {
+            try {
+                handler.accept(event);
+            } catch (Exception e) {
+                if (metrics != null) {
+                    metrics.recordError();
+                }
+                errorHandler.accept(event, e);
+            }
+            return;
+        }
+        metrics.recordCall();
+        int rate = metricsSampleRate;
+        boolean timed = rate <= 1 || ThreadLocalRandom.current().nextInt(rate) == 0;
+        long start = timed ? System.nanoTime() : 0L;
+        try {
+            handler.accept(event);
+        } catch (Exception e) {
+            metrics.recordError();
+            errorHandler.accept(event, e);
+        } finally {
+            if (timed) {
+                metrics.recordTiming(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static void printError(Object event, Throwable error) {
+        System.err.println("[TalaniaCore] Event handler error: " + error.getMessage());
+        error.printStackTrace();
+    }
+
+    static void registerBatched(QueuedListener listener) {
+        batchedListeners.add(listener);
+    }
+
+    static void unregisterBatched(QueuedListener listener) {
+        batchedListeners.remove(listener);
+    }
+
+    static ExecutorService asyncExecutor() {
+        ExecutorService executor = asyncExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        synchronized (lock) {
+            if (asyncExecutor == null) {
+                int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+                AtomicInteger counter = new AtomicInteger();
+                // One drain task per listener at most, so the work queue stays small.
+                asyncExecutor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(), runnable -> {
+                            Thread thread = new Thread(runnable, "talania-events-" + counter.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+            }
+            return asyncExecutor;
         }
     }
 
@@ -205,17 +467,24 @@ public final class EventBus {
         /** Monitor priority - should not modify events, only observe */
         MONITOR;
 
-        /** Convert to legacy Priority enum */
-        Priority toLegacy() {
-            return Priority.valueOf(this.name());
-        }
-
         /** Convert from legacy Priority enum */
         static EventPriority fromLegacy(Priority p) {
             return EventPriority.valueOf(p.name());
         }
     }
 
+    /**
+     * How a subscription receives events.
+     */
+    public enum DeliveryMode {
+        /** Called on the publishing thread, in priority order. Can cancel. */
+        SYNC,
+        /** Queued and delivered on a small shared executor. */
+        ASYNC,
+        /** Queued and delivered by {@link EventBus#flushBatched()} once per server tick. */
+        BATCHED
+    }
+
     /**
      * Interface for cancellable events.
      */
@@ -228,28 +497,56 @@ public final class EventBus {
      * Registration handle for unsubscribing.
      */
     public static class EventRegistration {
-        private final Class<?> eventType;
-        private final ListenerEntry<?> entry;
+        private final EventChannel channel;
+        final Class<?> eventType;
+        final EventChannel.ListenerEntry<?> entry;
 
-        private EventRegistration(Class<?> eventType, ListenerEntry<?> entry) {
+        EventRegistration(EventChannel channel, Class<?> eventType, EventChannel.ListenerEntry<?> entry) {
+            this.channel = channel;
             this.eventType = eventType;
             this.entry = entry;
         }
 
         public void unsubscribe() {
-            EventBus.unsubscribe(this);
+            channel.unsubscribe(this);
         }
-    }
 
-    private static class ListenerEntry<T> {
-        final Class<T> eventType;
-        final Consumer<T> handler;
-        final Priority priority;
+        /** False once the listener has been removed by any unsubscribe path. */
+        public boolean isActive() {
+            return entry.active;
+        }
 
-        ListenerEntry(Class<T> eventType, Consumer<T> handler, Priority priority) {
-            this.eventType = eventType;
-            this.handler = handler;
-            this.priority = priority != null ? priority : Priority.NORMAL;
+        /** Channel the listener is registered on. */
+        public EventChannel channel() {
+            return channel;
+        }
+
+        /** Owner passed at subscription, or null. */
+        public Object owner() {
+            return entry.owner;
+        }
+
+        public DeliveryMode deliveryMode() {
+            return entry.queued != null ? entry.queued.mode() : DeliveryMode.SYNC;
+        }
+
+        /** Events waiting in the queue (always 0 for SYNC). */
+        public int pendingCount() {
+            return entry.queued != null ? entry.queued.pending() : 0;
+        }
+
+        /** Events delivered from the queue (always 0 for SYNC). */
+        public long deliveredCount() {
+            return entry.queued != null ? entry.queued.delivered() : 0L;
+        }
+
+        public ListenerMetrics metrics() {
+            return entry.metrics;
+        }
+
+        /** Events dropped because the queue was full (always 0 for SYNC). */
+        public long droppedCount() {
+            return entry.queued != null ? entry.queued.dropped() : 0L;
         }
     }
 }
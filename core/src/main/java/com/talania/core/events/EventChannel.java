@@ -0,0 +1,474 @@
+package com.talania.core.events;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * One event bus instance: its own listeners, dispatch cache and child channels.
+ *
+ * <p>{@link EventBus} wraps the global channel; per-world and per-module
+ * channels are children of it (see {@link EventBus#forWorld(String)} and
+ * {@link EventBus#forModule(String)}). A child with {@link Propagation#BUBBLE}
+ * delivers an event to its own listeners first and then to its parent's, so
+ * world-local listeners only see their world while global listeners still
+ * see everything. A {@link Propagation#LOCAL} child keeps events to itself.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>{@code
+ * EventChannel world = EventBus.forWorld(worldName);
+ * world.subscribe(this, NpcDeathEvent.class, this::onNpcDeath, EventBus.EventPriority.NORMAL);
+ * world.publish(new NpcDeathEvent(...));
+ * EventBus.unsubscribeOwner(this); // on unload
+ * }</pre>
+ */
+public final class EventChannel {
+
+    /**
+     * What happens to an event after this channel's listeners ran.
+     */
+    public enum Propagation {
+        /** Only this channel's listeners receive events published here. */
+        LOCAL,
+        /** Events continue to the parent channel (unless cancelled). */
+        BUBBLE
+    }
+
+    private final String name;
+    private final EventChannel parent;
+    private final Propagation propagation;
+    private final Object lock = new Object();
+    private final Map<Class<?>, List<ListenerEntry<?>>> listeners = new HashMap<>();
+    /** Compiled handler arrays per concrete event class; cleared on any subscription change. */
+    private final Map<Class<?>, Dispatch> dispatchCache = new ConcurrentHashMap<>();
+    private final Map<String, EventChannel> children = new ConcurrentHashMap<>();
+    private long nextSequence;
+
+    private EventChannel(String name, EventChannel parent, Propagation propagation) {
+        this.name = name;
+        this.parent = parent;
+        this.propagation = propagation != null ? propagation : Propagation.BUBBLE;
+    }
+
+    /**
+     * Create a standalone channel with no parent.
+     */
+    public static EventChannel create(String name) {
+        return new EventChannel(name, null, Propagation.LOCAL);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public EventChannel parent() {
+        return parent;
+    }
+
+    public Propagation propagation() {
+        return propagation;
+    }
+
+    // ==================== CHILDREN ====================
+
+    /**
+     * Get or create a bubbling child channel.
+     */
+    public EventChannel child(String childName) {
+        return child(childName, Propagation.BUBBLE);
+    }
+
+    /**
+     * Get or create a child channel. If the child already exists its
+     * propagation is left unchanged.
+     */
+    public EventChannel child(String childName, Propagation childPropagation) {
+        Objects.requireNonNull(childName, "childName cannot be null");
+        return children.computeIfAbsent(childName, n -> new EventChannel(n, this, childPropagation));
+    }
+
+    /**
+     * Existing child channel, or null.
+     */
+    public EventChannel findChild(String childName) {
+        return childName == null ? null : children.get(childName);
+    }
+
+    /**
+     * Detach a child and drop all of its listeners (and its children's).
+     */
+    public void removeChild(String childName) {
+        EventChannel child = childName == null ? null : children.remove(childName);
+        if (child != null) {
+            child.clear();
+        }
+    }
+
+    public Collection<EventChannel> children() {
+        return Collections.unmodifiableCollection(children.values());
+    }
+
+    // ==================== SUBSCRIBE ====================
+
+    public <T> EventBus.EventRegistration subscribe(Class<T> eventType, Consumer<T> handler) {
+        return register(null, eventType, handler, EventBus.EventPriority.NORMAL, EventBus.DeliveryMode.SYNC, 0);
+    }
+
+    public <T> EventBus.EventRegistration subscribe(Class<T> eventType, Consumer<T> handler,
+                                                    EventBus.EventPriority priority) {
+        return register(null, eventType, handler, priority, EventBus.DeliveryMode.SYNC, 0);
+    }
+
+    public <T> EventBus.EventRegistration subscribe(Class<T> eventType, Consumer<T> handler,
+                                                    EventBus.EventPriority priority, EventBus.DeliveryMode mode) {
+        return register(null, eventType, handler, priority, mode, EventBus.DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Subscribe on behalf of an owner, so all of the owner's listeners can be
+     * removed with {@link #unsubscribeOwner(Object)}.
+     */
+    public <T> EventBus.EventRegistration subscribe(Object owner, Class<T> eventType, Consumer<T> handler,
+                                                    EventBus.EventPriority priority) {
+        return register(owner, eventType, handler, priority, EventBus.DeliveryMode.SYNC, 0);
+    }
+
+    /**
+     * Subscribe with every option.
+     *
+     * @param owner registration owner, or null
+     * @param queueCapacity queue size for ASYNC/BATCHED delivery (ignored for SYNC)
+     */
+    public <T> EventBus.EventRegistration subscribe(Object owner, Class<T> eventType, Consumer<T> handler,
+                                                    EventBus.EventPriority priority, EventBus.DeliveryMode mode,
+                                                    int queueCapacity) {
+        return register(owner, eventType, handler, priority, mode, queueCapacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> EventBus.EventRegistration register(Object owner, Class<T> eventType, Consumer<T> handler,
+                                            EventBus.EventPriority priority, EventBus.DeliveryMode mode,
+                                            int queueCapacity) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        Objects.requireNonNull(handler, "handler cannot be null");
+
+        EventBus.DeliveryMode resolvedMode = mode != null ? mode : EventBus.DeliveryMode.SYNC;
+        ListenerMetrics metrics = new ListenerMetrics(eventType, handler, resolvedMode);
+        QueuedListener queued = null;
+        if (resolvedMode != EventBus.DeliveryMode.SYNC) {
+            queued = new QueuedListener((Consumer<Object>) handler, resolvedMode, queueCapacity, metrics);
+        }
+        ListenerEntry<T> entry;
+        synchronized (lock) {
+            entry = new ListenerEntry<>(owner, eventType, handler, priority, nextSequence++, queued, metrics);
+            listeners.computeIfAbsent(eventType, k -> new ArrayList<>()).add(entry);
+            dispatchCache.clear();
+        }
+        if (queued != null && resolvedMode == EventBus.DeliveryMode.BATCHED) {
+            EventBus.registerBatched(queued);
+        }
+
+        return new EventBus.EventRegistration(this, eventType, entry);
+    }
+
+    // ==================== PUBLISH ====================
+
+    /**
+     * Publish an event to this channel and, while it bubbles, its parents.
+     *
+     * <p>Listeners registered on the event's class, any superclass or any
+     * implemented interface are called in priority order. The handler array
+     * for each concrete class is built once and reused until the
+     * subscriptions change.</p>
+     *
+     * @return the event (possibly modified by listeners)
+     */
+    public <T> T publish(T event) {
+        if (event == null) return null;
+
+        EventChannel channel = this;
+        while (channel != null) {
+            if (channel.dispatch(event)) {
+                break;
+            }
+            if (channel.propagation != Propagation.BUBBLE) {
+                break;
+            }
+            channel = channel.parent;
+        }
+        return event;
+    }
+
+    /**
+     * Number of listeners that would receive an event of this class when
+     * published here, including supertype listeners and bubbling parents.
+     */
+    public int listenerCount(Class<?> eventType) {
+        if (eventType == null) {
+            return 0;
+        }
+        int count = 0;
+        EventChannel channel = this;
+        while (channel != null) {
+            count += channel.dispatchFor(eventType).handlers.length;
+            if (channel.propagation != Propagation.BUBBLE) {
+                break;
+            }
+            channel = channel.parent;
+        }
+        return count;
+    }
+
+    /**
+     * Whether an event published here would reach listeners of {@code target},
+     * i.e. {@code target} is this channel or a parent it bubbles up to.
+     */
+    public boolean reaches(EventChannel target) {
+        EventChannel channel = this;
+        while (channel != null) {
+            if (channel == target) {
+                return true;
+            }
+            if (channel.propagation != Propagation.BUBBLE) {
+                break;
+            }
+            channel = channel.parent;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the event was cancelled
+     */
+    private boolean dispatch(Object event) {
+        Dispatch dispatch = dispatchFor(event.getClass());
+        Consumer<Object>[] handlers = dispatch.handlers;
+        if (handlers.length == 0) {
+            return dispatch.cancellable && ((EventBus.Cancellable) event).isCancelled();
+        }
+
+        ListenerMetrics[] metrics = dispatch.metrics;
+        if (dispatch.cancellable) {
+            EventBus.Cancellable cancellable = (EventBus.Cancellable) event;
+            for (int i = 0; i < handlers.length; i++) {
+                EventBus.invoke(handlers[i], event, metrics[i]);
+                // Stop once a listener cancels the event
+                if (cancellable.isCancelled()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int i = 0; i < handlers.length; i++) {
+            EventBus.invoke(handlers[i], event, metrics[i]);
+        }
+        return false;
+    }
+
+    // ==================== UNSUBSCRIBE ====================
+
+    void unsubscribe(EventBus.EventRegistration registration) {
+        synchronized (lock) {
+            List<ListenerEntry<?>> eventListeners = listeners.get(registration.eventType);
+            if (eventListeners != null && eventListeners.remove(registration.entry)) {
+                if (eventListeners.isEmpty()) {
+                    listeners.remove(registration.eventType);
+                }
+                dispatchCache.clear();
+                release(registration.entry);
+            }
+        }
+    }
+
+    /**
+     * Unsubscribe all of this channel's listeners for an event type.
+     */
+    public void unsubscribeAll(Class<?> eventType) {
+        synchronized (lock) {
+            List<ListenerEntry<?>> removed = listeners.remove(eventType);
+            if (removed != null) {
+                dispatchCache.clear();
+                removed.forEach(EventChannel::release);
+            }
+        }
+    }
+
+    /**
+     * Remove every listener registered by {@code owner} on this channel and
+     * all of its children.
+     *
+     * @return number of listeners removed
+     */
+    public int unsubscribeOwner(Object owner) {
+        if (owner == null) {
+            return 0;
+        }
+        int removed = 0;
+        synchronized (lock) {
+            Iterator<List<ListenerEntry<?>>> lists = listeners.values().iterator();
+            while (lists.hasNext()) {
+                List<ListenerEntry<?>> entries = lists.next();
+                Iterator<ListenerEntry<?>> iterator = entries.iterator();
+                while (iterator.hasNext()) {
+                    ListenerEntry<?> entry = iterator.next();
+                    if (owner.equals(entry.owner)) {
+                        iterator.remove();
+                        release(entry);
+                        removed++;
+                    }
+                }
+                if (entries.isEmpty()) {
+                    lists.remove();
+                }
+            }
+            if (removed > 0) {
+                dispatchCache.clear();
+            }
+        }
+        for (EventChannel child : children.values()) {
+            removed += child.unsubscribeOwner(owner);
+        }
+        return removed;
+    }
+
+    /**
+     * Remove every listener on this channel and its children. Children stay attached.
+     */
+    public void clear() {
+        synchronized (lock) {
+            listeners.values().forEach(entries -> entries.forEach(EventChannel::release));
+            listeners.clear();
+            dispatchCache.clear();
+        }
+        for (EventChannel child : children.values()) {
+            child.clear();
+        }
+    }
+
+    /**
+     * Metrics of every subscription on this channel and its children.
+     */
+    void collectMetrics(List<ListenerMetrics> out) {
+        synchronized (lock) {
+            for (List<ListenerEntry<?>> entries : listeners.values()) {
+                for (ListenerEntry<?> entry : entries) {
+                    out.add(entry.metrics);
+                }
+            }
+        }
+        for (EventChannel child : children.values()) {
+            child.collectMetrics(out);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return parent == null ? name : parent + "/" + name;
+    }
+
+    // ==================== INTERNAL ====================
+
+    private static void release(ListenerEntry<?> entry) {
+        entry.active = false;
+        if (entry.queued != null) {
+            entry.queued.deactivate();
+            EventBus.unregisterBatched(entry.queued);
+        }
+    }
+
+    private Dispatch dispatchFor(Class<?> eventType) {
+        Dispatch dispatch = dispatchCache.get(eventType);
+        if (dispatch != null) {
+            return dispatch;
+        }
+        synchronized (lock) {
+            // Compiling under the lock keeps a concurrent subscribe from
+            // caching a stale array.
+            dispatch = dispatchCache.get(eventType);
+            if (dispatch == null) {
+                dispatch = compile(eventType);
+                dispatchCache.put(eventType, dispatch);
+            }
+            return dispatch;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Dispatch compile(Class<?> eventType) {
+        List<ListenerEntry<?>> matched = new ArrayList<>();
+        for (Class<?> type : hierarchyOf(eventType)) {
+            List<ListenerEntry<?>> entries = listeners.get(type);
+            if (entries != null) {
+                matched.addAll(entries);
+            }
+        }
+        // Higher priority first, then subscription order
+        matched.sort(Comparator.comparingInt((ListenerEntry<?> e) -> -e.priority.ordinal())
+                .thenComparingLong(e -> e.sequence));
+        Consumer<Object>[] handlers = newHandlerArray(matched.size());
+        ListenerMetrics[] metrics = new ListenerMetrics[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            ListenerEntry<?> entry = matched.get(i);
+            // Queued listeners are measured when drained, not when enqueued.
+            handlers[i] = entry.queued != null ? entry.queued : (Consumer<Object>) entry.handler;
+            metrics[i] = entry.queued != null ? null : entry.metrics;
+        }
+        return new Dispatch(handlers, metrics, EventBus.Cancellable.class.isAssignableFrom(eventType));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Consumer<Object>[] newHandlerArray(int length) {
+        return new Consumer[length];
+    }
+
+    private static Set<Class<?>> hierarchyOf(Class<?> eventType) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(eventType);
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.poll();
+            if (!types.add(type)) {
+                continue;
+            }
+            if (type.getSuperclass() != null) {
+                pending.add(type.getSuperclass());
+            }
+            pending.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        return types;
+    }
+
+    static final class ListenerEntry<T> {
+        final Object owner;
+        final Class<T> eventType;
+        final Consumer<T> handler;
+        final EventBus.EventPriority priority;
+        final long sequence;
+        final QueuedListener queued;
+        final ListenerMetrics metrics;
+        volatile boolean active = true;
+
+        ListenerEntry(Object owner, Class<T> eventType, Consumer<T> handler, EventBus.EventPriority priority,
+                      long sequence, QueuedListener queued, ListenerMetrics metrics) {
+            this.owner = owner;
+            this.eventType = eventType;
+            this.handler = handler;
+            this.priority = priority != null ? priority : EventBus.EventPriority.NORMAL;
+            this.sequence = sequence;
+            this.queued = queued;
+            this.metrics = metrics;
+        }
+    }
+
+    private static final class Dispatch {
+        final Consumer<Object>[] handlers;
+        final ListenerMetrics[] metrics;
+        final boolean cancellable;
+
+        Dispatch(Consumer<Object>[] handlers, ListenerMetrics[] metrics, boolean cancellable) {
+            this.handlers = handlers;
+            this.metrics = metrics;
+            this.cancellable = cancellable;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.talania.core.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing and error counters for one {@link EventBus} subscription.
+ *
+ * <p>Every invocation is counted while metrics are enabled; only sampled
+ * invocations (see {@link EventBus#setMetricsSampleRate(int)}) are timed, so
+ * {@link #estimatedTotalNanos()} extrapolates from the sampled average.</p>
+ */
+public final class ListenerMetrics {
+    private final Class<?> eventType;
+    private final String listener;
+    private final EventBus.DeliveryMode mode;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder errors = new LongAdder();
+
+    ListenerMetrics(Class<?> eventType, Object handler, EventBus.DeliveryMode mode) {
+        this.eventType = eventType;
+        this.listener = describe(handler);
+        this.mode = mode;
+    }
+
+    public Class<?> eventType() {
+        return eventType;
+    }
+
+    /**
+     * Handler class name (lambdas show their declaring class).
+     */
+    public String listener() {
+        return listener;
+    }
+
+    public EventBus.DeliveryMode mode() {
+        return mode;
+    }
+
+    public long invocations() {
+        return invocations.sum();
+    }
+
+    public long sampledInvocations() {
+        return sampled.sum();
+    }
+
+    public long sampledNanos() {
+        return sampledNanos.sum();
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public long averageNanos() {
+        long count = sampled.sum();
+        return count == 0 ? 0L : sampledNanos.sum() / count;
+    }
+
+    /**
+     * Average sampled time multiplied by the invocation count.
+     */
+    public long estimatedTotalNanos() {
+        return averageNanos() * invocations.sum();
+    }
+
+    public void reset() {
+        invocations.reset();
+        sampled.reset();
+        sampledNanos.reset();
+        maxNanos.set(0L);
+        errors.reset();
+    }
+
+    @Override
+    public String toString() {
+        return eventType.getSimpleName() + " <- " + listener
+                + " [" + mode + "] calls=" + invocations()
+                + " avg=" + formatMicros(averageNanos())
+                + " max=" + formatMicros(maxNanos())
+                + " total~" + formatMicros(estimatedTotalNanos())
+                + " errors=" + errors();
+    }
+
+    void recordCall() {
+        invocations.increment();
+    }
+
+    void recordTiming(long nanos) {
+        sampled.increment();
+        sampledNanos.add(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    private static String formatMicros(long nanos) {
+        return (nanos / 1000L) + "us";
+    }
+
+    private static String describe(Object handler) {
+        String name = handler.getClass().getName();
+        int lambda = name.indexOf("$$Lambda");
+        return lambda >= 0 ? name.substring(0, lambda) + "::lambda" : name;
+    }
+}
@@ -0,0 +1,139 @@
+package com.talania.core.events;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Listener wrapper for {@link EventBus.DeliveryMode#ASYNC} and
+ * {@link EventBus.DeliveryMode#BATCHED} subscriptions.
+ *
+ * <p>Publishers on any thread enqueue into a bounded multi-producer queue;
+ * a single consumer at a time drains it, so the handler sees events in
+ * publish order and never runs concurrently with itself. Events offered
+ * while the queue is full are dropped and counted.</p>
+ */
+final class QueuedListener implements Consumer<Object> {
+    /** Max events handled per async drain before yielding the executor thread. */
+    private static final int ASYNC_DRAIN_BATCH = 256;
+
+    private final Consumer<Object> handler;
+    private final EventBus.DeliveryMode mode;
+    private final int capacity;
+    private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ListenerMetrics metrics;
+    private volatile boolean active = true;
+
+    QueuedListener(Consumer<Object> handler, EventBus.DeliveryMode mode, int capacity, ListenerMetrics metrics) {
+        this.handler = handler;
+        this.mode = mode;
+        this.capacity = Math.max(1, capacity);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void accept(Object event) {
+        if (!active) {
+            return;
+        }
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.offer(event);
+        if (mode == EventBus.DeliveryMode.ASYNC) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Deliver the events queued so far on the calling thread.
+     *
+     * @return number of events delivered
+     */
+    int flush() {
+        if (!draining.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            // Only what is queued now; events published by handlers wait for the next flush.
+            return drain(size.get());
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    void deactivate() {
+        active = false;
+        Object event;
+        while ((event = queue.poll()) != null) {
+            size.decrementAndGet();
+            dropped.incrementAndGet();
+        }
+    }
+
+    EventBus.DeliveryMode mode() {
+        return mode;
+    }
+
+    int pending() {
+        return size.get();
+    }
+
+    long delivered() {
+        return delivered.get();
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        Executor executor = EventBus.asyncExecutor();
+        try {
+            executor.execute(this::drainAsync);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+        }
+    }
+
+    private void drainAsync() {
+        try {
+            drain(ASYNC_DRAIN_BATCH);
+        } finally {
+            draining.set(false);
+        }
+        if (active && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private int drain(int limit) {
+        int count = 0;
+        Object event;
+        while (count < limit && (event = queue.poll()) != null) {
+            size.decrementAndGet();
+            if (!active) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            EventBus.invoke(handler, event, metrics);
+            delivered.incrementAndGet();
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,40 @@
+package com.talania.core.events;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Resolves the {@link EventChannel} of the world an entity store belongs to.
+ *
+ * <p>ECS systems publish world-local events (combat, deaths, projectiles)
+ * here so per-world listeners only see their own world; global listeners
+ * still receive them because world channels bubble.</p>
+ */
+public final class WorldEvents {
+    private WorldEvents() {}
+
+    /**
+     * Channel for the store's world, or the global channel if the world is unknown.
+     */
+    public static EventChannel channel(Store<EntityStore> store) {
+        if (store == null || store.getExternalData() == null) {
+            return EventBus.global();
+        }
+        return channel(store.getExternalData().getWorld());
+    }
+
+    public static EventChannel channel(World world) {
+        if (world == null) {
+            return EventBus.global();
+        }
+        return EventBus.forWorld(world.getName());
+    }
+
+    /**
+     * Publish on the store's world channel.
+     */
+    public static <T> T publish(Store<EntityStore> store, T event) {
+        return channel(store).publish(event);
+    }
+}
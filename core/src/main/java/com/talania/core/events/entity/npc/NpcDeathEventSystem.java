@@ -17,7 +17,7 @@ import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
 import com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.talania.core.events.EventBus;
+import com.talania.core.events.WorldEvents;
 import com.talania.core.events.entity.NpcDeathEvent;
 import com.talania.core.events.entity.PlayerDeathEvent;
 
@@ -70,9 +70,9 @@ public final class NpcDeathEventSystem extends EntityTickingSystem<EntityStore>
         Ref<EntityStore> targetRef = chunk.getReferenceTo(index);
         UUID targetUuid = uuidFor(store, targetRef);
         if (isPlayer(store, targetRef)) {
-            EventBus.publish(new PlayerDeathEvent(targetRef, targetUuid, damage, death));
+            WorldEvents.publish(store, new PlayerDeathEvent(targetRef, targetUuid, damage, death));
         } else {
-            EventBus.publish(new NpcDeathEvent(targetRef, targetUuid, damage, death));
+            WorldEvents.publish(store, new NpcDeathEvent(targetRef, targetUuid, damage, death));
         }
         commandBuffer.ensureAndGetComponent(targetRef, handledType);
     }
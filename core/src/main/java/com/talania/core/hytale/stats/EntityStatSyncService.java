@@ -7,10 +7,19 @@ import com.hypixel.hytale.server.core.modules.entitystats.modifier.StaticModifie
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.talania.core.stats.EntityStats;
 import com.talania.core.stats.StatType;
+import com.talania.core.stats.StatsManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Bridges Talania stats to Hytale {@code EntityStatMap} via modifiers.
@@ -24,9 +33,10 @@ import java.util.UUID;
  *
  * <p>How to use it:</p>
  * <ul>
- *   <li>Call {@link #applyAll} on player ready / profile load.</li>
- *   <li>Re-apply after stat changes (gear, buffs, leveling).</li>
- *   <li>Call {@link #clearAll} on disconnect if desired.</li>
+ *   <li>Call {@link #applyAll} on player ready / profile load. This also starts tracking the entity.</li>
+ *   <li>Stat changes are picked up automatically from {@link StatsManager#onStatsChanged} and
+ *   pushed by {@link #flushDirty} once per tick, only for rules whose amount moved.</li>
+ *   <li>Call {@link #untrack} (and {@link #clearAll} if desired) on disconnect.</li>
  * </ul>
  *
  * <p>Integration with Hytale:</p>
@@ -38,16 +48,25 @@ import java.util.UUID;
 public final class EntityStatSyncService {
     public static final String DEFAULT_SOURCE_KEY = "talania-core";
 
+    private static final float EPSILON = 0.0001f;
+
     private final EntityStatModifierService modifierService;
     private final Map<StatType, SyncRule> rules = new EnumMap<>(StatType.class);
+    private volatile long syncedMask;
+    private final Map<UUID, Binding> bindings = new ConcurrentHashMap<>();
+    private final Map<Store<EntityStore>, Queue<Binding>> dirtyByStore = new ConcurrentHashMap<>();
+    private final Consumer<StatsManager.StatChangeBatch> changeListener =
+            batch -> markDirty(batch.getEntityId(), batch.getChangedMask());
 
     public EntityStatSyncService(EntityStatModifierService modifierService) {
         this.modifierService = modifierService;
         registerDefaultRules();
+        StatsManager.onStatsChanged(changeListener);
     }
 
     public void registerRule(StatType statType, SyncRule rule) {
         rules.put(statType, rule);
+        syncedMask |= 1L << statType.ordinal();
     }
 
     public void applyAll(Ref<EntityStore> ref, Store<EntityStore> store, UUID entityId, EntityStats stats) {
@@ -58,19 +77,182 @@ public final class EntityStatSyncService {
         if (statMap == null) {
             return;
         }
+        Binding binding = entityId != null ? track(ref, store, entityId) : null;
         for (Map.Entry<StatType, SyncRule> entry : rules.entrySet()) {
             StatType statType = entry.getKey();
             SyncRule rule = entry.getValue();
             float value = stats.get(statType);
             float amount = rule.toAmount(value, statType);
-            modifierService.applyMaxModifier(
+            boolean applied = modifierService.applyMaxModifier(
                     statMap,
                     rule.targetId,
                     amount,
                     rule.calculationType,
                     rule.sourceKey
             );
+            if (binding != null && applied) {
+                binding.lastAmounts[statType.ordinal()] = amount;
+            }
+        }
+    }
+
+    /**
+     * Push pending stat changes for every tracked entity in this store.
+     *
+     * <p>Only rules whose amount differs from the last pushed amount touch the
+     * {@code EntityStatMap}. Must run on the store's world thread.</p>
+     *
+     * <p>Also drops tracked entities whose ref is no longer valid and the
+     * queues of stores with nothing left to flush, so removed worlds and
+     * despawned entities are not kept alive.</p>
+     *
+     * @return Number of modifiers written
+     */
+    public int flushDirty(Store<EntityStore> store) {
+        if (store == null) {
+            return 0;
         }
+        Queue<Binding> queue = dirtyByStore.get(store);
+        int written = queue != null ? flushQueue(store, queue) : 0;
+        pruneQueues();
+        return written;
+    }
+
+    private int flushQueue(Store<EntityStore> store, Queue<Binding> queue) {
+        int written = 0;
+        List<Binding> retry = null;
+        Binding binding;
+        while ((binding = queue.poll()) != null) {
+            if (!binding.ref.isValid()) {
+                binding.pending.set(0L);
+                drop(binding);
+                continue;
+            }
+            if (bindings.get(binding.entityId) != binding) {
+                binding.pending.set(0L);
+                continue;
+            }
+            EntityStats stats = StatsManager.get(binding.entityId);
+            EntityStatMap statMap = stats != null
+                    ? (EntityStatMap) store.getComponent(binding.ref, EntityStatMap.getComponentType())
+                    : null;
+            if (statMap == null) {
+                // Not ready yet (e.g. still spawning): keep the pending bits and try next tick.
+                if (retry == null) {
+                    retry = new ArrayList<>();
+                }
+                retry.add(binding);
+                continue;
+            }
+            long mask = binding.pending.getAndSet(0L);
+            if (mask == 0L) {
+                continue;
+            }
+            for (Map.Entry<StatType, SyncRule> entry : rules.entrySet()) {
+                StatType statType = entry.getKey();
+                int index = statType.ordinal();
+                if ((mask & (1L << index)) == 0L) {
+                    continue;
+                }
+                SyncRule rule = entry.getValue();
+                float amount = rule.toAmount(stats.get(statType), statType);
+                float last = binding.lastAmounts[index];
+                if (!Float.isNaN(last) && Math.abs(last - amount) <= EPSILON) {
+                    continue;
+                }
+                if (modifierService.applyMaxModifier(
+                        statMap,
+                        rule.targetId,
+                        amount,
+                        rule.calculationType,
+                        rule.sourceKey
+                )) {
+                    binding.lastAmounts[index] = amount;
+                    written++;
+                }
+            }
+        }
+        if (retry != null) {
+            retry.forEach(this::enqueue);
+        }
+        return written;
+    }
+
+    /**
+     * Remove invalid bindings from every queue, then queues that are empty.
+     * Runs under the map's per-key lock, which {@link #markDirty} also takes,
+     * so a binding is never added to a queue that is being removed.
+     */
+    private void pruneQueues() {
+        for (Store<EntityStore> key : dirtyByStore.keySet()) {
+            dirtyByStore.computeIfPresent(key, (ignored, queue) -> {
+                queue.removeIf(binding -> !binding.ref.isValid() && drop(binding));
+                return queue.isEmpty() ? null : queue;
+            });
+        }
+    }
+
+    private boolean drop(Binding binding) {
+        bindings.remove(binding.entityId, binding);
+        return true;
+    }
+
+    /**
+     * Start tracking an entity so its stat changes are synced by {@link #flushDirty}.
+     */
+    public void track(Ref<EntityStore> ref, UUID entityId) {
+        if (ref != null && entityId != null && ref.getStore() != null) {
+            track(ref, ref.getStore(), entityId);
+        }
+    }
+
+    /**
+     * Stop tracking an entity and forget its last pushed amounts.
+     */
+    public void untrack(UUID entityId) {
+        if (entityId != null) {
+            bindings.remove(entityId);
+        }
+    }
+
+    private Binding track(Ref<EntityStore> ref, Store<EntityStore> store, UUID entityId) {
+        Binding existing = bindings.get(entityId);
+        if (existing != null && existing.ref == ref && existing.store == store) {
+            return existing;
+        }
+        Binding binding = new Binding(entityId, ref, store);
+        bindings.put(entityId, binding);
+        return binding;
+    }
+
+    private void markDirty(UUID entityId, long changedMask) {
+        if ((changedMask & syncedMask) == 0L) {
+            return;
+        }
+        Binding binding = bindings.get(entityId);
+        if (binding == null) {
+            return;
+        }
+        if (binding.pending.getAndAccumulate(changedMask & syncedMask, (a, b) -> a | b) == 0L) {
+            enqueue(binding);
+        }
+    }
+
+    private void enqueue(Binding binding) {
+        dirtyByStore.compute(binding.store, (ignored, queue) -> {
+            Queue<Binding> target = queue != null ? queue : new ConcurrentLinkedQueue<>();
+            target.add(binding);
+            return target;
+        });
+    }
+
+    /**
+     * Stop listening for stat changes and drop all tracked entities.
+     */
+    public void shutdown() {
+        StatsManager.removeStatsChangedListener(changeListener);
+        bindings.clear();
+        dirtyByStore.clear();
     }
 
     public void clearAll(Ref<EntityStore> ref, Store<EntityStore> store) {
@@ -84,6 +266,11 @@ public final class EntityStatSyncService {
         for (SyncRule rule : rules.values()) {
             modifierService.removeModifier(statMap, rule.targetId, rule.sourceKey);
         }
+        for (Binding binding : bindings.values()) {
+            if (binding.ref == ref) {
+                Arrays.fill(binding.lastAmounts, Float.NaN);
+            }
+        }
     }
 
     private void registerDefaultRules() {
@@ -92,6 +279,25 @@ public final class EntityStatSyncService {
         registerRule(StatType.STAMINA, new SyncRule(EntityStatModifierId.STAMINA_MAX));
     }
 
+    /**
+     * Tracked entity with the amounts last written to its {@code EntityStatMap}.
+     */
+    private static final class Binding {
+        private final UUID entityId;
+        private final Ref<EntityStore> ref;
+        private final Store<EntityStore> store;
+        private final AtomicLong pending = new AtomicLong();
+        /** Last pushed amount per stat ordinal; NaN means never pushed. */
+        private final float[] lastAmounts = new float[StatType.values().length];
+
+        private Binding(UUID entityId, Ref<EntityStore> ref, Store<EntityStore> store) {
+            this.entityId = entityId;
+            this.ref = ref;
+            this.store = store;
+            Arrays.fill(lastAmounts, Float.NaN);
+        }
+    }
+
     public static final class SyncRule {
         private final EntityStatModifierId targetId;
         private StaticModifier.CalculationType calculationType = StaticModifier.CalculationType.ADDITIVE;
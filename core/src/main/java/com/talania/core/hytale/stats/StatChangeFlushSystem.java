@@ -0,0 +1,30 @@
+package com.talania.core.hytale.stats;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.talania.core.stats.StatsManager;
+
+/**
+ * Pushes this world's coalesced Talania stat changes to {@code EntityStatMap}
+ * once per tick.
+ *
+ * <p>{@link StatsManager#flushChanges()} is global and is driven once per
+ * server tick by the runtime's {@link com.talania.core.utils.time.GlobalTicker};
+ * it marks changed entities dirty per store. This system runs on each world's
+ * thread and only drains the entities that belong to the ticking store.</p>
+ */
+public final class StatChangeFlushSystem extends TickingSystem<EntityStore> {
+    private final EntityStatSyncService syncService;
+
+    public StatChangeFlushSystem(EntityStatSyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @Override
+    public void tick(float delta, int systemIndex, Store<EntityStore> store) {
+        if (syncService != null) {
+            syncService.flushDirty(store);
+        }
+    }
+}
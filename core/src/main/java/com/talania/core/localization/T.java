@@ -29,7 +29,9 @@ import java.util.function.Function;
  */
 public final class T {
 
-    private static Function<String, String> formatter = Function.identity();
+    private static final Function<String, String> IDENTITY = Function.identity();
+
+    private static volatile Function<String, String> formatter = IDENTITY;
 
     private T() {}
 
@@ -42,7 +44,8 @@ public final class T {
      */
     public static String t(String key, Object... args) {
         String translated = TranslationManager.translate(key, args);
-        return formatter.apply(translated);
+        Function<String, String> current = formatter;
+        return current == IDENTITY ? translated : current.apply(translated);
     }
 
     /**
@@ -63,6 +66,14 @@ public final class T {
         return t(key, args);
     }
 
+    /**
+     * Compiled template for a key, for callers that format the same text
+     * every tick. The formatter is not applied.
+     */
+    public static TranslationTemplate template(String key) {
+        return TranslationManager.getTemplate(key);
+    }
+
     /**
      * Check if a translation key exists.
      */
@@ -77,14 +88,14 @@ public final class T {
      * @param format Function that transforms translated strings
      */
     public static void setFormatter(Function<String, String> format) {
-        formatter = format != null ? format : Function.identity();
+        formatter = format != null ? format : IDENTITY;
     }
 
     /**
      * Reset the formatter to identity (no transformation).
      */
     public static void resetFormatter() {
-        formatter = Function.identity();
+        formatter = IDENTITY;
     }
 
     /**
@@ -0,0 +1,194 @@
+package com.talania.core.localization;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of every loaded language, indexed by key id.
+ *
+ * <p>{@link TranslationManager} rebuilds the catalog whenever language data
+ * changes and publishes it with a single volatile write, so readers on any
+ * thread see either the old or the new languages, never a mix. Each language
+ * has one flat template array with the default-language fallback already
+ * merged in.</p>
+ */
+final class TranslationCatalog {
+    static final TranslationCatalog EMPTY = new TranslationCatalog(Map.of(), null);
+
+    private final Map<String, Language> languages;
+    private final Language defaultLanguage;
+
+    private TranslationCatalog(Map<String, Language> languages, Language defaultLanguage) {
+        this.languages = languages;
+        this.defaultLanguage = defaultLanguage;
+    }
+
+    /**
+     * Build a catalog from per-language key maps.
+     */
+    static TranslationCatalog build(Map<String, Map<String, TranslationTemplate>> sources, String defaultCode) {
+        Map<String, Map<String, TranslationTemplate>> copy = new HashMap<>();
+        for (Map.Entry<String, Map<String, TranslationTemplate>> entry : sources.entrySet()) {
+            Map<String, TranslationTemplate> keys = new HashMap<>(entry.getValue());
+            for (String key : keys.keySet()) {
+                TranslationKeys.intern(key);
+            }
+            copy.put(entry.getKey(), keys);
+        }
+        int size = TranslationKeys.size();
+
+        Language fallback = null;
+        Map<String, TranslationTemplate> defaultKeys = copy.get(defaultCode);
+        if (defaultKeys != null) {
+            fallback = Language.create(defaultCode, defaultKeys, null, size);
+        }
+        Map<String, Language> languages = new HashMap<>();
+        for (Map.Entry<String, Map<String, TranslationTemplate>> entry : copy.entrySet()) {
+            Language language = entry.getKey().equals(defaultCode)
+                    ? fallback
+                    : Language.create(entry.getKey(), entry.getValue(), fallback, size);
+            languages.put(entry.getKey(), language);
+        }
+        return new TranslationCatalog(Collections.unmodifiableMap(languages), fallback);
+    }
+
+    /**
+     * Copy of this catalog with one language replaced, or removed when
+     * {@code keys} is null. Other languages are shared, not rebuilt, unless
+     * the default language changed (every language falls back to it).
+     *
+     * @param sources All current source maps, used for a full rebuild
+     */
+    TranslationCatalog withLanguage(String code, Map<String, TranslationTemplate> keys,
+                                    Map<String, Map<String, TranslationTemplate>> sources, String defaultCode) {
+        if (code.equals(defaultCode)) {
+            return build(sources, defaultCode);
+        }
+        Map<String, Language> copy = new HashMap<>(languages);
+        if (keys == null) {
+            copy.remove(code);
+        } else {
+            Map<String, TranslationTemplate> snapshot = new HashMap<>(keys);
+            for (String key : snapshot.keySet()) {
+                TranslationKeys.intern(key);
+            }
+            copy.put(code, Language.create(code, snapshot, defaultLanguage, TranslationKeys.size()));
+        }
+        return new TranslationCatalog(Collections.unmodifiableMap(copy), defaultLanguage);
+    }
+
+    /**
+     * Lower-case a language code and use {@code _} as the separator.
+     */
+    static String normalize(String langCode) {
+        return langCode == null ? null : langCode.trim().toLowerCase(Locale.ROOT).replace('-', '_');
+    }
+
+    /**
+     * Language code for a {@link Locale}, e.g. {@code pt_br}.
+     */
+    static String codeOf(Locale locale) {
+        if (locale == null) {
+            return null;
+        }
+        String country = locale.getCountry();
+        String language = locale.getLanguage().toLowerCase(Locale.ROOT);
+        return country.isEmpty() ? language : language + "_" + country.toLowerCase(Locale.ROOT);
+    }
+
+    boolean has(String langCode) {
+        return langCode != null && languages.containsKey(langCode);
+    }
+
+    Set<String> codes() {
+        return languages.keySet();
+    }
+
+    Language language(String langCode) {
+        return langCode != null ? languages.get(langCode) : null;
+    }
+
+    /**
+     * Best match for a code: exact, then the base language ({@code pt} for
+     * {@code pt_br}), then the default language. May return null when
+     * nothing is loaded.
+     */
+    Language resolve(String langCode) {
+        String code = normalize(langCode);
+        if (code != null) {
+            Language exact = languages.get(code);
+            if (exact != null) {
+                return exact;
+            }
+            int separator = code.indexOf('_');
+            if (separator > 0) {
+                Language base = languages.get(code.substring(0, separator));
+                if (base != null) {
+                    return base;
+                }
+            }
+        }
+        return defaultLanguage;
+    }
+
+    /**
+     * One language: templates by key id, with fallback already applied.
+     */
+    static final class Language {
+        private final String code;
+        private final TranslationTemplate[] templates;
+        private final BitSet own;
+
+        private Language(String code, TranslationTemplate[] templates, BitSet own) {
+            this.code = code;
+            this.templates = templates;
+            this.own = own;
+        }
+
+        private static Language create(String code, Map<String, TranslationTemplate> keys, Language fallback,
+                                       int size) {
+            TranslationTemplate[] templates = new TranslationTemplate[size];
+            BitSet own = new BitSet(size);
+            if (fallback != null) {
+                System.arraycopy(fallback.templates, 0, templates, 0, Math.min(size, fallback.templates.length));
+            }
+            for (Map.Entry<String, TranslationTemplate> entry : keys.entrySet()) {
+                int id = TranslationKeys.find(entry.getKey());
+                templates[id] = entry.getValue();
+                own.set(id);
+            }
+            return new Language(code, templates, own);
+        }
+
+        String code() {
+            return code;
+        }
+
+        /**
+         * Template for a key id in this language or the default, or null.
+         */
+        TranslationTemplate get(int keyId) {
+            return keyId >= 0 && keyId < templates.length ? templates[keyId] : null;
+        }
+
+        /**
+         * Whether this language itself (not the fallback) defines the key.
+         */
+        boolean defines(int keyId) {
+            return keyId >= 0 && own.get(keyId);
+        }
+
+        Set<String> keys() {
+            Set<String> keys = new HashSet<>(own.cardinality() * 4 / 3 + 1);
+            for (int id = own.nextSetBit(0); id >= 0; id = own.nextSetBit(id + 1)) {
+                keys.add(TranslationKeys.name(id));
+            }
+            return Collections.unmodifiableSet(keys);
+        }
+    }
+}
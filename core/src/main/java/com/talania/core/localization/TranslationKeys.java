@@ -0,0 +1,79 @@
+package com.talania.core.localization;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned translation keys.
+ *
+ * <p>Every key seen in a language file (or interned by code) gets a dense,
+ * permanent int id. Language tables are flat arrays indexed by these ids,
+ * so a lookup by id is a single array read. Ids never change or get
+ * reused, so callers may cache them across reloads.</p>
+ */
+public final class TranslationKeys {
+    /** Returned by {@link #find(String)} for keys that were never interned. */
+    public static final int UNKNOWN = -1;
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final Object LOCK = new Object();
+    private static volatile String[] names = new String[256];
+    private static volatile int size;
+
+    private TranslationKeys() {}
+
+    /**
+     * Id for a key, assigning a new one if needed.
+     */
+    public static int intern(String key) {
+        Integer id = IDS.get(key);
+        if (id != null) {
+            return id;
+        }
+        synchronized (LOCK) {
+            id = IDS.get(key);
+            if (id != null) {
+                return id;
+            }
+            int next = size;
+            String[] current = names;
+            if (next == current.length) {
+                current = Arrays.copyOf(current, current.length << 1);
+            }
+            current[next] = key;
+            names = current;
+            size = next + 1;
+            IDS.put(key, next);
+            return next;
+        }
+    }
+
+    /**
+     * Id for a key, or {@link #UNKNOWN} without interning it.
+     */
+    public static int find(String key) {
+        if (key == null) {
+            return UNKNOWN;
+        }
+        Integer id = IDS.get(key);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Key for an id, or null.
+     */
+    public static String name(int id) {
+        // Read size first: names is published before size grows.
+        int count = size;
+        String[] current = names;
+        return id >= 0 && id < count ? current[id] : null;
+    }
+
+    /**
+     * Number of interned keys; every id is below this.
+     */
+    public static int size() {
+        return size;
+    }
+}
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.talania.core.config.FileWatcher;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -11,7 +12,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Core Translation Manager for TalaniaCore
@@ -23,8 +26,14 @@ import java.util.function.Consumer;
  *   <li>Hot-reload support</li>
  *   <li>Parameter substitution</li>
  *   <li>Language change listeners</li>
+ *   <li>Per-player languages through {@link Translator} handles</li>
+ *   <li>Hot reload of edited language files ({@link #attach(FileWatcher)})</li>
  * </ul>
  * 
+ * <p>Loaded languages are compiled into an immutable {@link TranslationCatalog}
+ * keyed by interned key ids ({@link TranslationKeys}) and republished as a
+ * whole after every load, so lookups never see a half-loaded language.</p>
+ * 
  * <p>Usage example:
  * <pre>{@code
  * // Initialize once at startup
@@ -36,6 +45,10 @@ import java.util.function.Consumer;
  * 
  * // Change language
  * TranslationManager.setLanguage("pt_br");
+ * 
+ * // Per-player language
+ * TranslationManager.setPlayerLanguage(playerId, "pt_br");
+ * String text = TranslationManager.translator(playerId).translate("ui.welcome");
  * }</pre>
  * 
  * @author TalaniaCore Team
@@ -48,14 +61,22 @@ public class TranslationManager {
     private static final String CONFIG_FILE = "language_config.json";
     private static final String LOG_PREFIX = "[TalaniaCore] ";
 
-    // Thread-safe storage
-    private static final Map<String, Map<String, String>> translations = new ConcurrentHashMap<>();
-    private static final List<Consumer<String>> languageChangeListeners = new ArrayList<>();
+    // Thread-safe storage; lookups read the published catalog, loaders edit the source maps
+    private static final Map<String, Map<String, TranslationTemplate>> translations = new ConcurrentHashMap<>();
+    private static final List<Consumer<String>> languageChangeListeners = new CopyOnWriteArrayList<>();
+    private static final List<Consumer<String>> reloadListeners = new CopyOnWriteArrayList<>();
+    /** Keys registered by mods; merged under the files so reloads keep them. */
+    private static final Map<String, Map<String, TranslationTemplate>> bundledDefaults = new ConcurrentHashMap<>();
+    private static final Map<UUID, Translator> playerTranslators = new ConcurrentHashMap<>();
+    private static final Translator SERVER_TRANSLATOR = new Translator(null);
+    private static final Object CATALOG_LOCK = new Object();
+    private static volatile TranslationCatalog catalog = TranslationCatalog.EMPTY;
     
     private static volatile String currentLanguage = DEFAULT_LANGUAGE;
     private static volatile Path languagesDir;
     private static volatile Path configDir;
     private static volatile boolean initialized = false;
+    private static volatile FileWatcher watcher;
 
     // Logger interface for mod integration
     private static Consumer<String> infoLogger = System.out::println;
@@ -126,23 +147,118 @@ public class TranslationManager {
      * Translate a key to the current language.
      * Falls back to default language, then to the key itself.
      * 
+     * <p>Translations are compiled into {@link TranslationTemplate}s when
+     * loaded, so formatting only appends literals and arguments.</p>
+     * 
      * @param key The translation key (e.g., "ui.welcome")
      * @param args Optional format arguments
      * @return The translated and formatted string
      */
     public static String translate(String key, Object... args) {
-        String translation = getRawTranslation(key);
+        return SERVER_TRANSLATOR.translate(key, args);
+    }
 
-        if (args.length > 0) {
-            try {
-                return String.format(translation, args);
-            } catch (IllegalFormatException e) {
-                error("Format error for key '" + key + "': " + e.getMessage());
-                return translation;
-            }
+    /**
+     * Translate a key into a specific language, independent of the server
+     * language. Unknown codes fall back to the base language (e.g. {@code pt}
+     * for {@code pt_pt}), then the default language.
+     *
+     * @param langCode Language code (e.g., "en", "pt_br")
+     */
+    public static String translateIn(String langCode, String key, Object... args) {
+        return translator(langCode).translate(key, args);
+    }
+
+    /**
+     * Translate a key into the language matching a {@link Locale}.
+     */
+    public static String translate(Locale locale, String key, Object... args) {
+        return translator(locale).translate(key, args);
+    }
+
+    /**
+     * Get the compiled template for a key in the current language, with the
+     * same fallback as {@link #translate(String, Object...)}. A missing key
+     * yields a template of the key itself.
+     *
+     * <p>Hot paths may hold on to the template, but it will not pick up a
+     * {@link #reload()} or language change.</p>
+     */
+    public static TranslationTemplate getTemplate(String key) {
+        return SERVER_TRANSLATOR.template(key);
+    }
+
+    // ==================== TRANSLATORS ====================
+
+    /**
+     * Translator that follows the server language.
+     */
+    public static Translator translator() {
+        return SERVER_TRANSLATOR;
+    }
+
+    /**
+     * Translator for a fixed language code.
+     */
+    public static Translator translator(String langCode) {
+        return langCode != null ? new Translator(langCode) : SERVER_TRANSLATOR;
+    }
+
+    /**
+     * Translator for the language matching a {@link Locale}.
+     */
+    public static Translator translator(Locale locale) {
+        return translator(TranslationCatalog.codeOf(locale));
+    }
+
+    /**
+     * Translator cached for a player. Players without a language of their own
+     * follow the server language.
+     */
+    public static Translator translator(UUID playerId) {
+        Translator translator = playerId != null ? playerTranslators.get(playerId) : null;
+        return translator != null ? translator : SERVER_TRANSLATOR;
+    }
+
+    /**
+     * Set a player's language. Pass null to follow the server language again.
+     *
+     * @return the translator now cached for the player
+     */
+    public static Translator setPlayerLanguage(UUID playerId, String langCode) {
+        if (playerId == null) {
+            return SERVER_TRANSLATOR;
+        }
+        if (langCode == null || langCode.isBlank()) {
+            playerTranslators.remove(playerId);
+            return SERVER_TRANSLATOR;
         }
+        Translator translator = new Translator(langCode);
+        playerTranslators.put(playerId, translator);
+        return translator;
+    }
+
+    /**
+     * Set a player's language from a {@link Locale}.
+     */
+    public static Translator setPlayerLocale(UUID playerId, Locale locale) {
+        return setPlayerLanguage(playerId, TranslationCatalog.codeOf(locale));
+    }
+
+    /**
+     * Language a player's text is translated into.
+     */
+    public static String getPlayerLanguage(UUID playerId) {
+        return translator(playerId).language();
+    }
 
-        return translation;
+    /**
+     * Drop a player's cached translator (call on disconnect).
+     */
+    public static void clearPlayer(UUID playerId) {
+        if (playerId != null) {
+            playerTranslators.remove(playerId);
+        }
     }
 
     /**
@@ -159,17 +275,7 @@ public class TranslationManager {
      * @return true if the key has a translation
      */
     public static boolean hasKey(String key) {
-        Map<String, String> currentMap = translations.get(currentLanguage);
-        if (currentMap != null && currentMap.containsKey(key)) {
-            return true;
-        }
-
-        if (!currentLanguage.equals(DEFAULT_LANGUAGE)) {
-            Map<String, String> defaultMap = translations.get(DEFAULT_LANGUAGE);
-            return defaultMap != null && defaultMap.containsKey(key);
-        }
-
-        return false;
+        return SERVER_TRANSLATOR.has(key);
     }
 
     /**
@@ -178,11 +284,8 @@ public class TranslationManager {
      * @return Unmodifiable set of translation keys
      */
     public static Set<String> getKeys() {
-        Map<String, String> currentMap = translations.get(currentLanguage);
-        if (currentMap != null) {
-            return Collections.unmodifiableSet(currentMap.keySet());
-        }
-        return Collections.emptySet();
+        TranslationCatalog.Language language = catalog.language(currentLanguage);
+        return language != null ? language.keys() : Collections.emptySet();
     }
 
     // ==================== LANGUAGE MANAGEMENT ====================
@@ -245,9 +348,12 @@ public class TranslationManager {
     public static Map<String, String> getAvailableLanguages() {
         Map<String, String> result = new LinkedHashMap<>();
 
-        for (String langCode : translations.keySet()) {
-            String displayName = translations.get(langCode).getOrDefault("language.name", langCode);
-            result.put(langCode, displayName);
+        TranslationCatalog current = catalog;
+        int nameId = TranslationKeys.find("language.name");
+        for (String langCode : current.codes()) {
+            TranslationCatalog.Language language = current.language(langCode);
+            TranslationTemplate displayName = language.defines(nameId) ? language.get(nameId) : null;
+            result.put(langCode, displayName != null ? displayName.pattern() : langCode);
         }
 
         return result;
@@ -257,7 +363,7 @@ public class TranslationManager {
      * Check if a language is available.
      */
     public static boolean isLanguageAvailable(String langCode) {
-        return langCode != null && translations.containsKey(langCode.toLowerCase());
+        return catalog.has(TranslationCatalog.normalize(langCode));
     }
 
     /**
@@ -278,8 +384,46 @@ public class TranslationManager {
         languageChangeListeners.remove(listener);
     }
 
+    /**
+     * Listen for languages reloaded from disk. Runs on the
+     * {@code TalaniaCore-Tick} thread for hot reloads; the listener receives the reloaded language code.
+     */
+    public static void addReloadListener(Consumer<String> listener) {
+        if (listener != null) {
+            reloadListeners.add(listener);
+        }
+    }
+
+    public static void removeReloadListener(Consumer<String> listener) {
+        reloadListeners.remove(listener);
+    }
+
     // ==================== RELOAD ====================
 
+    /**
+     * Hot-reload language files edited on disk. Only the changed file is
+     * re-parsed (on the watcher thread) and only its language is rebuilt in
+     * the catalog; reload listeners then run on the {@code TalaniaCore-Tick}
+     * thread.
+     */
+    public static void attach(FileWatcher fileWatcher) {
+        if (languagesDir == null) {
+            error("Cannot watch languages: TranslationManager not initialized");
+            return;
+        }
+        if (fileWatcher != null && fileWatcher.watch(languagesDir, TranslationManager::onLanguageFileChanged)) {
+            watcher = fileWatcher;
+            log("Watching language files: " + languagesDir);
+        }
+    }
+
+    /**
+     * Stop queueing reload listeners on the watcher passed to {@link #attach}.
+     */
+    public static void detach() {
+        watcher = null;
+    }
+
     /**
      * Reload all translation files from disk.
      */
@@ -289,7 +433,6 @@ public class TranslationManager {
             return;
         }
 
-        translations.clear();
         loadAllTranslations();
         loadLanguagePreference();
         log("Translations reloaded");
@@ -307,49 +450,58 @@ public class TranslationManager {
             String resourcePath = "/languages/" + langCode + ".json";
             try (InputStream is = resourceClass.getResourceAsStream(resourcePath)) {
                 if (is != null) {
-                    Map<String, String> bundled = parseLanguageStream(is);
-                    Map<String, String> existing = translations.getOrDefault(langCode, new HashMap<>());
-                    
-                    // Bundled values are defaults, don't override user customizations
-                    for (Map.Entry<String, String> entry : bundled.entrySet()) {
-                        existing.putIfAbsent(entry.getKey(), entry.getValue());
+                    Map<String, TranslationTemplate> bundled = compileAll(parseLanguageStream(is));
+                    synchronized (CATALOG_LOCK) {
+                        bundledDefaults.computeIfAbsent(langCode, code -> new ConcurrentHashMap<>()).putAll(bundled);
+                        Map<String, TranslationTemplate> existing =
+                                translations.getOrDefault(langCode, new ConcurrentHashMap<>());
+
+                        // Bundled values are defaults, don't override user customizations
+                        for (Map.Entry<String, TranslationTemplate> entry : bundled.entrySet()) {
+                            existing.putIfAbsent(entry.getKey(), entry.getValue());
+                        }
+
+                        translations.put(langCode, existing);
                     }
-                    
-                    translations.put(langCode, existing);
                     log("Registered bundled language: " + langCode);
                 }
             } catch (IOException e) {
                 error("Failed to load bundled language " + langCode + ": " + e.getMessage());
             }
         }
+        rebuildCatalog();
     }
 
-    // ==================== INTERNAL ====================
+    // ==================== CATALOG ====================
 
-    private static String getRawTranslation(String key) {
-        // Try current language
-        Map<String, String> currentMap = translations.get(currentLanguage);
-        if (currentMap != null) {
-            String value = currentMap.get(key);
-            if (value != null) {
-                return value;
-            }
-        }
+    /**
+     * Current immutable language snapshot.
+     */
+    static TranslationCatalog catalog() {
+        return catalog;
+    }
 
-        // Fallback to default language
-        if (!currentLanguage.equals(DEFAULT_LANGUAGE)) {
-            Map<String, String> defaultMap = translations.get(DEFAULT_LANGUAGE);
-            if (defaultMap != null) {
-                String value = defaultMap.get(key);
-                if (value != null) {
-                    return value;
-                }
-            }
+    static void reportMissing(String key) {
+        error("Missing translation: " + key);
+    }
+
+    /**
+     * Rebuild the catalog from the source maps and publish it.
+     */
+    private static void rebuildCatalog() {
+        synchronized (CATALOG_LOCK) {
+            catalog = TranslationCatalog.build(translations, DEFAULT_LANGUAGE);
         }
+    }
 
-        // Return key as fallback
-        error("Missing translation: " + key);
-        return key;
+    // ==================== INTERNAL ====================
+
+    private static Map<String, TranslationTemplate> compileAll(Map<String, String> raw) {
+        Map<String, TranslationTemplate> compiled = new ConcurrentHashMap<>(raw.size() * 4 / 3 + 1);
+        for (Map.Entry<String, String> entry : raw.entrySet()) {
+            compiled.put(entry.getKey(), TranslationTemplate.compile(entry.getValue()));
+        }
+        return compiled;
     }
 
     private static void extractBundledLanguages() {
@@ -392,35 +544,100 @@ public class TranslationManager {
         }
     }
 
+    /**
+     * Read every language file, then replace the source maps and rebuild the
+     * catalog in one step under {@code CATALOG_LOCK}.
+     */
     private static void loadAllTranslations() {
-        translations.clear();
-
+        Map<String, Map<String, TranslationTemplate>> loaded = new HashMap<>();
         if (languagesDir == null || !Files.isDirectory(languagesDir)) {
             error("Languages directory not found");
-            return;
+        } else {
+            try (Stream<Path> files = Files.list(languagesDir)) {
+                files.filter(p -> p.toString().endsWith(".json"))
+                    .forEach(file -> loadLanguageFile(file, loaded));
+            } catch (IOException e) {
+                error("Failed to list language files: " + e.getMessage());
+            }
         }
-
-        try {
-            Files.list(languagesDir)
-                .filter(p -> p.toString().endsWith(".json"))
-                .forEach(TranslationManager::loadLanguageFile);
-        } catch (IOException e) {
-            error("Failed to list language files: " + e.getMessage());
+        synchronized (CATALOG_LOCK) {
+            translations.clear();
+            translations.putAll(loaded);
+            rebuildCatalog();
         }
     }
 
-    private static void loadLanguageFile(Path file) {
+    private static void loadLanguageFile(Path file, Map<String, Map<String, TranslationTemplate>> target) {
         String langCode = file.getFileName().toString().replace(".json", "");
 
-        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-            Map<String, String> langMap = parseLanguageReader(reader);
-            translations.put(langCode, new ConcurrentHashMap<>(langMap));
-            log("Loaded language: " + langCode + " (" + langMap.size() + " keys)");
+        try {
+            Map<String, TranslationTemplate> compiled = readLanguageFile(langCode, file);
+            target.put(langCode, compiled);
+            log("Loaded language: " + langCode + " (" + compiled.size() + " keys)");
         } catch (Exception e) {
             error("Failed to load language " + langCode + ": " + e.getMessage());
         }
     }
 
+    private static Map<String, TranslationTemplate> readLanguageFile(String langCode, Path file) throws IOException {
+        Map<String, TranslationTemplate> compiled;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            compiled = compileAll(parseLanguageReader(reader));
+        }
+        Map<String, TranslationTemplate> bundled = bundledDefaults.get(langCode);
+        if (bundled != null) {
+            for (Map.Entry<String, TranslationTemplate> entry : bundled.entrySet()) {
+                compiled.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Re-parse one changed language file on the watcher thread and swap in a
+     * catalog with just that language rebuilt.
+     */
+    private static void onLanguageFileChanged(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(".json")) {
+            return;
+        }
+        String langCode = name.substring(0, name.length() - ".json".length());
+        Map<String, TranslationTemplate> compiled = null;
+        if (Files.exists(file)) {
+            try {
+                compiled = readLanguageFile(langCode, file);
+            } catch (Exception e) {
+                error("Failed to reload language " + langCode + ", keeping previous text: " + e.getMessage());
+                return;
+            }
+        }
+        synchronized (CATALOG_LOCK) {
+            if (compiled != null) {
+                translations.put(langCode, compiled);
+            } else if (translations.remove(langCode) == null) {
+                return;
+            }
+            catalog = catalog.withLanguage(langCode, compiled, translations, DEFAULT_LANGUAGE);
+        }
+        log(compiled != null
+                ? "Reloaded language: " + langCode + " (" + compiled.size() + " keys)"
+                : "Removed language: " + langCode);
+
+        FileWatcher current = watcher;
+        if (current != null) {
+            current.dispatch(() -> {
+                for (Consumer<String> listener : reloadListeners) {
+                    try {
+                        listener.accept(langCode);
+                    } catch (Exception e) {
+                        error("Reload listener error: " + e.getMessage());
+                    }
+                }
+            });
+        }
+    }
+
     private static Map<String, String> parseLanguageReader(Reader reader) {
         JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
         return parseJsonObject(json, "");
@@ -0,0 +1,239 @@
+package com.talania.core.localization;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Translation string pre-split into literal text and placeholders.
+ *
+ * <p>Templates understand the {@link java.util.Formatter} syntax used by
+ * language files ({@code %s}, {@code %d}, {@code %2$s}, {@code %.1f},
+ * {@code %%}, {@code %n}). Parsing happens once at load time; formatting
+ * appends literals and arguments to a reused per-thread builder. Plain
+ * {@code %s} and {@code %d} are appended directly; other conversions fall
+ * back to formatting only their own specifier. A {@code %} that does not
+ * start a valid specifier is kept as text, and placeholders without a
+ * matching argument are left as written.</p>
+ *
+ * <p>Instances are immutable and safe to share between threads.</p>
+ */
+public final class TranslationTemplate {
+    private static final Pattern SPECIFIER =
+            Pattern.compile("%(\\d+\\$)?([-#+ 0,(<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])");
+    private static final String CONVERSIONS = "bBhHsScCdoxXeEfgGaAn%";
+    private static final int MAX_REUSED_CAPACITY = 4096;
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    private static final byte STRING = 0;
+    private static final byte DECIMAL = 1;
+    private static final byte GENERAL = 2;
+
+    private final String pattern;
+    /** Literal text; {@code literals[i]} precedes placeholder {@code i}, the last one trails. */
+    private final String[] literals;
+    private final int[] argIndexes;
+    private final byte[] kinds;
+    /** Specifier without argument index, for {@link #GENERAL} placeholders. */
+    private final String[] specs;
+    /** Placeholder text as written, used when its argument is missing. */
+    private final String[] sources;
+    private final String constant;
+
+    private TranslationTemplate(String pattern, String[] literals, int[] argIndexes, byte[] kinds,
+                                String[] specs, String[] sources) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.argIndexes = argIndexes;
+        this.kinds = kinds;
+        this.specs = specs;
+        this.sources = sources;
+        this.constant = argIndexes.length == 0 ? literals[0] : null;
+    }
+
+    /**
+     * Parse a translation string.
+     */
+    public static TranslationTemplate compile(String pattern) {
+        String text = pattern != null ? pattern : "";
+        if (text.indexOf('%') < 0) {
+            return new TranslationTemplate(text, new String[]{text}, new int[0], new byte[0],
+                    new String[0], new String[0]);
+        }
+        List<String> literals = new ArrayList<>();
+        List<int[]> placeholders = new ArrayList<>();
+        List<String> specs = new ArrayList<>();
+        List<String> sources = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        Matcher matcher = SPECIFIER.matcher(text);
+        int position = 0;
+        int nextOrdinary = 0;
+        int previous = -1;
+        while (position < text.length()) {
+            int percent = text.indexOf('%', position);
+            if (percent < 0) {
+                literal.append(text, position, text.length());
+                break;
+            }
+            literal.append(text, position, percent);
+            matcher.region(percent, text.length());
+            if (!matcher.lookingAt() || !isValid(matcher)) {
+                literal.append('%');
+                position = percent + 1;
+                continue;
+            }
+            position = matcher.end();
+            char conversion = matcher.group(6).charAt(0);
+            if (matcher.group(5) == null && conversion == '%') {
+                literal.append('%');
+                continue;
+            }
+            if (matcher.group(5) == null && conversion == 'n') {
+                literal.append(System.lineSeparator());
+                continue;
+            }
+            String flags = matcher.group(2) != null ? matcher.group(2) : "";
+            int argIndex;
+            if (flags.indexOf('<') >= 0) {
+                argIndex = previous;
+                flags = flags.replace("<", "");
+            } else if (matcher.group(1) != null) {
+                argIndex = Integer.parseInt(matcher.group(1), 0, matcher.group(1).length() - 1, 10) - 1;
+            } else {
+                argIndex = nextOrdinary++;
+            }
+            previous = argIndex;
+            boolean plain = flags.isEmpty() && matcher.group(3) == null && matcher.group(4) == null
+                    && matcher.group(5) == null;
+            byte kind = plain && conversion == 's' ? STRING : plain && conversion == 'd' ? DECIMAL : GENERAL;
+            literals.add(literal.toString());
+            literal.setLength(0);
+            placeholders.add(new int[]{argIndex, kind});
+            specs.add("%" + flags
+                    + (matcher.group(3) != null ? matcher.group(3) : "")
+                    + (matcher.group(4) != null ? matcher.group(4) : "")
+                    + (matcher.group(5) != null ? matcher.group(5) : "")
+                    + conversion);
+            sources.add(matcher.group());
+        }
+        literals.add(literal.toString());
+
+        int count = placeholders.size();
+        int[] argIndexes = new int[count];
+        byte[] kinds = new byte[count];
+        for (int i = 0; i < count; i++) {
+            argIndexes[i] = placeholders.get(i)[0];
+            kinds[i] = (byte) placeholders.get(i)[1];
+        }
+        return new TranslationTemplate(text, literals.toArray(new String[0]), argIndexes, kinds,
+                specs.toArray(new String[0]), sources.toArray(new String[0]));
+    }
+
+    /**
+     * The translation string as written in the language file.
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    public int placeholderCount() {
+        return argIndexes.length;
+    }
+
+    /**
+     * Format with arguments. With no arguments the pattern is returned as
+     * written, matching the old {@code translate(key)} behaviour.
+     */
+    public String format(Object... args) {
+        if (args == null || args.length == 0) {
+            return pattern;
+        }
+        if (constant != null) {
+            return constant;
+        }
+        Buffer buffer = BUFFER.get();
+        if (buffer.busy) {
+            // An argument's toString() is translating too; don't clobber the outer builder.
+            StringBuilder nested = new StringBuilder(pattern.length() + 16);
+            appendTo(nested, args);
+            return nested.toString();
+        }
+        buffer.busy = true;
+        try {
+            StringBuilder builder = buffer.builder;
+            builder.setLength(0);
+            appendTo(builder, args);
+            String result = builder.toString();
+            if (builder.capacity() > MAX_REUSED_CAPACITY) {
+                buffer.builder = new StringBuilder(128);
+            }
+            return result;
+        } finally {
+            buffer.busy = false;
+        }
+    }
+
+    /**
+     * Append the formatted text to a caller-owned builder.
+     */
+    public void appendTo(StringBuilder builder, Object... args) {
+        int count = argIndexes.length;
+        for (int i = 0; i < count; i++) {
+            builder.append(literals[i]);
+            int index = argIndexes[i];
+            if (args == null || index < 0 || index >= args.length) {
+                builder.append(sources[i]);
+                continue;
+            }
+            Object arg = args[index];
+            switch (kinds[i]) {
+                case STRING -> {
+                    if (arg instanceof Formattable) {
+                        builder.append(String.format(specs[i], arg));
+                    } else {
+                        builder.append(arg);
+                    }
+                }
+                case DECIMAL -> {
+                    if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+                        builder.append(((Number) arg).longValue());
+                    } else {
+                        appendGeneral(builder, i, arg);
+                    }
+                }
+                default -> appendGeneral(builder, i, arg);
+            }
+        }
+        builder.append(literals[count]);
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private void appendGeneral(StringBuilder builder, int placeholder, Object arg) {
+        try {
+            builder.append(String.format(specs[placeholder], arg));
+        } catch (IllegalFormatException e) {
+            builder.append(sources[placeholder]);
+        }
+    }
+
+    private static boolean isValid(Matcher matcher) {
+        char conversion = matcher.group(6).charAt(0);
+        if (matcher.group(5) != null) {
+            // Date/time: %tH, %Tm ... the conversion letter is the suffix.
+            return true;
+        }
+        return CONVERSIONS.indexOf(conversion) >= 0;
+    }
+
+    private static final class Buffer {
+        private StringBuilder builder = new StringBuilder(128);
+        private boolean busy;
+    }
+}
@@ -0,0 +1,113 @@
+package com.talania.core.localization;
+
+import java.util.Locale;
+
+/**
+ * Translation handle bound to one language.
+ *
+ * <p>Obtain one per player with {@link TranslationManager#translator(java.util.UUID)}
+ * (cached for the session) or for a fixed language with
+ * {@link TranslationManager#translator(String)}. The resolved language table
+ * is cached and refreshed automatically after a reload, so a lookup by key
+ * id is one array read. Instances are immutable and thread-safe.</p>
+ */
+public final class Translator {
+    private final String languageCode;
+    private volatile Binding binding;
+
+    /**
+     * @param languageCode language to translate into, or null to follow the
+     *                     server language ({@link TranslationManager#getCurrentLanguage()})
+     */
+    Translator(String languageCode) {
+        this.languageCode = TranslationCatalog.normalize(languageCode);
+    }
+
+    /**
+     * Requested language code, or null if this translator follows the server language.
+     */
+    public String requestedLanguage() {
+        return languageCode;
+    }
+
+    /**
+     * Language actually used after fallback (e.g. {@code pt} for {@code pt_pt}).
+     */
+    public String language() {
+        TranslationCatalog.Language table = table();
+        return table != null ? table.code() : TranslationManager.getDefaultLanguage();
+    }
+
+    public Locale locale() {
+        return Locale.forLanguageTag(language().replace('_', '-'));
+    }
+
+    /**
+     * Translate a key, falling back to the default language, then the key itself.
+     */
+    public String translate(String key, Object... args) {
+        TranslationTemplate template = find(TranslationKeys.find(key));
+        if (template == null) {
+            TranslationManager.reportMissing(key);
+            return key;
+        }
+        return template.format(args);
+    }
+
+    /**
+     * Translate by interned key id (see {@link TranslationKeys#intern(String)}).
+     */
+    public String translate(int keyId, Object... args) {
+        TranslationTemplate template = find(keyId);
+        if (template == null) {
+            String key = TranslationKeys.name(keyId);
+            TranslationManager.reportMissing(key);
+            return key != null ? key : "";
+        }
+        return template.format(args);
+    }
+
+    /**
+     * Compiled template for a key, or a template of the key itself if missing.
+     */
+    public TranslationTemplate template(String key) {
+        TranslationTemplate template = find(TranslationKeys.find(key));
+        if (template == null) {
+            TranslationManager.reportMissing(key);
+            return TranslationTemplate.compile(key);
+        }
+        return template;
+    }
+
+    public boolean has(String key) {
+        return find(TranslationKeys.find(key)) != null;
+    }
+
+    private TranslationTemplate find(int keyId) {
+        TranslationCatalog.Language table = table();
+        return table != null ? table.get(keyId) : null;
+    }
+
+    private TranslationCatalog.Language table() {
+        TranslationCatalog catalog = TranslationManager.catalog();
+        if (languageCode == null) {
+            return catalog.resolve(TranslationManager.getCurrentLanguage());
+        }
+        Binding current = binding;
+        if (current == null || current.catalog != catalog) {
+            current = new Binding(catalog, catalog.resolve(languageCode));
+            binding = current;
+        }
+        return current.table;
+    }
+
+    private static final class Binding {
+        private final TranslationCatalog catalog;
+        private final TranslationCatalog.Language table;
+
+        private Binding(TranslationCatalog catalog, TranslationCatalog.Language table) {
+            this.catalog = catalog;
+            this.table = table;
+        }
+    }
+}
@@ -15,14 +15,30 @@ import com.talania.core.stats.StatsManager;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Applies movement-related stats to MovementSettings (move speed, jump height).
+ *
+ * <p>After the first application per entity, stats are only re-read when
+ * {@link StatsManager} reports a change to move speed or jump height.</p>
  */
 public final class MovementStatSystem extends EntityTickingSystem<EntityStore> {
     private static final float EPSILON = 0.0005f;
     private final Map<UUID, AppliedMovement> applied = new HashMap<>();
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    private final Consumer<StatsManager.StatChangeBatch> changeListener = batch -> {
+        if (batch.contains(StatType.MOVE_SPEED) || batch.contains(StatType.JUMP_HEIGHT)) {
+            changed.add(batch.getEntityId());
+        }
+    };
+
+    public MovementStatSystem() {
+        StatsManager.onStatsChanged(changeListener);
+    }
 
     @Override
     public Query<EntityStore> getQuery() {
@@ -44,9 +60,12 @@ public final class MovementStatSystem extends EntityTickingSystem<EntityStore> {
         if (uuid == null) {
             return;
         }
+        AppliedMovement prev = applied.get(uuid);
+        if (prev != null && !changed.remove(uuid)) {
+            return;
+        }
         float moveSpeed = StatsManager.getStat(uuid, StatType.MOVE_SPEED);
         float jumpHeight = StatsManager.getStat(uuid, StatType.JUMP_HEIGHT);
-        AppliedMovement prev = applied.get(uuid);
         boolean moveChanged = prev == null || Math.abs(prev.moveSpeed - moveSpeed) > EPSILON;
         boolean jumpChanged = prev == null || Math.abs(prev.jumpHeight - jumpHeight) > EPSILON;
         if (!moveChanged && !jumpChanged) {
@@ -66,6 +85,15 @@ public final class MovementStatSystem extends EntityTickingSystem<EntityStore> {
             return;
         }
         applied.remove(playerId);
+        changed.remove(playerId);
+    }
+
+    /**
+     * Stop listening for stat changes. Call on plugin shutdown.
+     */
+    public void shutdown() {
+        StatsManager.removeStatsChangedListener(changeListener);
+        changed.clear();
     }
 
     private static final class AppliedMovement {
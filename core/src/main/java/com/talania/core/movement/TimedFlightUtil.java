@@ -12,11 +12,16 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.protocol.MovementSettings;
 import com.talania.core.utils.PlayerRefUtil;
+import com.talania.core.utils.time.TimerService;
+import com.talania.core.utils.time.TimerSystem;
+import com.talania.core.utils.time.TimingWheel;
 
 /**
  * Helper for timed flight windows.
  *
- * <p>Caller is responsible for ticking and cleanup.</p>
+ * <p>The window ends through a timer on the world's {@link TimerService}, so
+ * {@link #tick} only keeps flight enabled while it is open. Callers still
+ * tick active states and call {@link #stop} on cleanup.</p>
  */
 public final class TimedFlightUtil {
     private TimedFlightUtil() {}
@@ -25,7 +30,12 @@ public final class TimedFlightUtil {
         if (state == null || ref == null || store == null || durationMs <= 0L) {
             return;
         }
+        state.cancelTimer();
         state.activeUntil = System.currentTimeMillis() + durationMs;
+        state.ref = ref;
+        state.store = store;
+        state.timers = TimerSystem.forStore(store);
+        state.timer = state.timers.schedule(durationMs, state, 0L);
         enableFlight(ref, store, true);
         setMovementFlying(ref, store, true);
     }
@@ -37,11 +47,7 @@ public final class TimedFlightUtil {
         if (state.activeUntil <= 0L) {
             return;
         }
-        if (System.currentTimeMillis() >= state.activeUntil) {
-            stop(state, ref, store);
-        } else {
-            enableFlight(ref, store, true);
-        }
+        enableFlight(ref, store, true);
     }
 
     public static void stop(State state, Ref<EntityStore> ref, Store<EntityStore> store) {
@@ -49,6 +55,9 @@ public final class TimedFlightUtil {
             return;
         }
         state.activeUntil = 0L;
+        state.cancelTimer();
+        state.ref = null;
+        state.store = null;
         if (ref == null || store == null) {
             return;
         }
@@ -117,7 +126,36 @@ public final class TimedFlightUtil {
         movementManager.update(playerRef.getPacketHandler());
     }
 
-    public static final class State {
+    public static final class State implements TimingWheel.Callback {
         private long activeUntil;
+        private Ref<EntityStore> ref;
+        private Store<EntityStore> store;
+        private TimerService timers;
+        private long timer = TimingWheel.NO_TIMER;
+
+        public boolean isActive() {
+            return activeUntil > 0L;
+        }
+
+        private void cancelTimer() {
+            if (timers != null && timer != TimingWheel.NO_TIMER) {
+                timers.cancel(timer);
+            }
+            timer = TimingWheel.NO_TIMER;
+        }
+
+        @Override
+        public void onExpire(long payload) {
+            timer = TimingWheel.NO_TIMER;
+            if (activeUntil <= 0L) {
+                return;
+            }
+            Ref<EntityStore> expiredRef = ref;
+            if (expiredRef != null && !expiredRef.isValid()) {
+                stop(this, null, null);
+                return;
+            }
+            stop(this, expiredRef, store);
+        }
     }
 }
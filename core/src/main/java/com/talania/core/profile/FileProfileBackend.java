@@ -0,0 +1,130 @@
+package com.talania.core.profile;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * One file per player ({@code <uuid>.profile}) in a directory.
+ *
+ * <p>Writes go to a temp file that is atomically renamed over the record,
+ * so a crash mid-write never leaves a truncated profile behind.</p>
+ */
+public final class FileProfileBackend implements ProfileBackend {
+    static final String SUFFIX = ".profile";
+
+    private final Path directory;
+
+    public FileProfileBackend(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * File holding a player's record.
+     */
+    public Path pathOf(UUID playerId) {
+        return directory.resolve(playerId.toString().toLowerCase(Locale.ROOT) + SUFFIX);
+    }
+
+    @Override
+    public byte[] read(UUID playerId) throws IOException {
+        try {
+            return Files.readAllBytes(pathOf(playerId));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void write(UUID playerId, byte[] data) throws IOException {
+        writeAtomically(pathOf(playerId), data);
+    }
+
+    @Override
+    public boolean delete(UUID playerId) throws IOException {
+        return Files.deleteIfExists(pathOf(playerId));
+    }
+
+    @Override
+    public boolean contains(UUID playerId) {
+        return Files.isRegularFile(pathOf(playerId));
+    }
+
+    @Override
+    public void forEachId(Consumer<UUID> action) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                UUID playerId = idOf(file);
+                if (playerId != null) {
+                    action.accept(playerId);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void scan(RecordVisitor visitor) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                UUID playerId = idOf(file);
+                if (playerId == null) {
+                    continue;
+                }
+                byte[] data;
+                try {
+                    data = Files.readAllBytes(file);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                visitor.visit(playerId, data);
+            }
+        }
+    }
+
+    /**
+     * Player id encoded in a record file name, or null for other files.
+     */
+    static UUID idOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            return UUID.fromString(name.substring(0, dot));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write to {@code <file>.tmp} and rename it over {@code file}.
+     */
+    static void writeAtomically(Path file, byte[] data) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, data);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.talania.core.profile;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, log-structured profile store in a single data file.
+ *
+ * <p>Every write appends a record; an in-memory index maps each player to
+ * the offset of their newest record, so lookups are one positional read.
+ * Deletes append a tombstone. Records carry a CRC32: on open the log is
+ * replayed to rebuild the index and a torn tail from a crash is truncated,
+ * leaving the previous record for that player in effect. Only the last
+ * record is treated as torn: a record with a bad checksum further in is
+ * skipped (after copying the log to {@code <file>.corrupt-<millis>}), and a
+ * record whose header cannot be parsed makes the constructor fail rather
+ * than discard everything after it.</p>
+ *
+ * <p>Superseded records are reclaimed by {@link #compact()}, which copies
+ * live records into a fresh file and renames it over the log. It runs
+ * automatically after a write or flush once dead bytes exceed both the live
+ * bytes and the configured minimum.</p>
+ *
+ * <p>Record layout (big-endian): {@code byte type, long msb, long lsb,
+ * int length, byte[length] data, int crc32}. All methods are synchronized.</p>
+ */
+public final class LogProfileBackend implements ProfileBackend {
+    private static final int FILE_MAGIC = 0x544C4C47;
+    private static final int FILE_VERSION = 1;
+    private static final int FILE_HEADER = 8;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int RECORD_HEADER = 1 + 16 + 4;
+    private static final int RECORD_TRAILER = 4;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final Path file;
+    private final long compactionMinBytes;
+    private final Map<UUID, Entry> index = new HashMap<>();
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+    private int scanning;
+    private boolean closed;
+
+    /**
+     * Open (or create) a log file and rebuild its index.
+     *
+     * @param compactionMinBytes dead bytes required before automatic compaction
+     * @throws IOException if the file cannot be opened or is not a profile log
+     */
+    public LogProfileBackend(Path file, long compactionMinBytes) throws IOException {
+        this.file = file;
+        this.compactionMinBytes = Math.max(0L, compactionMinBytes);
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0L) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER).putInt(FILE_MAGIC).putInt(FILE_VERSION);
+                header.flip();
+                writeFully(channel, header, 0L);
+                end = FILE_HEADER;
+            } else {
+                replay();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public synchronized byte[] read(UUID playerId) throws IOException {
+        ensureOpen();
+        Entry entry = index.get(playerId);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer data = ByteBuffer.allocate(entry.length);
+        readFully(channel, data, entry.offset + RECORD_HEADER);
+        return data.array();
+    }
+
+    @Override
+    public synchronized void write(UUID playerId, byte[] data) throws IOException {
+        ensureOpen();
+        if (data.length > MAX_RECORD_BYTES) {
+            throw new IOException("Profile record too large: " + data.length + " bytes");
+        }
+        long offset = append(PUT, playerId, data);
+        Entry previous = index.put(playerId, new Entry(offset, data.length));
+        if (previous != null) {
+            liveBytes -= previous.size();
+        }
+        liveBytes += recordSize(data.length);
+        maybeCompact();
+    }
+
+    @Override
+    public synchronized boolean delete(UUID playerId) throws IOException {
+        ensureOpen();
+        Entry previous = index.get(playerId);
+        if (previous == null) {
+            return false;
+        }
+        append(DELETE, playerId, new byte[0]);
+        index.remove(playerId);
+        liveBytes -= previous.size();
+        maybeCompact();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(UUID playerId) {
+        return index.containsKey(playerId);
+    }
+
+    /**
+     * Number of live records.
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Current log length in bytes.
+     */
+    public synchronized long fileBytes() {
+        return end;
+    }
+
+    /**
+     * Bytes held by superseded records and tombstones.
+     */
+    public synchronized long deadBytes() {
+        return end - FILE_HEADER - liveBytes;
+    }
+
+    /**
+     * Ids are copied first, so the action may call back into this backend.
+     */
+    @Override
+    public void forEachId(Consumer<UUID> action) {
+        List<UUID> ids;
+        synchronized (this) {
+            ids = new ArrayList<>(index.keySet());
+        }
+        for (UUID playerId : ids) {
+            action.accept(playerId);
+        }
+    }
+
+    /**
+     * Read the log front to back and visit each player's newest record.
+     * Other threads block until the scan finishes; compaction is deferred.
+     */
+    @Override
+    public synchronized void scan(RecordVisitor visitor) throws IOException {
+        ensureOpen();
+        long limit = end;
+        scanning++;
+        try {
+            channel.position(FILE_HEADER);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+            long position = FILE_HEADER;
+            byte[] header = new byte[RECORD_HEADER];
+            while (position < limit) {
+                in.readFully(header);
+                ByteBuffer parsed = ByteBuffer.wrap(header);
+                byte type = parsed.get();
+                UUID playerId = new UUID(parsed.getLong(), parsed.getLong());
+                int length = parsed.getInt();
+                Entry entry = index.get(playerId);
+                if (type == PUT && entry != null && entry.offset == position) {
+                    byte[] data = new byte[length];
+                    in.readFully(data);
+                    in.skipNBytes(RECORD_TRAILER);
+                    visitor.visit(playerId, data);
+                } else {
+                    in.skipNBytes((long) length + RECORD_TRAILER);
+                }
+                position += recordSize(length);
+            }
+        } finally {
+            scanning--;
+        }
+        maybeCompact();
+    }
+
+    /**
+     * Rewrite the log with only live records, in their current order.
+     */
+    public synchronized void compact() throws IOException {
+        ensureOpen();
+        Path temp = file.resolveSibling(file.getFileName() + ".compact");
+        List<Map.Entry<UUID, Entry>> live = new ArrayList<>(index.entrySet());
+        live.sort(Comparator.comparingLong(e -> e.getValue().offset));
+        Map<UUID, Entry> moved = new HashMap<>();
+        long position = FILE_HEADER;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER).putInt(FILE_MAGIC).putInt(FILE_VERSION);
+            header.flip();
+            writeFully(out, header, 0L);
+            for (Map.Entry<UUID, Entry> record : live) {
+                Entry entry = record.getValue();
+                ByteBuffer bytes = ByteBuffer.allocate(entry.size());
+                readFully(channel, bytes, entry.offset);
+                bytes.flip();
+                writeFully(out, bytes, position);
+                moved.put(record.getKey(), new Entry(position, entry.length));
+                position += entry.size();
+            }
+            out.force(true);
+        }
+        channel.force(true);
+        channel.close();
+        try {
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            // Reopen whichever file is now in place; on failure the old log and index still match.
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        index.clear();
+        index.putAll(moved);
+        end = position;
+        liveBytes = position - FILE_HEADER;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (closed) {
+            return;
+        }
+        channel.force(false);
+        maybeCompact();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ==================== INTERNAL ====================
+
+    private void replay() throws IOException {
+        long size = channel.size();
+        ByteBuffer fileHeader = ByteBuffer.allocate(FILE_HEADER);
+        readFully(channel, fileHeader, 0L);
+        fileHeader.flip();
+        if (fileHeader.getInt() != FILE_MAGIC) {
+            throw new IOException("Not a Talania profile log: " + file);
+        }
+        int version = fileHeader.getInt();
+        if (version != FILE_VERSION) {
+            throw new IOException("Unsupported profile log version " + version + ": " + file);
+        }
+
+        channel.position(FILE_HEADER);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+        byte[] header = new byte[RECORD_HEADER];
+        CRC32 crc = new CRC32();
+        long position = FILE_HEADER;
+        boolean backedUp = false;
+        while (position < size) {
+            if (size - position < RECORD_HEADER + RECORD_TRAILER) {
+                break;
+            }
+            in.readFully(header);
+            ByteBuffer parsed = ByteBuffer.wrap(header);
+            byte type = parsed.get();
+            UUID playerId = new UUID(parsed.getLong(), parsed.getLong());
+            int length = parsed.getInt();
+            boolean parsable = (type == PUT || type == DELETE) && length >= 0 && length <= MAX_RECORD_BYTES;
+            if (!parsable || position + recordSize(length) > size) {
+                // A sane header running past EOF is a record cut short by a crash; so is a zeroed,
+                // extended-but-unwritten tail. Anything else cannot be skipped safely.
+                if (parsable || isZeroFilled(position, size)) {
+                    break;
+                }
+                throw new IOException("Corrupt profile log record at offset " + position + " of " + file
+                        + "; refusing to open so later records are not discarded");
+            }
+            byte[] data = new byte[length];
+            int stored;
+            try {
+                in.readFully(data);
+                stored = in.readInt();
+            } catch (EOFException e) {
+                break;
+            }
+            crc.reset();
+            crc.update(header);
+            crc.update(data);
+            long next = position + recordSize(length);
+            if ((int) crc.getValue() != stored) {
+                if (next == size) {
+                    // Torn tail: the record being appended when the server stopped.
+                    break;
+                }
+                // Framing is intact, so later records are still readable; keep the log as it was before skipping.
+                if (!backedUp) {
+                    backUp();
+                    backedUp = true;
+                }
+                System.err.println("[TalaniaCore] Skipping profile log record with a bad checksum at offset "
+                        + position + " (player " + playerId + ") in " + file);
+                position = next;
+                continue;
+            }
+            Entry previous = type == PUT
+                    ? index.put(playerId, new Entry(position, length))
+                    : index.remove(playerId);
+            if (previous != null) {
+                liveBytes -= previous.size();
+            }
+            if (type == PUT) {
+                liveBytes += recordSize(length);
+            }
+            position = next;
+        }
+        if (position < size) {
+            System.err.println("[TalaniaCore] Truncating " + (size - position)
+                    + " byte(s) of incomplete profile log records in " + file);
+            channel.truncate(position);
+        }
+        end = position;
+    }
+
+    /**
+     * True if every byte from {@code from} to {@code size} is zero.
+     */
+    private boolean isZeroFilled(long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            if (size - position < buffer.capacity()) {
+                buffer.limit((int) (size - position));
+            }
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) != 0) {
+                    return false;
+                }
+            }
+            position += read;
+        }
+        return true;
+    }
+
+    /**
+     * Copy the log to {@code <file>.corrupt-<millis>} before a damaged record
+     * is skipped, since the next compaction drops it for good.
+     */
+    private void backUp() throws IOException {
+        Path copy = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        Files.copy(file, copy, StandardCopyOption.COPY_ATTRIBUTES);
+        System.err.println("[TalaniaCore] Copied damaged profile log to " + copy);
+    }
+
+    private long append(byte type, UUID playerId, byte[] data) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(recordSize(data.length));
+        record.put(type)
+                .putLong(playerId.getMostSignificantBits())
+                .putLong(playerId.getLeastSignificantBits())
+                .putInt(data.length)
+                .put(data);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, RECORD_HEADER + data.length);
+        record.putInt((int) crc.getValue());
+        record.flip();
+        long offset = end;
+        writeFully(channel, record, offset);
+        end = offset + record.limit();
+        return offset;
+    }
+
+    private void maybeCompact() {
+        if (scanning > 0 || closed) {
+            return;
+        }
+        long dead = end - FILE_HEADER - liveBytes;
+        if (dead < compactionMinBytes || dead <= liveBytes) {
+            return;
+        }
+        try {
+            compact();
+        } catch (IOException e) {
+            System.err.println("[TalaniaCore] Profile log compaction failed: " + e.getMessage());
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Profile log is closed: " + file);
+        }
+    }
+
+    private static int recordSize(int length) {
+        return RECORD_HEADER + length + RECORD_TRAILER;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of profile log");
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static final class Entry {
+        private final long offset;
+        private final int length;
+
+        private Entry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private int size() {
+            return recordSize(length);
+        }
+    }
+}
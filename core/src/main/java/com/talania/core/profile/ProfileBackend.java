@@ -0,0 +1,65 @@
+package com.talania.core.profile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Storage for encoded profile records, keyed by player UUID.
+ *
+ * <p>Backends deal in opaque bytes; {@link TalaniaProfileStore} owns the
+ * encoding. Implementations must be safe to call from the profile IO pool
+ * and the background writer at the same time, and a {@link #write} must
+ * either fully replace the record or leave the old one intact.</p>
+ */
+public interface ProfileBackend extends Closeable {
+
+    /**
+     * Receives records during {@link #scan(RecordVisitor)}.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(UUID playerId, byte[] data) throws IOException;
+    }
+
+    /**
+     * Stored record for a player, or null if there is none.
+     */
+    byte[] read(UUID playerId) throws IOException;
+
+    /**
+     * Replace a player's record.
+     */
+    void write(UUID playerId, byte[] data) throws IOException;
+
+    /**
+     * Remove a player's record.
+     *
+     * @return true if a record existed
+     */
+    boolean delete(UUID playerId) throws IOException;
+
+    boolean contains(UUID playerId) throws IOException;
+
+    /**
+     * Visit the id of every stored record without loading the records.
+     */
+    void forEachId(Consumer<UUID> action) throws IOException;
+
+    /**
+     * Visit every stored record, one at a time.
+     */
+    void scan(RecordVisitor visitor) throws IOException;
+
+    /**
+     * Make completed writes durable.
+     */
+    default void flush() throws IOException {
+    }
+
+    @Override
+    default void close() throws IOException {
+        flush();
+    }
+}
@@ -0,0 +1,158 @@
+package com.talania.core.profile;
+
+import com.talania.core.progression.LevelProgress;
+import com.talania.core.stats.StatType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of {@link TalaniaPlayerProfile}.
+ *
+ * <p>Layout (big-endian):</p>
+ * <pre>
+ * int    magic "TLNP"
+ * short  version
+ * byte   flags (1 = race present, 2 = class present)
+ * utf    race, class          (when flagged)
+ * short  n; float[n]          base stats by {@link ProfileStatIds} code, NaN = unset
+ * short  m; (utf id, float)*m base stats without a stable code
+ * short  k; (utf class, int level, long xp)*k class progress
+ * </pre>
+ *
+ * <p>Floats are stored raw, so values round-trip exactly.</p>
+ */
+final class ProfileBinaryCodec {
+    static final int MAGIC = 0x544C4E50;
+
+    private static final int FLAG_RACE = 1;
+    private static final int FLAG_CLASS = 2;
+
+    private ProfileBinaryCodec() {
+    }
+
+    /**
+     * Whether the data starts with the binary profile header.
+     */
+    static boolean isBinary(byte[] data) {
+        return data != null && data.length >= 4
+                && ((data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF)) == MAGIC;
+    }
+
+    static byte[] encode(TalaniaPlayerProfile profile) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + ProfileStatIds.size() * 4);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(ProfileVersions.CURRENT);
+            int flags = (profile.raceId() != null ? FLAG_RACE : 0) | (profile.classId() != null ? FLAG_CLASS : 0);
+            out.writeByte(flags);
+            if (profile.raceId() != null) {
+                out.writeUTF(profile.raceId());
+            }
+            if (profile.classId() != null) {
+                out.writeUTF(profile.classId());
+            }
+
+            Map<StatType, Float> stats = profile.baseStats();
+            int codes = ProfileStatIds.size();
+            out.writeShort(codes);
+            List<StatType> uncoded = null;
+            for (int code = 0; code < codes; code++) {
+                StatType stat = ProfileStatIds.stat(code);
+                Float value = stat != null ? stats.get(stat) : null;
+                out.writeFloat(value != null ? value : Float.NaN);
+            }
+            for (StatType stat : stats.keySet()) {
+                if (ProfileStatIds.code(stat) == ProfileStatIds.NONE) {
+                    if (uncoded == null) {
+                        uncoded = new ArrayList<>();
+                    }
+                    uncoded.add(stat);
+                }
+            }
+            out.writeShort(uncoded != null ? uncoded.size() : 0);
+            if (uncoded != null) {
+                for (StatType stat : uncoded) {
+                    out.writeUTF(stat.getId());
+                    out.writeFloat(stats.get(stat));
+                }
+            }
+
+            Map<String, LevelProgress> classes = profile.classProgress();
+            out.writeShort(classes.size());
+            for (Map.Entry<String, LevelProgress> entry : classes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().level());
+                out.writeLong(entry.getValue().xp());
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw.
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode onto a profile that already holds defaults. Unset stats keep
+     * their default; the profile's version is the stored version, so run
+     * {@link ProfileVersions#upgrade(TalaniaPlayerProfile)} afterwards.
+     *
+     * @throws IOException if the data is truncated or not a supported binary profile
+     */
+    static void decode(byte[] data, TalaniaPlayerProfile profile) throws IOException {
+        if (!isBinary(data)) {
+            throw new IOException("Not a binary profile");
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 4, data.length - 4));
+        int version = in.readUnsignedShort();
+        if (version < ProfileVersions.BINARY_V2 || version > ProfileVersions.CURRENT) {
+            throw new IOException("Unsupported binary profile version " + version);
+        }
+        profile.setProfileVersion(version);
+        int flags = in.readUnsignedByte();
+        profile.setRaceId((flags & FLAG_RACE) != 0 ? in.readUTF() : null);
+        profile.setClassId((flags & FLAG_CLASS) != 0 ? in.readUTF() : null);
+
+        int codes = in.readUnsignedShort();
+        for (int code = 0; code < codes; code++) {
+            float value = in.readFloat();
+            StatType stat = ProfileStatIds.stat(code);
+            if (stat != null && !Float.isNaN(value)) {
+                profile.setBaseStat(stat, value);
+            }
+        }
+        int uncoded = in.readUnsignedShort();
+        for (int i = 0; i < uncoded; i++) {
+            StatType stat = StatType.fromId(in.readUTF());
+            float value = in.readFloat();
+            if (stat != null) {
+                profile.setBaseStat(stat, value);
+            }
+        }
+
+        int classes = in.readUnsignedShort();
+        for (int i = 0; i < classes; i++) {
+            String classId = in.readUTF();
+            LevelProgress progress = profile.getOrCreateClassProgress(classId);
+            progress.setLevel(in.readInt());
+            progress.setXp(in.readLong());
+        }
+    }
+
+    /**
+     * Decode into a fresh default profile.
+     */
+    static TalaniaPlayerProfile decode(UUID playerId, byte[] data) throws IOException {
+        TalaniaPlayerProfile profile = TalaniaProfileStore.createDefaultProfile(playerId);
+        decode(data, profile);
+        return profile;
+    }
+}
@@ -0,0 +1,134 @@
+package com.talania.core.profile;
+
+import com.talania.core.progression.LevelProgress;
+import com.talania.core.stats.StatType;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * BSON-backed JSON form of a profile.
+ *
+ * <p>Reads the legacy {@link ProfileVersions#JSON_V1} profile files so they
+ * can be migrated to the binary format, and writes a human-readable export
+ * for debugging. Runtime persistence uses {@link ProfileBinaryCodec}.</p>
+ */
+final class ProfileJsonCodec {
+    private ProfileJsonCodec() {
+    }
+
+    /**
+     * Parse a JSON profile into a fresh default profile. The profile keeps
+     * the stored version; upgrade it afterwards.
+     */
+    static TalaniaPlayerProfile decode(UUID playerId, String json) {
+        BsonDocument document = BsonDocument.parse(json);
+        TalaniaPlayerProfile profile = TalaniaProfileStore.createDefaultProfile(playerId);
+        profile.setProfileVersion(readInt(document.get("version"), ProfileVersions.JSON_V1));
+        profile.setRaceId(readString(document.get("race"), null));
+        profile.setClassId(readString(document.get("class"), null));
+
+        BsonDocument statsDoc = readDocument(document.get("baseStats"));
+        if (statsDoc != null) {
+            for (Map.Entry<String, BsonValue> entry : statsDoc.entrySet()) {
+                StatType stat = StatType.fromId(entry.getKey());
+                if (stat == null || entry.getValue() == null || !entry.getValue().isNumber()) {
+                    continue;
+                }
+                profile.setBaseStat(stat, (float) entry.getValue().asNumber().doubleValue());
+            }
+        }
+
+        BsonDocument classesDoc = readDocument(document.get("classProgress"));
+        if (classesDoc != null) {
+            for (Map.Entry<String, BsonValue> entry : classesDoc.entrySet()) {
+                BsonDocument progressDoc = readDocument(entry.getValue());
+                if (progressDoc == null) {
+                    continue;
+                }
+                LevelProgress progress = profile.getOrCreateClassProgress(entry.getKey());
+                progress.setLevel(readInt(progressDoc.get("level"), 0));
+                progress.setXp(readLong(progressDoc.get("xp"), 0L));
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Serialize a profile to BSON for export.
+     */
+    static BsonDocument encode(TalaniaPlayerProfile profile) {
+        BsonDocument document = new BsonDocument();
+        document.put("version", new BsonInt32(profile.profileVersion()));
+        if (profile.raceId() != null) {
+            document.put("race", new BsonString(profile.raceId()));
+        }
+        if (profile.classId() != null) {
+            document.put("class", new BsonString(profile.classId()));
+        }
+
+        BsonDocument stats = new BsonDocument();
+        for (StatType stat : StatType.values()) {
+            stats.put(stat.getId(), new BsonDouble(profile.getBaseStat(stat, 0.0f)));
+        }
+        document.put("baseStats", stats);
+
+        if (!profile.classProgress().isEmpty()) {
+            BsonDocument classes = new BsonDocument();
+            for (Map.Entry<String, LevelProgress> entry : profile.classProgress().entrySet()) {
+                BsonDocument progress = new BsonDocument();
+                progress.put("level", new BsonInt32(entry.getValue().level()));
+                progress.put("xp", new BsonInt64(entry.getValue().xp()));
+                classes.put(entry.getKey(), progress);
+            }
+            document.put("classProgress", classes);
+        }
+        return document;
+    }
+
+    /**
+     * Read an int from a BSON value with fallback.
+     */
+    private static int readInt(BsonValue value, int fallback) {
+        if (value == null || !value.isNumber()) {
+            return fallback;
+        }
+        return value.asNumber().intValue();
+    }
+
+    /**
+     * Read a long from a BSON value with fallback.
+     */
+    private static long readLong(BsonValue value, long fallback) {
+        if (value == null || !value.isNumber()) {
+            return fallback;
+        }
+        return value.asNumber().longValue();
+    }
+
+    /**
+     * Read a string from a BSON value with fallback.
+     */
+    private static String readString(BsonValue value, String fallback) {
+        if (value == null || !value.isString()) {
+            return fallback;
+        }
+        return value.asString().getValue();
+    }
+
+    /**
+     * Read a BSON document from a value if present.
+     */
+    private static BsonDocument readDocument(BsonValue value) {
+        if (value instanceof BsonDocument doc) {
+            return doc;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.talania.core.profile;
+
+/**
+ * Offline transformation applied to every stored profile by
+ * {@link ProfileMigrationTool}.
+ *
+ * <p>Implementations run on several threads at once, each call on its own
+ * profile; keep shared state thread-safe. Classes passed to the tool's
+ * command line need a public no-arg constructor.</p>
+ */
+@FunctionalInterface
+public interface ProfileMigration {
+
+    /**
+     * Migrate one profile in place.
+     *
+     * @return true if the profile changed and should be written back
+     */
+    boolean migrate(TalaniaPlayerProfile profile);
+}
@@ -0,0 +1,432 @@
+package com.talania.core.profile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Offline scanner that applies a {@link ProfileMigration} to every stored profile.
+ *
+ * <p>Run it against a copy of the server data directory while no server is
+ * using it:</p>
+ * <pre>
+ * java -cp TalaniaCore.jar:my-migrations.jar com.talania.core.profile.ProfileMigrationTool \
+ *     &lt;dataDirectory&gt; --migration com.example.RebalanceStats [--backend file|log]
+ *     [--log-file profiles.log] [--threads N] [--dry-run]
+ * </pre>
+ *
+ * <p>The profiles directory is listed before anything is written, since
+ * the tool creates and replaces files in that same directory and a live
+ * directory stream could return them again. Only the paths are held; records
+ * are processed in chunks of {@link #CHUNK_SIZE}, each split across a
+ * fork-join pool one record per worker, so memory stays bounded by the
+ * number of file names rather than their contents. Changed profiles are written back through the backend (atomic
+ * rename for files, CRC-checked append for the log). Legacy JSON files, and
+ * {@code <uuid>.profile} files when the backend is not per-file, are
+ * upgraded and moved into the backend. Without {@code --migration} the tool
+ * only validates and reports.</p>
+ */
+public final class ProfileMigrationTool {
+    /** Directory entries (or log records) held in memory at once. */
+    static final int CHUNK_SIZE = 1024;
+    /** Items a fork-join leaf handles without splitting further. */
+    private static final int LEAF_SIZE = 16;
+    /** Per-file error messages kept for the report; later errors are only counted. */
+    private static final int MAX_ERROR_MESSAGES = 1000;
+
+    private final ProfileBackend backend;
+    private final Path profilesDirectory;
+    private final ProfileMigration migration;
+    private final boolean dryRun;
+    private final ForkJoinPool pool;
+
+    private final LongAdder scanned = new LongAdder();
+    private final LongAdder changed = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final AtomicInteger errorCount = new AtomicInteger();
+    private final Queue<String> errors = new ConcurrentLinkedQueue<>();
+    private boolean deferWrites;
+
+    public ProfileMigrationTool(ProfileBackend backend, Path profilesDirectory, ProfileMigration migration,
+                                int threads, boolean dryRun) {
+        this.backend = backend;
+        this.profilesDirectory = profilesDirectory;
+        this.migration = migration != null ? migration : profile -> false;
+        this.dryRun = dryRun;
+        this.pool = new ForkJoinPool(Math.max(1, threads));
+    }
+
+    /**
+     * Scan every stored profile and apply the migration.
+     */
+    public Report run() throws IOException {
+        long started = System.nanoTime();
+        try {
+            if (!(backend instanceof FileProfileBackend)) {
+                scanBackend();
+            }
+            scanDirectory();
+            backend.flush();
+        } finally {
+            pool.shutdown();
+        }
+        return new Report(scanned.sum(), changed.sum(), written.sum(), skipped.sum(), bytesRead.sum(),
+                errorCount.get(), new ArrayList<>(errors), System.nanoTime() - started, dryRun);
+    }
+
+    /**
+     * Walk the profiles directory: binary record files and legacy JSON files.
+     * With a non-file backend, binary record files are left from before a
+     * backend switch and are moved into the backend like legacy files.
+     */
+    private void scanDirectory() throws IOException {
+        if (!Files.isDirectory(profilesDirectory)) {
+            return;
+        }
+        String glob = "*{" + FileProfileBackend.SUFFIX + "," + TalaniaProfileStore.LEGACY_SUFFIX + "}";
+        // Snapshot first: files written or renamed below must not be picked up (and migrated) again.
+        List<Path> listed = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(profilesDirectory, glob)) {
+            for (Path file : files) {
+                listed.add(file);
+            }
+        }
+        List<Item> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (Path file : listed) {
+            UUID playerId = FileProfileBackend.idOf(file);
+            if (playerId == null) {
+                continue;
+            }
+            boolean legacy = file.getFileName().toString().endsWith(TalaniaProfileStore.LEGACY_SUFFIX);
+            chunk.add(new Item(playerId, file, null, legacy));
+            if (chunk.size() == CHUNK_SIZE) {
+                process(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        process(chunk);
+    }
+
+    /**
+     * Read records sequentially from a non-file backend and fan each chunk
+     * out to the pool.
+     */
+    private void scanBackend() throws IOException {
+        // The backend is busy reading during scan(); workers hand results back for the scanning thread to write.
+        deferWrites = true;
+        List<Item> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<List<Item>> holder = new ArrayList<>(1);
+        holder.add(chunk);
+        backend.scan((playerId, data) -> {
+            List<Item> current = holder.get(0);
+            current.add(new Item(playerId, null, data, false));
+            if (current.size() == CHUNK_SIZE) {
+                process(current);
+                holder.set(0, new ArrayList<>(CHUNK_SIZE));
+            }
+        });
+        process(holder.get(0));
+        deferWrites = false;
+    }
+
+    private void process(List<Item> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        pool.invoke(new Batch(chunk, 0, chunk.size()));
+        if (!deferWrites) {
+            return;
+        }
+        for (Item item : chunk) {
+            if (item.result == null) {
+                continue;
+            }
+            try {
+                backend.write(item.playerId, item.result);
+                written.increment();
+            } catch (IOException e) {
+                recordError(item, e);
+            }
+        }
+    }
+
+    private void processItem(Item item) {
+        try {
+            // Legacy JSON, or a per-file record the configured backend does not own.
+            boolean foreign = item.file != null && (item.legacy || !(backend instanceof FileProfileBackend));
+            if (foreign && backend.contains(item.playerId)) {
+                // A record in the backend already supersedes this stale file.
+                skipped.increment();
+                return;
+            }
+            byte[] data = item.data != null ? item.data : Files.readAllBytes(item.file);
+            bytesRead.add(data.length);
+            TalaniaPlayerProfile profile = item.legacy
+                    ? ProfileJsonCodec.decode(item.playerId, new String(data, StandardCharsets.UTF_8))
+                    : ProfileBinaryCodec.decode(item.playerId, data);
+            boolean upgraded = ProfileVersions.upgrade(profile);
+            boolean migrated = migration.migrate(profile);
+            scanned.increment();
+            if (!upgraded && !migrated && !foreign) {
+                return;
+            }
+            changed.increment();
+            if (dryRun) {
+                return;
+            }
+            if (deferWrites) {
+                item.result = ProfileBinaryCodec.encode(profile);
+                return;
+            }
+            backend.write(item.playerId, ProfileBinaryCodec.encode(profile));
+            if (foreign) {
+                Files.deleteIfExists(item.file);
+            }
+            written.increment();
+        } catch (Exception e) {
+            recordError(item, e);
+        }
+    }
+
+    private void recordError(Item item, Exception error) {
+        if (errorCount.incrementAndGet() <= MAX_ERROR_MESSAGES) {
+            String source = item.file != null ? item.file.getFileName().toString() : item.playerId.toString();
+            errors.add(source + ": " + error);
+        }
+    }
+
+    private final class Batch extends RecursiveAction {
+        private final List<Item> items;
+        private final int from;
+        private final int to;
+
+        private Batch(List<Item> items, int from, int to) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    processItem(items.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Batch(items, from, middle), new Batch(items, middle, to));
+        }
+    }
+
+    private static final class Item {
+        private final UUID playerId;
+        private final Path file;
+        private final byte[] data;
+        private final boolean legacy;
+        private byte[] result;
+
+        private Item(UUID playerId, Path file, byte[] data, boolean legacy) {
+            this.playerId = playerId;
+            this.file = file;
+            this.data = data;
+            this.legacy = legacy;
+        }
+    }
+
+    /**
+     * Outcome of a run.
+     */
+    public static final class Report {
+        private final long scanned;
+        private final long changed;
+        private final long written;
+        private final long skipped;
+        private final long bytesRead;
+        private final int errorCount;
+        private final List<String> errors;
+        private final long elapsedNanos;
+        private final boolean dryRun;
+
+        Report(long scanned, long changed, long written, long skipped, long bytesRead, int errorCount,
+               List<String> errors, long elapsedNanos, boolean dryRun) {
+            this.scanned = scanned;
+            this.changed = changed;
+            this.written = written;
+            this.skipped = skipped;
+            this.bytesRead = bytesRead;
+            this.errorCount = errorCount;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.dryRun = dryRun;
+        }
+
+        public long scanned() {
+            return scanned;
+        }
+
+        public long changed() {
+            return changed;
+        }
+
+        public long written() {
+            return written;
+        }
+
+        /**
+         * Legacy JSON or per-file records ignored because the backend already
+         * holds a record for the player.
+         */
+        public long skipped() {
+            return skipped;
+        }
+
+        public long bytesRead() {
+            return bytesRead;
+        }
+
+        public int errorCount() {
+            return errorCount;
+        }
+
+        /**
+         * Per-file error messages (only the first 1000 are kept).
+         */
+        public List<String> errors() {
+            return errors;
+        }
+
+        public long elapsedMillis() {
+            return elapsedNanos / 1_000_000L;
+        }
+
+        public double profilesPerSecond() {
+            return elapsedNanos == 0L ? 0.0 : scanned * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public double megabytesPerSecond() {
+            return elapsedNanos == 0L ? 0.0 : bytesRead / (1024.0 * 1024.0) * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "Scanned %d profile(s), %.1f MB in %d ms (%.0f profiles/s, %.1f MB/s); "
+                            + "changed %d, written %d%s, skipped %d, errors %d",
+                    scanned, bytesRead / (1024.0 * 1024.0), elapsedMillis(), profilesPerSecond(),
+                    megabytesPerSecond(), changed, written, dryRun ? " (dry run)" : "", skipped, errorCount);
+        }
+    }
+
+    // ==================== COMMAND LINE ====================
+
+    public static void main(String[] args) {
+        System.exit(runCommandLine(args));
+    }
+
+    /**
+     * Parse arguments, run the tool and print the report.
+     *
+     * @return process exit code: 0 on success, 1 if any profile failed, 2 on bad usage
+     */
+    static int runCommandLine(String[] args) {
+        Path dataDirectory = null;
+        String migrationClass = null;
+        ProfileSettings settings = new ProfileSettings();
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean dryRun = false;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            boolean hasValue = i + 1 < args.length;
+            switch (arg) {
+                case "--migration" -> {
+                    if (!hasValue) {
+                        return usage("--migration needs a class name");
+                    }
+                    migrationClass = args[++i];
+                }
+                case "--backend" -> {
+                    if (!hasValue) {
+                        return usage("--backend needs 'file' or 'log'");
+                    }
+                    settings.backend = args[++i];
+                }
+                case "--log-file" -> {
+                    if (!hasValue) {
+                        return usage("--log-file needs a file name");
+                    }
+                    settings.logFileName = args[++i];
+                }
+                case "--threads" -> {
+                    if (!hasValue) {
+                        return usage("--threads needs a number");
+                    }
+                    try {
+                        threads = Integer.parseInt(args[++i]);
+                    } catch (NumberFormatException e) {
+                        return usage("--threads needs a number");
+                    }
+                }
+                case "--dry-run" -> dryRun = true;
+                default -> {
+                    if (arg.startsWith("--") || dataDirectory != null) {
+                        return usage("Unexpected argument: " + arg);
+                    }
+                    dataDirectory = Paths.get(arg);
+                }
+            }
+        }
+        if (dataDirectory == null) {
+            return usage("Missing data directory");
+        }
+
+        ProfileMigration migration = null;
+        if (migrationClass != null) {
+            try {
+                migration = (ProfileMigration) Class.forName(migrationClass).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                System.err.println("Cannot create migration " + migrationClass + ": " + e);
+                return 2;
+            }
+        }
+
+        Path profilesDirectory = TalaniaProfileStore.profilesDirectory(dataDirectory);
+        Report report;
+        try (ProfileBackend backend = settings.createBackend(profilesDirectory)) {
+            report = new ProfileMigrationTool(backend, profilesDirectory, migration, threads, dryRun).run();
+        } catch (IOException e) {
+            System.err.println("Profile scan failed: " + e);
+            return 1;
+        }
+        System.out.println(report);
+        for (String error : report.errors()) {
+            System.out.println("  ERROR " + error);
+        }
+        if (report.errorCount() > report.errors().size()) {
+            System.out.println("  ... and " + (report.errorCount() - report.errors().size()) + " more error(s)");
+        }
+        return report.errorCount() == 0 ? 0 : 1;
+    }
+
+    private static int usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: ProfileMigrationTool <dataDirectory> [--migration <class>] [--backend file|log]"
+                + " [--log-file <name>] [--threads <n>] [--dry-run]");
+        return 2;
+    }
+}
@@ -0,0 +1,35 @@
+package com.talania.core.profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Settings for profile persistence ({@code config/profile_settings.json}).
+ */
+public final class ProfileSettings {
+    public static final String BACKEND_FILE = "file";
+    public static final String BACKEND_LOG = "log";
+
+    /** {@code "file"} (one file per player) or {@code "log"} (single log file). */
+    public String backend = BACKEND_FILE;
+    /** Log file name inside the profiles directory, for the log backend. */
+    public String logFileName = "profiles.log";
+    /** Dead bytes required before the log backend compacts automatically. */
+    public int logCompactionMinMb = 16;
+
+    /**
+     * Create the configured backend for a profiles directory.
+     */
+    public ProfileBackend createBackend(Path profilesDirectory) throws IOException {
+        String type = backend != null ? backend.trim().toLowerCase(Locale.ROOT) : BACKEND_FILE;
+        if (BACKEND_LOG.equals(type)) {
+            return new LogProfileBackend(profilesDirectory.resolve(logFileName),
+                    Math.max(0, logCompactionMinMb) * 1024L * 1024L);
+        }
+        if (!BACKEND_FILE.equals(type)) {
+            System.err.println("[TalaniaCore] Unknown profile backend '" + backend + "', using '" + BACKEND_FILE + "'");
+        }
+        return new FileProfileBackend(profilesDirectory);
+    }
+}
@@ -0,0 +1,99 @@
+package com.talania.core.profile;
+
+import com.talania.core.stats.StatType;
+
+import java.util.Arrays;
+
+/**
+ * Stable numbering of stats for the binary profile format.
+ *
+ * <p>Codes are positions in {@link #IDS}, independent of {@link StatType}
+ * ordinals, so reordering the enum never corrupts stored profiles. The table
+ * is append-only: add new stat ids at the end and never remove or reorder
+ * entries. Stats missing from the table are still saved, by string id.</p>
+ */
+final class ProfileStatIds {
+    /** No stable code assigned. */
+    static final int NONE = -1;
+
+    private static final String[] IDS = {
+            "health",
+            "mana",
+            "stamina",
+            "energy_shield_max",
+            "energy_shield_recharge",
+            "energy_shield_recharge_delay",
+            "attack",
+            "magic_attack",
+            "melee_damage_mult",
+            "ranged_damage_mult",
+            "magic_damage_mult",
+            "sprint_damage_mult",
+            "flat_damage_reduction",
+            "stamina_drain_mult",
+            "crit_chance",
+            "crit_damage",
+            "attack_speed",
+            "lifesteal",
+            "armor",
+            "magic_resist",
+            "dodge_chance",
+            "fall_resistance",
+            "fire_resistance",
+            "poison_resistance",
+            "lightning_resistance",
+            "holy_resistance",
+            "void_resistance",
+            "blocking_efficiency",
+            "melee_damage_taken_mult",
+            "ranged_damage_taken_mult",
+            "magic_damage_taken_mult",
+            "move_speed",
+            "jump_height",
+            "player_scale",
+            "health_regen",
+            "healing_received_mult",
+            "mana_regen",
+            "stamina_regen",
+            "xp_bonus",
+            "luck"
+    };
+
+    private static final StatType[] BY_CODE = new StatType[IDS.length];
+    private static final int[] BY_ORDINAL = new int[StatType.values().length];
+
+    static {
+        Arrays.fill(BY_ORDINAL, NONE);
+        for (int code = 0; code < IDS.length; code++) {
+            StatType stat = StatType.fromId(IDS[code]);
+            BY_CODE[code] = stat;
+            if (stat != null) {
+                BY_ORDINAL[stat.ordinal()] = code;
+            }
+        }
+    }
+
+    private ProfileStatIds() {
+    }
+
+    /**
+     * Number of codes in the table.
+     */
+    static int size() {
+        return IDS.length;
+    }
+
+    /**
+     * Stat for a code, or null if the code is unknown or its stat was removed.
+     */
+    static StatType stat(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    /**
+     * Stable code for a stat, or {@link #NONE}.
+     */
+    static int code(StatType stat) {
+        return stat != null ? BY_ORDINAL[stat.ordinal()] : NONE;
+    }
+}
@@ -0,0 +1,56 @@
+package com.talania.core.profile;
+
+import java.util.function.Consumer;
+
+/**
+ * Profile schema versions and the upgrade chain between them.
+ *
+ * <p>Each step upgrades a decoded profile from version {@code n} to
+ * {@code n + 1}; {@link #upgrade(TalaniaPlayerProfile)} runs every step from
+ * the stored version up to {@link #CURRENT}. Decoders only need to read the
+ * layout of the version they find, never transform data.</p>
+ */
+final class ProfileVersions {
+    /** Legacy JSON files ({@code <uuid>.json}): race and base stats only. */
+    static final int JSON_V1 = 1;
+    /** Binary format with the stable stat table, class id and class progress. */
+    static final int BINARY_V2 = 2;
+    static final int CURRENT = BINARY_V2;
+
+    private static final Consumer<TalaniaPlayerProfile>[] STEPS = newStepTable(CURRENT);
+
+    static {
+        // v1 -> v2: v1 never stored class data, so defaults already apply.
+        STEPS[JSON_V1] = profile -> { };
+    }
+
+    private ProfileVersions() {
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Consumer<TalaniaPlayerProfile>[] newStepTable(int length) {
+        return new Consumer[length];
+    }
+
+    /**
+     * Upgrade a profile in place to {@link #CURRENT}.
+     *
+     * @return true if any step ran, meaning the profile should be rewritten
+     * @throws IllegalStateException if the stored version is newer than this build
+     */
+    static boolean upgrade(TalaniaPlayerProfile profile) {
+        int version = profile.profileVersion();
+        if (version > CURRENT) {
+            throw new IllegalStateException("Profile " + profile.playerId() + " has version " + version
+                    + ", newer than supported version " + CURRENT);
+        }
+        if (version == CURRENT) {
+            return false;
+        }
+        for (int step = Math.max(JSON_V1, version); step < CURRENT; step++) {
+            STEPS[step].accept(profile);
+        }
+        profile.setProfileVersion(CURRENT);
+        return true;
+    }
+}
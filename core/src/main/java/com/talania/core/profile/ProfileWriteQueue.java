@@ -0,0 +1,204 @@
+package com.talania.core.profile;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind queue that persists profile snapshots on a background thread.
+ *
+ * <p>Each player has at most one pending snapshot: submitting again before
+ * the writer reaches it replaces the snapshot instead of queueing a second
+ * write, so respec storms collapse into one file write per player. The
+ * writer handles queued players in FIFO order; {@link #flush(long)} is a
+ * barrier for everything submitted before the call. Write failures are
+ * logged and retried a few times before the snapshot is dropped.</p>
+ */
+final class ProfileWriteQueue {
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Object STOP = new Object();
+
+    private final TalaniaProfileStore store;
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<Object> order = new LinkedBlockingQueue<>();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread writer;
+    private volatile TalaniaPlayerProfile inFlight;
+    private volatile boolean running = true;
+
+    ProfileWriteQueue(TalaniaProfileStore store) {
+        this.store = store;
+        this.writer = new Thread(this::run, "TalaniaCore-ProfileWriter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queue a snapshot for writing, replacing any snapshot still waiting for
+     * the same player. Writes synchronously once the queue has shut down.
+     */
+    void submit(TalaniaPlayerProfile snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        if (!running) {
+            store.saveProfile(snapshot);
+            return;
+        }
+        if (pending.put(snapshot.playerId(), new Pending(snapshot, 1)) != null) {
+            coalesced.incrementAndGet();
+            return;
+        }
+        order.offer(snapshot.playerId());
+    }
+
+    /**
+     * Block until the writer has attempted every snapshot submitted before
+     * this call, or the timeout elapses. Failed writes are retried after the
+     * barrier; {@link #shutdown(long)} makes a final synchronous attempt.
+     *
+     * @return true if the barrier was reached in time
+     */
+    boolean flush(long timeoutMs) {
+        if (!writer.isAlive()) {
+            return pending.isEmpty();
+        }
+        CountDownLatch barrier = new CountDownLatch(1);
+        order.offer(barrier);
+        try {
+            return barrier.await(Math.max(0L, timeoutMs), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Flush pending writes and stop the writer thread. Later submissions are
+     * written synchronously.
+     *
+     * @return true if every pending write completed before the timeout
+     */
+    boolean shutdown(long timeoutMs) {
+        boolean flushed = flush(timeoutMs);
+        running = false;
+        order.offer(STOP);
+        try {
+            writer.join(Math.max(1L, timeoutMs));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything the writer did not reach is written here rather than lost.
+        for (UUID playerId : pending.keySet()) {
+            Pending entry = pending.remove(playerId);
+            if (entry != null) {
+                store.saveProfile(entry.snapshot);
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * Newest snapshot for a player that may not be on disk yet (queued or
+     * being written), or null. Loads use it so a quick reconnect never reads
+     * a stale file.
+     */
+    TalaniaPlayerProfile latest(UUID playerId) {
+        Pending entry = pending.get(playerId);
+        if (entry != null) {
+            return entry.snapshot;
+        }
+        TalaniaPlayerProfile writing = inFlight;
+        return writing != null && writing.playerId().equals(playerId) ? writing : null;
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    long writtenCount() {
+        return written.get();
+    }
+
+    long coalescedCount() {
+        return coalesced.get();
+    }
+
+    long failedCount() {
+        return failed.get();
+    }
+
+    private void run() {
+        while (true) {
+            Object next;
+            try {
+                next = order.take();
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (next == STOP) {
+                return;
+            }
+            if (next instanceof CountDownLatch barrier) {
+                flushStore();
+                barrier.countDown();
+            } else if (next instanceof UUID playerId) {
+                write(playerId);
+            }
+        }
+    }
+
+    private void flushStore() {
+        try {
+            store.flush();
+        } catch (IOException e) {
+            System.err.println("[TalaniaCore] Failed to flush profile store: " + e.getMessage());
+        }
+    }
+
+    private void write(UUID playerId) {
+        Pending entry;
+        do {
+            entry = pending.get(playerId);
+            if (entry == null) {
+                return;
+            }
+            // Publish as in-flight before leaving the pending map so latest() never misses it.
+            inFlight = entry.snapshot;
+        } while (!pending.remove(playerId, entry));
+        try {
+            store.writeStoredProfile(entry.snapshot);
+            written.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            if (entry.attempt < MAX_ATTEMPTS
+                    && pending.putIfAbsent(playerId, new Pending(entry.snapshot, entry.attempt + 1)) == null) {
+                // Retry after the rest of the queue; a newer snapshot supersedes the retry.
+                order.offer(playerId);
+                return;
+            }
+            failed.incrementAndGet();
+            System.err.println("[TalaniaCore] Failed to save profile " + playerId
+                    + " after " + entry.attempt + " attempt(s): " + e.getMessage());
+        } finally {
+            inFlight = null;
+        }
+    }
+
+    private static final class Pending {
+        private final TalaniaPlayerProfile snapshot;
+        private final int attempt;
+
+        private Pending(TalaniaPlayerProfile snapshot, int attempt) {
+            this.snapshot = snapshot;
+            this.attempt = attempt;
+        }
+    }
+}
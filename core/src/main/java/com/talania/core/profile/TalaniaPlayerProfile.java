@@ -10,6 +10,12 @@ import java.util.UUID;
 
 /**
  * Persistent player profile for Talania.
+ *
+ * <p>Setters mark the profile dirty so {@link TalaniaProfileRuntime} only
+ * queues a write when something changed, and so does any mutation of a
+ * {@link LevelProgress} handed out by {@link #getOrCreateClassProgress}.
+ * Callers that mutate the maps from {@link #baseStats()} or
+ * {@link #classProgress()} directly should call {@link #markDirty()}.</p>
  */
 public final class TalaniaPlayerProfile {
     private final UUID playerId;
@@ -18,6 +24,8 @@ public final class TalaniaPlayerProfile {
     private String classId;
     private final Map<StatType, Float> baseStats = new EnumMap<>(StatType.class);
     private final Map<String, LevelProgress> classProgress = new HashMap<>();
+    private volatile boolean dirty;
+    private volatile boolean persistable = true;
 
     public TalaniaPlayerProfile(UUID playerId) {
         this.playerId = playerId;
@@ -36,6 +44,7 @@ public final class TalaniaPlayerProfile {
 
     public void setProfileVersion(int profileVersion) {
         this.profileVersion = profileVersion;
+        dirty = true;
     }
 
     /**
@@ -47,6 +56,7 @@ public final class TalaniaPlayerProfile {
 
     public void setRaceId(String raceId) {
         this.raceId = raceId;
+        dirty = true;
     }
 
     /**
@@ -58,6 +68,7 @@ public final class TalaniaPlayerProfile {
 
     public void setClassId(String classId) {
         this.classId = classId;
+        dirty = true;
     }
 
     /**
@@ -79,13 +90,21 @@ public final class TalaniaPlayerProfile {
      */
     public void setBaseStat(StatType stat, float value) {
         baseStats.put(stat, value);
+        dirty = true;
     }
 
     /**
-     * Get or create level progress for a specific class.
+     * Get or create level progress for a specific class. Changes to the
+     * returned progress mark this profile dirty.
      */
     public LevelProgress getOrCreateClassProgress(String classId) {
-        return classProgress.computeIfAbsent(classId, id -> new LevelProgress());
+        LevelProgress progress = classProgress.get(classId);
+        if (progress == null) {
+            progress = new LevelProgress(0, 0L, this::markDirty);
+            classProgress.put(classId, progress);
+            dirty = true;
+        }
+        return progress;
     }
 
     /**
@@ -94,4 +113,54 @@ public final class TalaniaPlayerProfile {
     public Map<String, LevelProgress> classProgress() {
         return classProgress;
     }
+
+    /**
+     * Whether the profile changed since it was loaded or last queued for saving.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Flag the profile for the next save after an untracked mutation.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    void clearDirty() {
+        dirty = false;
+    }
+
+    /**
+     * False for a stand-in profile created because the stored record could
+     * not be read (for example one written by a newer build). Such profiles
+     * are never saved, so the stored record is not overwritten.
+     */
+    public boolean isPersistable() {
+        return persistable;
+    }
+
+    void setPersistable(boolean persistable) {
+        this.persistable = persistable;
+    }
+
+    /**
+     * Detached copy for the background writer, so serialization never reads
+     * state the world thread is mutating.
+     */
+    TalaniaPlayerProfile copy() {
+        TalaniaPlayerProfile copy = new TalaniaPlayerProfile(playerId);
+        copy.profileVersion = profileVersion;
+        copy.raceId = raceId;
+        copy.classId = classId;
+        copy.persistable = persistable;
+        copy.baseStats.putAll(baseStats);
+        for (Map.Entry<String, LevelProgress> entry : classProgress.entrySet()) {
+            LevelProgress progress = entry.getValue();
+            copy.classProgress.put(entry.getKey(),
+                    new LevelProgress(progress.level(), progress.xp(), copy::markDirty));
+        }
+        return copy;
+    }
 }
@@ -4,11 +4,17 @@ import com.talania.core.profile.api.TalaniaProfileApi;
 import com.talania.core.profile.api.TalaniaProfileInfo;
 import com.talania.core.stats.StatType;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Runtime manager for loaded player profiles.
@@ -17,23 +23,112 @@ import java.util.concurrent.ConcurrentHashMap;
  * {@link TalaniaProfileStore}. It does not hook into player lifecycle
  * events automatically; call {@link #load(UUID)} and {@link #unload(UUID, boolean)}
  * from your login/logout handlers.</p>
+ *
+ * <p>Saves are write-behind: {@link #save(UUID)} and {@link #unload(UUID, boolean)}
+ * snapshot dirty profiles on the calling thread and hand the snapshot to a
+ * background writer, so disk IO never runs on the world thread. Call
+ * {@link #shutdown()} when the plugin stops to flush outstanding writes.</p>
+ *
+ * <p>Loads can start early: {@link #loadAsync(UUID)} reads and parses the
+ * file on a small IO pool, so by the time the player is ready the world
+ * thread only applies an already-parsed profile.</p>
  */
 public final class TalaniaProfileRuntime implements TalaniaProfileApi {
+    /** How long {@link #shutdown()} waits for queued writes. */
+    private static final long SHUTDOWN_FLUSH_MS = 10_000L;
+    private static final int IO_THREADS = 2;
+
     private final TalaniaProfileStore store;
+    private final ProfileWriteQueue writeQueue;
+    private final ExecutorService ioExecutor;
     private final Map<UUID, TalaniaPlayerProfile> loaded = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<TalaniaPlayerProfile>> loading = new ConcurrentHashMap<>();
 
     public TalaniaProfileRuntime(Path dataDirectory) {
-        this.store = new TalaniaProfileStore(dataDirectory);
+        this(new TalaniaProfileStore(dataDirectory));
+    }
+
+    public TalaniaProfileRuntime(TalaniaProfileStore store) {
+        this.store = store;
+        this.writeQueue = new ProfileWriteQueue(store);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.ioExecutor = Executors.newFixedThreadPool(IO_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "TalaniaCore-ProfileIO-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
      * Load a profile into memory (or return existing loaded profile).
+     *
+     * <p>Blocks on disk IO unless the profile is already loaded; prefer
+     * {@link #loadAsync(UUID)} on the world thread. If an async load is in
+     * progress this waits for it rather than reading the file twice.</p>
      */
     public TalaniaPlayerProfile load(UUID playerId) {
         if (playerId == null) {
             return null;
         }
-        return loaded.computeIfAbsent(playerId, store::loadProfile);
+        TalaniaPlayerProfile profile = loaded.get(playerId);
+        if (profile != null) {
+            return profile;
+        }
+        CompletableFuture<TalaniaPlayerProfile> pending = loading.get(playerId);
+        if (pending != null) {
+            return pending.join();
+        }
+        return loaded.computeIfAbsent(playerId, this::readLatest);
+    }
+
+    /**
+     * Start loading a profile off-thread, or return the load already running.
+     *
+     * <p>The future completes on an IO thread once the profile is parsed and
+     * registered as loaded; hop back to the world thread before touching
+     * entity state. Call this as early as possible (e.g. on connect) so the
+     * read overlaps the rest of the login.</p>
+     */
+    public CompletableFuture<TalaniaPlayerProfile> loadAsync(UUID playerId) {
+        if (playerId == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        TalaniaPlayerProfile profile = loaded.get(playerId);
+        if (profile != null) {
+            return CompletableFuture.completedFuture(profile);
+        }
+        CompletableFuture<TalaniaPlayerProfile> future = new CompletableFuture<>();
+        CompletableFuture<TalaniaPlayerProfile> existing = loading.putIfAbsent(playerId, future);
+        if (existing != null) {
+            return existing;
+        }
+        // Re-check: a synchronous load may have finished between the first lookup and putIfAbsent.
+        profile = loaded.get(playerId);
+        if (profile != null) {
+            loading.remove(playerId, future);
+            future.complete(profile);
+            return future;
+        }
+        try {
+            ioExecutor.execute(() -> completeLoad(playerId, future));
+        } catch (RejectedExecutionException e) {
+            completeLoad(playerId, future);
+        }
+        return future;
+    }
+
+    /**
+     * Whether a profile is loaded or its async load has finished.
+     */
+    public boolean isReady(UUID playerId) {
+        if (playerId == null) {
+            return false;
+        }
+        if (loaded.containsKey(playerId)) {
+            return true;
+        }
+        CompletableFuture<TalaniaPlayerProfile> pending = loading.get(playerId);
+        return pending != null && pending.isDone();
     }
 
     /**
@@ -44,26 +139,113 @@ public final class TalaniaProfileRuntime implements TalaniaProfileApi {
     }
 
     /**
-     * Save a loaded profile back to disk.
+     * Queue a loaded profile for saving if it has unsaved changes.
      */
     public void save(UUID playerId) {
         TalaniaPlayerProfile profile = get(playerId);
         if (profile != null) {
-            store.saveProfile(profile);
+            enqueue(profile);
         }
     }
 
     /**
-     * Unload a profile, optionally saving it first.
+     * Unload a profile, optionally queueing a save first.
      */
     public void unload(UUID playerId, boolean save) {
         if (playerId == null) {
             return;
         }
+        // An unfinished async load must not register the profile after the player left.
+        loading.remove(playerId);
         TalaniaPlayerProfile profile = loaded.remove(playerId);
         if (save && profile != null) {
-            store.saveProfile(profile);
+            enqueue(profile);
+        }
+    }
+
+    /**
+     * Queue every loaded dirty profile for saving.
+     */
+    public void saveAll() {
+        for (TalaniaPlayerProfile profile : loaded.values()) {
+            enqueue(profile);
+        }
+    }
+
+    /**
+     * Wait until saves queued before this call have been written.
+     *
+     * @return true if the writer caught up before the timeout
+     */
+    public boolean flush(long timeoutMs) {
+        return writeQueue.flush(timeoutMs);
+    }
+
+    /**
+     * Number of profile snapshots waiting for the background writer.
+     */
+    public int pendingWrites() {
+        return writeQueue.pendingCount();
+    }
+
+    public TalaniaProfileStore store() {
+        return store;
+    }
+
+    /**
+     * Save all loaded profiles, flush the write queue, stop the writer and
+     * close the store.
+     */
+    public void shutdown() {
+        ioExecutor.shutdown();
+        saveAll();
+        if (!writeQueue.shutdown(SHUTDOWN_FLUSH_MS)) {
+            System.err.println("[TalaniaCore] Profile writer did not drain within "
+                    + SHUTDOWN_FLUSH_MS + " ms; remaining profiles were written synchronously");
+        }
+        try {
+            store.close();
+        } catch (IOException e) {
+            System.err.println("[TalaniaCore] Failed to close profile store: " + e.getMessage());
+        }
+    }
+
+    private void completeLoad(UUID playerId, CompletableFuture<TalaniaPlayerProfile> future) {
+        TalaniaPlayerProfile profile;
+        try {
+            profile = readLatest(playerId);
+        } catch (RuntimeException e) {
+            loading.remove(playerId, future);
+            future.completeExceptionally(e);
+            return;
+        }
+        if (loading.remove(playerId, future)) {
+            TalaniaPlayerProfile existing = loaded.putIfAbsent(playerId, profile);
+            if (existing != null) {
+                profile = existing;
+            }
+        }
+        future.complete(profile);
+    }
+
+    /**
+     * Read a profile, preferring a snapshot the writer has not persisted yet.
+     */
+    private TalaniaPlayerProfile readLatest(UUID playerId) {
+        TalaniaPlayerProfile unsaved = writeQueue.latest(playerId);
+        if (unsaved != null) {
+            return unsaved.copy();
+        }
+        return store.loadProfile(playerId);
+    }
+
+    private void enqueue(TalaniaPlayerProfile profile) {
+        if (!profile.isDirty() || !profile.isPersistable()) {
+            return;
         }
+        // Clear before copying so a mutation racing the copy re-marks the profile.
+        profile.clearDirty();
+        writeQueue.submit(profile.copy());
     }
 
     /**
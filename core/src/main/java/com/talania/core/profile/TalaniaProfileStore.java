@@ -1,145 +1,208 @@
 package com.talania.core.profile;
 
 import com.talania.core.stats.StatType;
-import org.bson.BsonDocument;
-import org.bson.BsonDouble;
-import org.bson.BsonInt32;
-import org.bson.BsonString;
-import org.bson.BsonValue;
+import org.bson.json.JsonWriterSettings;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Locale;
-import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
- * JSON-backed profile store for Talania player data.
+ * Profile store for Talania player data.
  *
- * <p>Uses BSON documents for structured serialization, matching the existing
- * multiclass-leveling approach.</p>
+ * <p>Profiles are encoded with {@link ProfileBinaryCodec} and kept in a
+ * {@link ProfileBackend}: one {@code talania/<uuid>.profile} file per player
+ * by default, or a single log file ({@link LogProfileBackend}). Legacy
+ * {@code talania/<uuid>.json} files are still read, upgraded through
+ * {@link ProfileVersions} and moved into the backend on the next save. With
+ * any other backend, {@code <uuid>.profile} files left by
+ * {@link FileProfileBackend} are read the same way on a miss and moved on
+ * the next save, so switching backends keeps existing players' data.
+ * {@link #exportJson(TalaniaPlayerProfile)} renders the BSON-backed JSON
+ * form for debugging.</p>
  */
-public final class TalaniaProfileStore {
-    private static final int CURRENT_VERSION = 1;
+public final class TalaniaProfileStore implements Closeable {
+    static final String LEGACY_SUFFIX = ".json";
+
     private final Path profilesDirectory;
+    private final ProfileBackend backend;
+    /** Per-file records from before a backend switch; null when the backend is per-file. */
+    private final FileProfileBackend fileRecords;
 
     public TalaniaProfileStore(Path dataDirectory) {
-        this.profilesDirectory = dataDirectory.resolve("talania");
+        this(dataDirectory, new FileProfileBackend(profilesDirectory(dataDirectory)));
+    }
+
+    public TalaniaProfileStore(Path dataDirectory, ProfileBackend backend) {
+        this.profilesDirectory = profilesDirectory(dataDirectory);
+        this.backend = backend;
+        this.fileRecords = backend instanceof FileProfileBackend ? null : new FileProfileBackend(profilesDirectory);
+    }
+
+    /**
+     * Open a store with the backend chosen in the settings.
+     */
+    public static TalaniaProfileStore open(Path dataDirectory, ProfileSettings settings) throws IOException {
+        ProfileSettings resolved = settings != null ? settings : new ProfileSettings();
+        return new TalaniaProfileStore(dataDirectory, resolved.createBackend(profilesDirectory(dataDirectory)));
+    }
+
+    /**
+     * Directory holding profile data under a plugin data directory.
+     */
+    public static Path profilesDirectory(Path dataDirectory) {
+        return dataDirectory.resolve("talania");
+    }
+
+    public ProfileBackend backend() {
+        return backend;
     }
 
     /**
-     * Load a player profile from disk, or create a default if missing.
+     * Load a player profile, or create a default if missing.
+     *
+     * <p>Profiles upgraded from an older version come back dirty so the next
+     * save rewrites them in the current format. Unreadable records, including
+     * ones newer than {@link ProfileVersions#CURRENT}, are logged and replaced
+     * by a default profile that is not {@linkplain TalaniaPlayerProfile#isPersistable()
+     * persistable}, so saving it never overwrites the stored record.</p>
      */
     public TalaniaPlayerProfile loadProfile(UUID playerId) {
-        Path file = profilePath(playerId);
-        if (!Files.isRegularFile(file)) {
-            return createDefaultProfile(playerId);
-        }
         try {
-            String json = Files.readString(file, StandardCharsets.UTF_8);
-            BsonDocument document = BsonDocument.parse(json);
-            return readProfile(document, playerId);
+            TalaniaPlayerProfile profile = readStoredProfile(playerId);
+            return profile != null ? profile : createDefaultProfile(playerId);
         } catch (Exception ex) {
-            return createDefaultProfile(playerId);
+            System.err.println("[TalaniaCore] Failed to load profile " + playerId + ": " + ex
+                    + "; using defaults for this session and leaving the stored record untouched");
+            TalaniaPlayerProfile fallback = createDefaultProfile(playerId);
+            fallback.setPersistable(false);
+            return fallback;
         }
     }
 
     /**
-     * Save a player profile to disk (best-effort).
+     * Save a player profile synchronously (best-effort).
+     *
+     * <p>Failures are logged rather than thrown so persistence problems do not
+     * crash gameplay. Runtime code should prefer
+     * {@link TalaniaProfileRuntime#save(UUID)}, which writes off-thread.</p>
      */
     public void saveProfile(TalaniaPlayerProfile profile) {
-        Path file = profilePath(profile.playerId());
         try {
-            Files.createDirectories(file.getParent());
-            BsonDocument document = writeProfile(profile);
-            Files.writeString(file, document.toJson(), StandardCharsets.UTF_8);
+            writeStoredProfile(profile);
         } catch (IOException ex) {
-            // Intentionally ignored; persistence failures should not crash gameplay
+            System.err.println("[TalaniaCore] Failed to save profile " + profile.playerId() + ": " + ex.getMessage());
         }
     }
 
-    private Path profilePath(UUID playerId) {
-        return profilesDirectory.resolve(playerId.toString().toLowerCase(Locale.ROOT) + ".json");
+    /**
+     * Decode every stored profile, one at a time. Records that fail to decode
+     * are logged and skipped. Players that only have a legacy JSON file, or
+     * a per-file record not yet moved into another backend, are not included.
+     */
+    public void scan(Consumer<TalaniaPlayerProfile> action) throws IOException {
+        backend.scan((playerId, data) -> {
+            TalaniaPlayerProfile profile;
+            try {
+                profile = decode(playerId, data);
+            } catch (IOException | RuntimeException ex) {
+                System.err.println("[TalaniaCore] Skipping unreadable profile " + playerId + ": " + ex);
+                return;
+            }
+            action.accept(profile);
+        });
     }
 
     /**
-     * Build a new profile with default base stats.
+     * Render a profile as pretty JSON for debugging and support requests.
      */
-    private TalaniaPlayerProfile createDefaultProfile(UUID playerId) {
-        TalaniaPlayerProfile profile = new TalaniaPlayerProfile(playerId);
-        profile.setProfileVersion(CURRENT_VERSION);
-        for (StatType stat : StatType.values()) {
-            profile.setBaseStat(stat, stat.getDefaultValue());
-        }
-        return profile;
+    public String exportJson(TalaniaPlayerProfile profile) {
+        return ProfileJsonCodec.encode(profile).toJson(JsonWriterSettings.builder().indent(true).build());
     }
 
-    private TalaniaPlayerProfile readProfile(BsonDocument document, UUID playerId) {
-        TalaniaPlayerProfile profile = createDefaultProfile(playerId);
-        int version = readInt(document.get("version"), CURRENT_VERSION);
-        profile.setProfileVersion(version);
-        profile.setRaceId(readString(document.get("race"), null));
-
-        BsonDocument statsDoc = readDocument(document.get("baseStats"));
-        if (statsDoc != null) {
-            for (Map.Entry<String, BsonValue> entry : statsDoc.entrySet()) {
-                StatType stat = StatType.fromId(entry.getKey());
-                if (stat == null || entry.getValue() == null || !entry.getValue().isNumber()) {
-                    continue;
-                }
-                profile.setBaseStat(stat, (float) entry.getValue().asNumber().doubleValue());
-            }
-        }
-        return profile;
+    /**
+     * Make completed writes durable.
+     */
+    public void flush() throws IOException {
+        backend.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        backend.close();
     }
 
     /**
-     * Serialize profile to BSON-backed JSON.
+     * Read a stored profile, or null if the player has none.
+     *
+     * @throws IOException if a record exists but cannot be read or decoded
      */
-    private BsonDocument writeProfile(TalaniaPlayerProfile profile) {
-        BsonDocument document = new BsonDocument();
-        document.put("version", new BsonInt32(CURRENT_VERSION));
-        if (profile.raceId() != null) {
-            document.put("race", new BsonString(profile.raceId()));
+    TalaniaPlayerProfile readStoredProfile(UUID playerId) throws IOException {
+        byte[] data = backend.read(playerId);
+        if (data != null) {
+            return decode(playerId, data);
         }
-
-        BsonDocument stats = new BsonDocument();
-        for (StatType stat : StatType.values()) {
-            stats.put(stat.getId(), new BsonDouble(profile.getBaseStat(stat, 0.0f)));
+        data = fileRecords != null ? fileRecords.read(playerId) : null;
+        if (data != null) {
+            TalaniaPlayerProfile profile = decode(playerId, data);
+            // Not in the configured backend yet; the next save moves it there.
+            profile.markDirty();
+            return profile;
+        }
+        Path legacy = legacyPath(playerId);
+        if (Files.isRegularFile(legacy)) {
+            return finishLoad(ProfileJsonCodec.decode(playerId, Files.readString(legacy, StandardCharsets.UTF_8)));
         }
-        document.put("baseStats", stats);
-        return document;
+        return null;
     }
 
     /**
-     * Read an int from a BSON value with fallback.
+     * Write a profile to the backend. A legacy JSON file, or a per-file record
+     * from before a backend switch, is removed once the new record is in place.
      */
-    private int readInt(BsonValue value, int fallback) {
-        if (value == null || !value.isNumber()) {
-            return fallback;
+    void writeStoredProfile(TalaniaPlayerProfile profile) throws IOException {
+        if (!profile.isPersistable()) {
+            return;
+        }
+        backend.write(profile.playerId(), ProfileBinaryCodec.encode(profile));
+        if (fileRecords != null) {
+            fileRecords.delete(profile.playerId());
         }
-        return value.asNumber().intValue();
+        Files.deleteIfExists(legacyPath(profile.playerId()));
     }
 
     /**
-     * Read a string from a BSON value with fallback.
+     * Decode and upgrade one stored record.
      */
-    private String readString(BsonValue value, String fallback) {
-        if (value == null || !value.isString()) {
-            return fallback;
+    static TalaniaPlayerProfile decode(UUID playerId, byte[] data) throws IOException {
+        return finishLoad(ProfileBinaryCodec.decode(playerId, data));
+    }
+
+    private Path legacyPath(UUID playerId) {
+        return profilesDirectory.resolve(playerId.toString().toLowerCase(Locale.ROOT) + LEGACY_SUFFIX);
+    }
+
+    private static TalaniaPlayerProfile finishLoad(TalaniaPlayerProfile profile) {
+        if (!ProfileVersions.upgrade(profile)) {
+            profile.clearDirty();
         }
-        return value.asString().getValue();
+        return profile;
     }
 
     /**
-     * Read a BSON document from a value if present.
+     * Build a new profile with default base stats.
      */
-    private BsonDocument readDocument(BsonValue value) {
-        if (value instanceof BsonDocument doc) {
-            return doc;
+    static TalaniaPlayerProfile createDefaultProfile(UUID playerId) {
+        TalaniaPlayerProfile profile = new TalaniaPlayerProfile(playerId);
+        profile.setProfileVersion(ProfileVersions.CURRENT);
+        for (StatType stat : StatType.values()) {
+            profile.setBaseStat(stat, stat.getDefaultValue());
         }
-        return null;
+        return profile;
     }
 }
@@ -2,18 +2,30 @@ package com.talania.core.progression;
 
 /**
  * Mutable level progress tracker for a specific progression context (e.g. a class).
+ *
+ * <p>An optional change callback runs after every mutation; player profiles
+ * use it to mark themselves dirty so level and XP changes are saved.</p>
  */
 public final class LevelProgress {
     private int level;
     private long xp;
+    private final Runnable onChange;
 
     public LevelProgress() {
         this(0, 0L);
     }
 
     public LevelProgress(int level, long xp) {
+        this(level, xp, null);
+    }
+
+    /**
+     * @param onChange run after each mutation, or null
+     */
+    public LevelProgress(int level, long xp, Runnable onChange) {
         this.level = level;
         this.xp = xp;
+        this.onChange = onChange;
     }
 
     public int level() {
@@ -22,6 +34,7 @@ public final class LevelProgress {
 
     public void setLevel(int level) {
         this.level = level;
+        changed();
     }
 
     public long xp() {
@@ -30,9 +43,17 @@ public final class LevelProgress {
 
     public void setXp(long xp) {
         this.xp = xp;
+        changed();
     }
 
     public void addXp(long amount) {
         this.xp += amount;
+        changed();
+    }
+
+    private void changed() {
+        if (onChange != null) {
+            onChange.run();
+        }
     }
 }
@@ -10,7 +10,7 @@ import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.modules.projectile.component.PredictedProjectile;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.talania.core.events.EventBus;
+import com.talania.core.events.WorldEvents;
 import com.talania.core.events.entity.ProjectileFiredEvent;
 import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntIterator;
@@ -62,7 +62,7 @@ public final class ProjectileDetectSystem extends EntityTickingSystem<EntityStor
             return;
         }
         UUID shooterUuid = ProjectileOwnerResolver.resolveShooterUuid(predicted.getUuid(), ref, store);
-        EventBus.publish(new ProjectileFiredEvent(shooterUuid, predicted.getUuid(), ref, true));
+        WorldEvents.publish(store, new ProjectileFiredEvent(shooterUuid, predicted.getUuid(), ref, true));
     }
 
     private void prune(long now) {
@@ -10,7 +10,7 @@ import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.server.core.entity.entities.ProjectileComponent;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.talania.core.events.EventBus;
+import com.talania.core.events.WorldEvents;
 import com.talania.core.events.entity.ProjectileFiredEvent;
 import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntIterator;
@@ -61,7 +61,7 @@ public final class ProjectileOwnerDetectSystem extends EntityTickingSystem<Entit
         if (creatorUuid == null) {
             return;
         }
-        EventBus.publish(new ProjectileFiredEvent(creatorUuid, creatorUuid, ref, false));
+        WorldEvents.publish(store, new ProjectileFiredEvent(creatorUuid, creatorUuid, ref, false));
     }
 
     private void prune(long now) {
@@ -2,28 +2,41 @@ package com.talania.core.runtime;
 
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerMouseButtonEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.events.RemoveWorldEvent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.talania.core.hytale.stats.EntityStatModifierRegistry;
 import com.talania.core.hytale.stats.EntityStatModifierService;
 import com.talania.core.hytale.stats.EntityStatSyncService;
+import com.talania.core.config.ConfigManager;
+import com.talania.core.config.FileWatcher;
 import com.talania.core.input.InputPatternTracker;
 import com.talania.core.combat.shield.EnergyShieldService;
 import com.talania.core.debug.TalaniaDebug;
+import com.talania.core.localization.TranslationManager;
 import com.talania.core.cosmetics.TalaniaCosmeticCore;
 import com.talania.core.cosmetics.TalaniaCosmetics;
+import com.talania.core.events.EventBus;
 import com.talania.core.module.TalaniaModuleRegistry;
 import com.talania.core.profile.TalaniaPlayerProfile;
+import com.talania.core.profile.ProfileSettings;
 import com.talania.core.profile.TalaniaProfileRuntime;
+import com.talania.core.profile.TalaniaProfileStore;
 import com.talania.core.stats.EntityStats;
 import com.talania.core.stats.StatType;
 import com.talania.core.stats.StatsManager;
+import com.talania.core.utils.time.GlobalTicker;
+import com.talania.core.utils.time.TimerService;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Central runtime wiring for TalaniaCore systems.
@@ -36,16 +49,43 @@ public final class TalaniaCoreRuntime {
     private final EntityStatModifierService statModifierService;
     private final EntityStatSyncService statSyncService;
     private final InputPatternTracker inputPatternTracker;
+    private final FileWatcher fileWatcher;
+    private final GlobalTicker globalTicker;
 
     private TalaniaCoreRuntime(Path dataDirectory) {
         TalaniaDebug.init(dataDirectory);
-        this.profileRuntime = new TalaniaProfileRuntime(dataDirectory);
+        this.profileRuntime = new TalaniaProfileRuntime(openProfileStore(dataDirectory));
         this.statModifierRegistry = new EntityStatModifierRegistry();
         this.statModifierRegistry.registerDefaults();
         this.statModifierService = new EntityStatModifierService(statModifierRegistry);
         this.statSyncService = new EntityStatSyncService(statModifierService);
         this.inputPatternTracker = new InputPatternTracker();
         TalaniaCosmeticCore.init();
+        this.fileWatcher = new FileWatcher();
+        if (ConfigManager.isInitialized()) {
+            ConfigManager.attach(fileWatcher);
+        }
+        TranslationManager.attach(fileWatcher);
+        this.globalTicker = new GlobalTicker();
+        globalTicker.add(StatsManager::flushChanges);
+        globalTicker.add(EventBus::flushBatched);
+        globalTicker.add(fileWatcher::runCallbacks);
+    }
+
+    /**
+     * Open the profile store with the backend from {@code profile_settings.json},
+     * falling back to per-file storage if the configured backend cannot open.
+     */
+    private static TalaniaProfileStore openProfileStore(Path dataDirectory) {
+        ProfileSettings settings = ConfigManager.isInitialized()
+                ? ConfigManager.load("profile_settings.json", ProfileSettings.class)
+                : null;
+        try {
+            return TalaniaProfileStore.open(dataDirectory, settings);
+        } catch (IOException e) {
+            System.err.println("[TalaniaCore] Failed to open profile backend, using per-file storage: " + e.getMessage());
+            return new TalaniaProfileStore(dataDirectory);
+        }
     }
 
     /**
@@ -65,6 +105,24 @@ public final class TalaniaCoreRuntime {
         return instance;
     }
 
+    /**
+     * Stop hot reload and the global tick, flush profile writes and release
+     * the runtime instance.
+     */
+    public static void shutdown() {
+        TalaniaCoreRuntime runtime = instance;
+        if (runtime == null) {
+            return;
+        }
+        runtime.globalTicker.close();
+        runtime.statSyncService.shutdown();
+        ConfigManager.detach();
+        TranslationManager.detach();
+        runtime.fileWatcher.close();
+        runtime.profileRuntime.shutdown();
+        instance = null;
+    }
+
     public TalaniaProfileRuntime profileRuntime() {
         return profileRuntime;
     }
@@ -77,8 +135,42 @@ public final class TalaniaCoreRuntime {
         return inputPatternTracker;
     }
 
+    /**
+     * Single owner of server-wide per-tick work such as
+     * {@link StatsManager#flushChanges()}, {@link EventBus#flushBatched()} and
+     * hot-reload callbacks.
+     */
+    public GlobalTicker globalTicker() {
+        return globalTicker;
+    }
+
+    /**
+     * Watcher that hot-reloads config and language files.
+     */
+    public FileWatcher fileWatcher() {
+        return fileWatcher;
+    }
+
+    /**
+     * Start reading the player's profile off-thread as soon as they connect,
+     * so it is parsed by the time {@link #handlePlayerReady} runs.
+     */
+    public void handlePlayerConnect(PlayerConnectEvent event) {
+        if (event == null) {
+            return;
+        }
+        PlayerRef playerRef = event.getPlayerRef();
+        if (playerRef == null) {
+            return;
+        }
+        profileRuntime.loadAsync(playerRef.getUuid());
+    }
+
     /**
      * Load profile and apply base stats when a player is ready.
+     *
+     * <p>The profile normally finished loading during connect; otherwise the
+     * result is applied on the world thread once the IO pool delivers it.</p>
      */
     public void handlePlayerReady(PlayerReadyEvent event) {
         if (event == null) {
@@ -92,7 +184,8 @@ public final class TalaniaCoreRuntime {
         if (store == null) {
             return;
         }
-        store.getExternalData().getWorld().execute(() -> {
+        World world = store.getExternalData().getWorld();
+        world.execute(() -> {
             if (!ref.isValid()) {
                 return;
             }
@@ -103,25 +196,49 @@ public final class TalaniaCoreRuntime {
             }
             UUID playerId = uuidComponent.getUuid();
             TalaniaDebug.handlePlayerReady(playerId);
-            TalaniaPlayerProfile profile = profileRuntime.load(playerId);
-            if (profile == null) {
+            CompletableFuture<TalaniaPlayerProfile> pending = profileRuntime.loadAsync(playerId);
+            TalaniaPlayerProfile loaded = pending.getNow(null);
+            if (loaded != null) {
+                applyProfile(ref, store, playerId, loaded);
                 return;
             }
-            EntityStats stats = StatsManager.getOrCreate(playerId);
+            pending.whenComplete((profile, error) -> {
+                if (error != null) {
+                    System.err.println("[TalaniaCore] Failed to load profile " + playerId + ": " + error.getMessage());
+                    return;
+                }
+                world.execute(() -> {
+                    if (ref.isValid()) {
+                        applyProfile(ref, store, playerId, profile);
+                    }
+                });
+            });
+        });
+    }
+
+    /**
+     * Push a loaded profile into stats, cosmetics and modules. World thread only.
+     */
+    private void applyProfile(Ref<EntityStore> ref, Store<EntityStore> store, UUID playerId,
+                              TalaniaPlayerProfile profile) {
+        if (profile == null) {
+            return;
+        }
+        EntityStats stats = StatsManager.getOrCreate(playerId);
+        stats.batch(tx -> {
             for (StatType stat : StatType.values()) {
-                stats.setBase(stat, profile.getBaseStat(stat, stat.getDefaultValue()));
-            }
-            stats.recalculate();
-            TalaniaDebug.statModifiers().applyToStats(playerId, stats);
-            statSyncService.applyAll(ref, store, playerId, stats);
-
-            com.hypixel.hytale.server.core.universe.PlayerRef playerRef =
-                    com.talania.core.utils.PlayerRefUtil.resolve(ref, store);
-            if (playerRef != null) {
-                TalaniaCosmetics.handlePlayerReady(playerRef, ref, store);
-                TalaniaModuleRegistry.get().handlePlayerReady(playerRef, profile, ref, store);
+                tx.setBase(stat, profile.getBaseStat(stat, stat.getDefaultValue()));
             }
         });
+        TalaniaDebug.statModifiers().applyToStats(playerId, stats);
+        statSyncService.applyAll(ref, store, playerId, stats);
+
+        com.hypixel.hytale.server.core.universe.PlayerRef playerRef =
+                com.talania.core.utils.PlayerRefUtil.resolve(ref, store);
+        if (playerRef != null) {
+            TalaniaCosmetics.handlePlayerReady(playerRef, ref, store);
+            TalaniaModuleRegistry.get().handlePlayerReady(playerRef, profile, ref, store);
+        }
     }
 
     /**
@@ -139,12 +256,28 @@ public final class TalaniaCoreRuntime {
         TalaniaDebug.handlePlayerDisconnect(playerId);
         EnergyShieldService.clear(playerId);
         profileRuntime.unload(playerId, true);
+        statSyncService.untrack(playerId);
         StatsManager.unregister(playerId);
         inputPatternTracker.clear(playerId);
+        TranslationManager.clearPlayer(playerId);
         TalaniaCosmetics.handlePlayerDisconnect(playerRef);
         TalaniaModuleRegistry.get().handlePlayerDisconnect(playerRef);
     }
 
+    /**
+     * Drop per-world state when a world is removed, so a world loaded later
+     * under the same name does not inherit its listeners or timers.
+     */
+    public void handleWorldRemoved(RemoveWorldEvent event) {
+        World world = event != null ? event.getWorld() : null;
+        if (world == null) {
+            return;
+        }
+        EventBus.removeWorld(world.getName());
+        // Pending callbacks hold the world's store; no TimerSystem ticks them any more.
+        TimerService.removeWorld(world.getName());
+    }
+
     /**
      * Forward mouse button events into the input pattern tracker.
      */
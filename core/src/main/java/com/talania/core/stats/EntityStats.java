@@ -1,46 +1,107 @@
 package com.talania.core.stats;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Manages stats and modifiers for a single entity.
- * 
+ *
  * <p>This class tracks base values and modifiers, calculating
  * final stat values on demand. Thread-safe for concurrent access.
- * 
+ *
+ * <p>Storage is dense: base and final values live in {@code float[]} arrays
+ * indexed by {@link StatType#ordinal()}, and a {@code long} bitmask tracks
+ * which final values are stale. Reads of a clean stat are lock-free and
+ * allocation-free; only the first read after a change recalculates.
+ *
+ * <p>Each stat also keeps running aggregates of its modifiers (additive sum,
+ * MULTIPLY_BASE product, MULTIPLY_TOTAL product) that are updated when a
+ * modifier is added or removed, so recalculating a stat is O(1) no matter
+ * how many modifiers are stacked on it. Modifiers are additionally indexed
+ * by source key and UUID, so removing a source only touches the modifiers it
+ * owns. Many changes can be applied together through {@link #batch(Consumer)}.
+ * Every mutation reports the stats it touched to registered
+ * {@link ChangeListener}s, after the entity's lock has been released.
+ *
  * <p>Usage:
  * <pre>{@code
  * EntityStats stats = new EntityStats();
- * 
+ *
  * // Set base values
  * stats.setBase(StatType.HEALTH, 100);
- * 
+ *
  * // Add modifiers
  * stats.addModifier(StatModifier.add("race:dwarf", StatType.HEALTH, 50));
  * stats.addModifier(StatModifier.multiplyBase("buff:strength", StatType.ATTACK, 1.2f));
- * 
+ *
  * // Get final value
  * float maxHealth = stats.get(StatType.HEALTH); // 150
  * }</pre>
- * 
+ *
  * @author TalaniaCore Team
  * @since 0.1.0
  */
 public class EntityStats {
 
-    private final Map<StatType, Float> baseValues = new ConcurrentHashMap<>();
-    private final Map<StatType, List<StatModifier>> modifiers = new ConcurrentHashMap<>();
-    private final Map<StatType, Float> cachedValues = new ConcurrentHashMap<>();
-    private volatile boolean dirty = true;
+    private static final StatType[] TYPES = StatType.values();
+    private static final int STAT_COUNT = TYPES.length;
+    private static final long ALL_DIRTY;
+
+    static {
+        if (STAT_COUNT > Long.SIZE) {
+            throw new IllegalStateException("EntityStats supports at most " + Long.SIZE + " stat types");
+        }
+        ALL_DIRTY = STAT_COUNT == Long.SIZE ? -1L : (1L << STAT_COUNT) - 1L;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<StatModifier>[] newModifierTable(int length) {
+        return new List[length];
+    }
+
+    private final Object lock = new Object();
+    private final float[] baseValues = new float[STAT_COUNT];
+    private final float[] finalValues = new float[STAT_COUNT];
+    private final List<StatModifier>[] modifiers = newModifierTable(STAT_COUNT);
+    // Running modifier aggregates per stat. Zero factors are counted instead of
+    // multiplied in so that removing them never divides by zero.
+    private final double[] additiveSums = new double[STAT_COUNT];
+    private final double[] baseProducts = new double[STAT_COUNT];
+    private final double[] totalProducts = new double[STAT_COUNT];
+    private final int[] baseZeroFactors = new int[STAT_COUNT];
+    private final int[] totalZeroFactors = new int[STAT_COUNT];
+    // Secondary indexes so removal by source or UUID touches only the owned modifiers.
+    private final Map<String, List<StatModifier>> modifiersBySource = new HashMap<>();
+    private final Map<UUID, StatModifier> modifiersById = new HashMap<>();
+    /**
+     * Bit {@code i} set means {@code finalValues[i]} is stale. Written only
+     * while holding {@link #lock}, after the arrays it guards are updated.
+     */
+    private volatile long dirtyMask = ALL_DIRTY;
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Receives the stats touched by a mutation.
+     *
+     * <p>The mask has bit {@link StatType#ordinal()} set for every stat whose
+     * base or modifiers changed. For batches it holds only the stats whose
+     * final value actually moved. Listeners run on the mutating thread and
+     * should do as little work as possible.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        void onStatsChanged(EntityStats stats, long statMask);
+    }
 
     /**
      * Create new entity stats with default values.
      */
     public EntityStats() {
         // Initialize with defaults
-        for (StatType type : StatType.values()) {
-            baseValues.put(type, type.getDefaultValue());
+        for (StatType type : TYPES) {
+            baseValues[type.ordinal()] = type.getDefaultValue();
+            resetAggregates(type.ordinal());
         }
     }
 
@@ -48,97 +109,131 @@ public class EntityStats {
 
     /**
      * Set the base value for a stat.
-     * 
+     *
      * @param type The stat type
      * @param value The base value
      */
     public void setBase(StatType type, float value) {
-        baseValues.put(type, type.clamp(value));
-        invalidateCache(type);
+        synchronized (lock) {
+            baseValues[type.ordinal()] = type.clamp(value);
+            markDirty(type.ordinal());
+        }
+        fireChanged(1L << type.ordinal());
     }
 
     /**
      * Get the base value for a stat (before modifiers).
      */
     public float getBase(StatType type) {
-        return baseValues.getOrDefault(type, type.getDefaultValue());
+        synchronized (lock) {
+            return baseValues[type.ordinal()];
+        }
     }
 
     /**
      * Add to the base value of a stat.
      */
     public void addBase(StatType type, float amount) {
-        setBase(type, getBase(type) + amount);
+        synchronized (lock) {
+            int index = type.ordinal();
+            baseValues[index] = type.clamp(baseValues[index] + amount);
+            markDirty(index);
+        }
+        fireChanged(1L << type.ordinal());
     }
 
     // ==================== MODIFIERS ====================
 
     /**
      * Add a modifier to this entity's stats.
-     * 
+     *
      * @param modifier The modifier to add
      */
     public void addModifier(StatModifier modifier) {
         if (modifier == null) return;
-        
-        modifiers.computeIfAbsent(modifier.getStatType(), k -> new ArrayList<>())
-                 .add(modifier);
-        
-        // Keep modifiers sorted
-        modifiers.get(modifier.getStatType()).sort(Comparator.naturalOrder());
-        invalidateCache(modifier.getStatType());
+
+        synchronized (lock) {
+            link(modifier);
+        }
+        fireChanged(1L << modifier.getStatType().ordinal());
     }
 
     /**
      * Remove a modifier by its UUID.
-     * 
+     *
      * @param modifierId The modifier's unique ID
      * @return true if a modifier was removed
      */
     public boolean removeModifier(UUID modifierId) {
-        for (Map.Entry<StatType, List<StatModifier>> entry : modifiers.entrySet()) {
-            if (entry.getValue().removeIf(m -> m.getId().equals(modifierId))) {
-                invalidateCache(entry.getKey());
-                return true;
+        StatModifier modifier;
+        synchronized (lock) {
+            modifier = modifiersById.get(modifierId);
+            if (modifier == null) {
+                return false;
+            }
+            while (unlink(modifier)) {
+                // Drop duplicate registrations of the same modifier as well.
             }
         }
-        return false;
+        fireChanged(1L << modifier.getStatType().ordinal());
+        return true;
     }
 
     /**
      * Remove a modifier by its string ID.
      * This searches for modifiers whose source matches the given ID.
-     * 
+     *
+     * <p>Only the modifiers on the first matching stat are removed; use
+     * {@link #removeModifiersBySource(String)} to remove every stat's entries.
+     *
      * @param modifierId The modifier's source identifier (e.g., "race:orc")
      * @return true if a modifier was removed
      */
     public boolean removeModifier(String modifierId) {
-        for (Map.Entry<StatType, List<StatModifier>> entry : modifiers.entrySet()) {
-            if (entry.getValue().removeIf(m -> m.getSource().equals(modifierId))) {
-                invalidateCache(entry.getKey());
-                return true;
+        StatType first;
+        synchronized (lock) {
+            List<StatModifier> owned = modifiersBySource.get(modifierId);
+            if (owned == null || owned.isEmpty()) {
+                return false;
+            }
+            first = owned.get(0).getStatType();
+            for (StatModifier m : owned) {
+                if (m.getStatType().ordinal() < first.ordinal()) {
+                    first = m.getStatType();
+                }
+            }
+            for (StatModifier m : new ArrayList<>(owned)) {
+                if (m.getStatType() == first) {
+                    unlink(m);
+                }
             }
         }
-        return false;
+        fireChanged(1L << first.ordinal());
+        return true;
     }
 
     /**
      * Remove all modifiers from a specific source.
-     * 
+     *
      * @param source The source identifier (e.g., "race:dwarf")
      * @return Number of modifiers removed
      */
     public int removeModifiersBySource(String source) {
         int removed = 0;
-        for (Map.Entry<StatType, List<StatModifier>> entry : modifiers.entrySet()) {
-            int before = entry.getValue().size();
-            entry.getValue().removeIf(m -> m.getSource().equals(source));
-            int after = entry.getValue().size();
-            if (before != after) {
-                invalidateCache(entry.getKey());
-                removed += (before - after);
+        long touched = 0L;
+        synchronized (lock) {
+            List<StatModifier> owned = modifiersBySource.get(source);
+            if (owned == null) {
+                return 0;
+            }
+            for (StatModifier m : owned.toArray(new StatModifier[0])) {
+                if (unlink(m)) {
+                    removed++;
+                    touched |= 1L << m.getStatType().ordinal();
+                }
             }
         }
+        fireChanged(touched);
         return removed;
     }
 
@@ -146,40 +241,276 @@ public class EntityStats {
      * Get all modifiers for a stat type.
      */
     public List<StatModifier> getModifiers(StatType type) {
-        return new ArrayList<>(modifiers.getOrDefault(type, Collections.emptyList()));
+        synchronized (lock) {
+            List<StatModifier> list = modifiers[type.ordinal()];
+            List<StatModifier> result = list != null ? new ArrayList<>(list) : new ArrayList<>();
+            result.sort(Comparator.naturalOrder());
+            return result;
+        }
     }
 
     /**
      * Get all modifiers from a specific source.
      */
     public List<StatModifier> getModifiersBySource(String source) {
-        List<StatModifier> result = new ArrayList<>();
-        for (List<StatModifier> list : modifiers.values()) {
-            for (StatModifier m : list) {
-                if (m.getSource().equals(source)) {
-                    result.add(m);
-                }
-            }
+        synchronized (lock) {
+            List<StatModifier> owned = modifiersBySource.get(source);
+            return owned != null ? new ArrayList<>(owned) : new ArrayList<>();
+        }
+    }
+
+    /**
+     * Check whether any modifier from a source is currently applied.
+     */
+    public boolean hasModifiersFromSource(String source) {
+        synchronized (lock) {
+            return modifiersBySource.containsKey(source);
         }
-        return result;
     }
 
     /**
      * Clear all modifiers.
      */
     public void clearModifiers() {
-        modifiers.clear();
-        dirty = true;
-        cachedValues.clear();
+        long touched = 0L;
+        synchronized (lock) {
+            for (int i = 0; i < STAT_COUNT; i++) {
+                if (modifiers[i] != null && !modifiers[i].isEmpty()) {
+                    touched |= 1L << i;
+                }
+            }
+            Arrays.fill(modifiers, null);
+            modifiersBySource.clear();
+            modifiersById.clear();
+            for (int i = 0; i < STAT_COUNT; i++) {
+                resetAggregates(i);
+            }
+            dirtyMask = ALL_DIRTY;
+        }
+        fireChanged(touched);
     }
 
     /**
      * Clear only non-persistent modifiers.
      */
     public void clearTemporaryModifiers() {
-        for (Map.Entry<StatType, List<StatModifier>> entry : modifiers.entrySet()) {
-            if (entry.getValue().removeIf(m -> !m.isPersistent())) {
-                invalidateCache(entry.getKey());
+        long touched = 0L;
+        synchronized (lock) {
+            for (int i = 0; i < STAT_COUNT; i++) {
+                List<StatModifier> list = modifiers[i];
+                if (list == null) {
+                    continue;
+                }
+                for (StatModifier m : list.toArray(new StatModifier[0])) {
+                    if (!m.isPersistent() && unlink(m)) {
+                        touched |= 1L << i;
+                    }
+                }
+            }
+        }
+        fireChanged(touched);
+    }
+
+    // ==================== CHANGE LISTENERS ====================
+
+    /**
+     * Register a listener for stat mutations on this entity.
+     */
+    public void addChangeListener(ChangeListener listener) {
+        if (listener != null) {
+            changeListeners.add(listener);
+        }
+    }
+
+    /**
+     * Unregister a previously added listener.
+     */
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Notify listeners of touched stats. Must be called without holding {@link #lock}.
+     */
+    private void fireChanged(long statMask) {
+        if (statMask == 0L || changeListeners.isEmpty()) {
+            return;
+        }
+        for (ChangeListener listener : changeListeners) {
+            listener.onStatsChanged(this, statMask);
+        }
+    }
+
+    /**
+     * Attach a modifier to its stat, aggregates and indexes.
+     * Caller must hold {@link #lock}.
+     */
+    private void link(StatModifier modifier) {
+        int index = modifier.getStatType().ordinal();
+        List<StatModifier> list = modifiers[index];
+        if (list == null) {
+            list = new ArrayList<>();
+            modifiers[index] = list;
+        }
+        list.add(modifier);
+        modifiersBySource.computeIfAbsent(modifier.getSource(), k -> new ArrayList<>()).add(modifier);
+        modifiersById.put(modifier.getId(), modifier);
+        accumulate(index, modifier, 1);
+        markDirty(index);
+    }
+
+    /**
+     * Detach one registration of a modifier from its stat, aggregates and
+     * indexes. Caller must hold {@link #lock}.
+     *
+     * @return true if the modifier was attached
+     */
+    private boolean unlink(StatModifier modifier) {
+        int index = modifier.getStatType().ordinal();
+        List<StatModifier> list = modifiers[index];
+        if (list == null || !list.remove(modifier)) {
+            return false;
+        }
+        List<StatModifier> owned = modifiersBySource.get(modifier.getSource());
+        if (owned != null) {
+            owned.remove(modifier);
+            if (owned.isEmpty()) {
+                modifiersBySource.remove(modifier.getSource());
+            }
+        }
+        if (!list.contains(modifier)) {
+            modifiersById.remove(modifier.getId());
+        }
+        accumulate(index, modifier, -1);
+        if (list.isEmpty()) {
+            // Drop any floating-point drift once nothing is left.
+            resetAggregates(index);
+        }
+        markDirty(index);
+        return true;
+    }
+
+    // ==================== BATCHES ====================
+
+    /**
+     * Start a transaction that stages changes until {@link StatTransaction#commit()}.
+     */
+    public StatTransaction transaction() {
+        return new StatTransaction(this);
+    }
+
+    /**
+     * Stage and atomically apply a batch of changes.
+     *
+     * <p>Each affected stat is recalculated once, after every staged
+     * operation has been applied. Readers of those stats block until the
+     * batch finishes instead of seeing it half-applied.
+     *
+     * @param changes Callback that stages operations on the transaction
+     * @return Bitmask of stats (by {@link StatType#ordinal()}) whose final value changed
+     */
+    public long batch(Consumer<StatTransaction> changes) {
+        StatTransaction tx = transaction();
+        if (changes != null) {
+            changes.accept(tx);
+        }
+        return tx.commit();
+    }
+
+    /**
+     * Apply staged transaction operations and notify listeners once.
+     */
+    long apply(List<StatTransaction.Op> ops) {
+        if (ops.isEmpty()) {
+            return 0L;
+        }
+        long changed = applyLocked(ops);
+        fireChanged(changed);
+        return changed;
+    }
+
+    /**
+     * Apply staged transaction operations under a single lock hold.
+     */
+    private long applyLocked(List<StatTransaction.Op> ops) {
+        synchronized (lock) {
+            long touched = 0L;
+            for (StatTransaction.Op op : ops) {
+                touched |= statsTouchedBy(op);
+            }
+            if (touched == 0L) {
+                return 0L;
+            }
+            // Force lock-free readers of the affected stats onto the lock until we finish.
+            dirtyMask |= touched;
+            float[] before = new float[STAT_COUNT];
+            for (long bits = touched; bits != 0L; bits &= bits - 1) {
+                int i = Long.numberOfTrailingZeros(bits);
+                before[i] = calculate(i);
+            }
+
+            for (StatTransaction.Op op : ops) {
+                switch (op.kind()) {
+                    case ADD -> link(op.modifier());
+                    case REMOVE_ID -> {
+                        StatModifier modifier = modifiersById.get(op.modifierId());
+                        if (modifier != null) {
+                            while (unlink(modifier)) {
+                                // Drop duplicate registrations as well.
+                            }
+                        }
+                    }
+                    case REMOVE_SOURCE -> {
+                        List<StatModifier> owned = modifiersBySource.get(op.source());
+                        if (owned != null) {
+                            for (StatModifier m : owned.toArray(new StatModifier[0])) {
+                                unlink(m);
+                            }
+                        }
+                    }
+                    case SET_BASE -> baseValues[op.stat().ordinal()] = op.stat().clamp(op.value());
+                }
+            }
+
+            long changed = 0L;
+            for (long bits = touched; bits != 0L; bits &= bits - 1) {
+                int i = Long.numberOfTrailingZeros(bits);
+                float value = calculate(i);
+                finalValues[i] = value;
+                if (Float.compare(value, before[i]) != 0) {
+                    changed |= 1L << i;
+                }
+            }
+            dirtyMask &= ~touched;
+            return changed;
+        }
+    }
+
+    /**
+     * Stats an operation may affect, resolved before it is applied.
+     * Caller must hold {@link #lock}.
+     */
+    private long statsTouchedBy(StatTransaction.Op op) {
+        switch (op.kind()) {
+            case ADD, SET_BASE -> {
+                return 1L << op.stat().ordinal();
+            }
+            case REMOVE_ID -> {
+                StatModifier modifier = modifiersById.get(op.modifierId());
+                return modifier != null ? 1L << modifier.getStatType().ordinal() : 0L;
+            }
+            case REMOVE_SOURCE -> {
+                long mask = 0L;
+                List<StatModifier> owned = modifiersBySource.get(op.source());
+                if (owned != null) {
+                    for (StatModifier m : owned) {
+                        mask |= 1L << m.getStatType().ordinal();
+                    }
+                }
+                return mask;
+            }
+            default -> {
+                return 0L;
             }
         }
     }
@@ -189,64 +520,102 @@ public class EntityStats {
     /**
      * Get the final calculated value for a stat.
      * Applies all modifiers in order: ADD, MULTIPLY_BASE, MULTIPLY_TOTAL
-     * 
+     *
+     * <p>Lock-free when the stat has not changed since the last read.
+     *
      * @param type The stat type
      * @return The final stat value
      */
     public float get(StatType type) {
-        if (!dirty && cachedValues.containsKey(type)) {
-            return cachedValues.get(type);
+        int index = type.ordinal();
+        long bit = 1L << index;
+        if ((dirtyMask & bit) == 0) {
+            return finalValues[index];
+        }
+        synchronized (lock) {
+            if ((dirtyMask & bit) != 0) {
+                finalValues[index] = calculate(index);
+                dirtyMask &= ~bit;
+            }
+            return finalValues[index];
         }
-
-        float value = calculate(type);
-        cachedValues.put(type, value);
-        return value;
     }
 
     /**
-     * Calculate stat value without caching.
+     * Calculate stat value from the running aggregates without caching.
+     * Caller must hold {@link #lock}.
      */
-    private float calculate(StatType type) {
-        float base = getBase(type);
-        List<StatModifier> mods = modifiers.getOrDefault(type, Collections.emptyList());
+    private float calculate(int index) {
+        float base = baseValues[index];
+        List<StatModifier> mods = modifiers[index];
 
-        if (mods.isEmpty()) {
+        if (mods == null || mods.isEmpty()) {
             return base;
         }
 
-        float additive = 0;
-        float multiplyBase = 1.0f;
-        float multiplyTotal = 1.0f;
+        double multiplyBase = baseZeroFactors[index] > 0 ? 0.0 : baseProducts[index];
+        double multiplyTotal = totalZeroFactors[index] > 0 ? 0.0 : totalProducts[index];
+        float result = (float) ((base + additiveSums[index]) * multiplyBase * multiplyTotal);
+        return TYPES[index].clamp(result);
+    }
 
-        for (StatModifier mod : mods) {
-            switch (mod.getOperation()) {
-                case ADD -> additive += mod.getValue();
-                case MULTIPLY_BASE -> multiplyBase *= mod.getValue();
-                case MULTIPLY_TOTAL -> multiplyTotal *= mod.getValue();
+    /**
+     * Fold a modifier into (sign = 1) or out of (sign = -1) a stat's
+     * aggregates. Caller must hold {@link #lock}.
+     */
+    private void accumulate(int index, StatModifier mod, int sign) {
+        float value = mod.getValue();
+        switch (mod.getOperation()) {
+            case ADD -> additiveSums[index] += sign * (double) value;
+            case MULTIPLY_BASE -> {
+                if (value == 0.0f) {
+                    baseZeroFactors[index] += sign;
+                } else if (sign > 0) {
+                    baseProducts[index] *= value;
+                } else {
+                    baseProducts[index] /= value;
+                }
+            }
+            case MULTIPLY_TOTAL -> {
+                if (value == 0.0f) {
+                    totalZeroFactors[index] += sign;
+                } else if (sign > 0) {
+                    totalProducts[index] *= value;
+                } else {
+                    totalProducts[index] /= value;
+                }
             }
         }
+    }
 
-        float result = (base + additive) * multiplyBase * multiplyTotal;
-        return type.clamp(result);
+    /**
+     * Reset a stat's aggregates to the identity. Caller must hold {@link #lock}.
+     */
+    private void resetAggregates(int index) {
+        additiveSums[index] = 0.0;
+        baseProducts[index] = 1.0;
+        totalProducts[index] = 1.0;
+        baseZeroFactors[index] = 0;
+        totalZeroFactors[index] = 0;
     }
 
     /**
-     * Invalidate cached value for a stat.
+     * Mark a single stat's cached value as stale. Caller must hold {@link #lock}.
      */
-    private void invalidateCache(StatType type) {
-        cachedValues.remove(type);
-        dirty = true;
+    private void markDirty(int index) {
+        dirtyMask |= 1L << index;
     }
 
     /**
      * Recalculate all cached values.
      */
     public void recalculate() {
-        cachedValues.clear();
-        for (StatType type : StatType.values()) {
-            cachedValues.put(type, calculate(type));
+        synchronized (lock) {
+            for (int i = 0; i < STAT_COUNT; i++) {
+                finalValues[i] = calculate(i);
+            }
+            dirtyMask = 0L;
         }
-        dirty = false;
     }
 
     // ==================== UTILITY ====================
@@ -256,9 +625,23 @@ public class EntityStats {
      */
     public EntityStats copy() {
         EntityStats copy = new EntityStats();
-        copy.baseValues.putAll(this.baseValues);
-        for (Map.Entry<StatType, List<StatModifier>> entry : this.modifiers.entrySet()) {
-            copy.modifiers.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        synchronized (lock) {
+            System.arraycopy(this.baseValues, 0, copy.baseValues, 0, STAT_COUNT);
+            System.arraycopy(this.additiveSums, 0, copy.additiveSums, 0, STAT_COUNT);
+            System.arraycopy(this.baseProducts, 0, copy.baseProducts, 0, STAT_COUNT);
+            System.arraycopy(this.totalProducts, 0, copy.totalProducts, 0, STAT_COUNT);
+            System.arraycopy(this.baseZeroFactors, 0, copy.baseZeroFactors, 0, STAT_COUNT);
+            System.arraycopy(this.totalZeroFactors, 0, copy.totalZeroFactors, 0, STAT_COUNT);
+            for (int i = 0; i < STAT_COUNT; i++) {
+                List<StatModifier> list = this.modifiers[i];
+                if (list != null) {
+                    copy.modifiers[i] = new ArrayList<>(list);
+                }
+            }
+            for (Map.Entry<String, List<StatModifier>> entry : this.modifiersBySource.entrySet()) {
+                copy.modifiersBySource.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+            copy.modifiersById.putAll(this.modifiersById);
         }
         return copy;
     }
@@ -268,7 +651,7 @@ public class EntityStats {
      */
     public Map<String, Float> toMap() {
         Map<String, Float> result = new LinkedHashMap<>();
-        for (StatType type : StatType.values()) {
+        for (StatType type : TYPES) {
             result.put(type.getId(), get(type));
         }
         return result;
@@ -277,11 +660,11 @@ public class EntityStats {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("EntityStats{\n");
-        for (StatType type : StatType.values()) {
+        for (StatType type : TYPES) {
             float base = getBase(type);
             float final_ = get(type);
             if (base != type.getDefaultValue() || final_ != base) {
-                sb.append(String.format("  %s: %.1f (base: %.1f)\n", 
+                sb.append(String.format("  %s: %.1f (base: %.1f)\n",
                     type.getId(), final_, base));
             }
         }
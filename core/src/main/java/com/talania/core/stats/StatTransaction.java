@@ -0,0 +1,113 @@
+package com.talania.core.stats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Staged batch of stat changes applied to an {@link EntityStats} in one step.
+ *
+ * <p>Operations are recorded in call order and only touch the stats when
+ * {@link #commit()} runs. The commit holds the entity's lock for the whole
+ * batch, recalculates each affected stat once, and never lets another thread
+ * observe a partially applied batch on the stats it touches.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * stats.batch(tx -> {
+ *     tx.removeSource(previous.sourceKey());
+ *     tx.addAll(race.createBaseModifiers());
+ * });
+ * }</pre>
+ *
+ * @author TalaniaCore Team
+ * @since 0.1.0
+ */
+public final class StatTransaction {
+
+    enum Kind { ADD, REMOVE_ID, REMOVE_SOURCE, SET_BASE }
+
+    record Op(Kind kind, StatModifier modifier, UUID modifierId, String source, StatType stat, float value) {}
+
+    private final EntityStats target;
+    private final List<Op> ops = new ArrayList<>();
+    private boolean committed;
+
+    StatTransaction(EntityStats target) {
+        this.target = target;
+    }
+
+    /**
+     * Stage a modifier to add.
+     */
+    public StatTransaction add(StatModifier modifier) {
+        if (modifier != null) {
+            ops.add(new Op(Kind.ADD, modifier, null, null, modifier.getStatType(), 0.0f));
+        }
+        return this;
+    }
+
+    /**
+     * Stage several modifiers to add.
+     */
+    public StatTransaction addAll(Collection<StatModifier> modifiers) {
+        if (modifiers != null) {
+            for (StatModifier modifier : modifiers) {
+                add(modifier);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Stage removal of a modifier by its UUID.
+     */
+    public StatTransaction remove(UUID modifierId) {
+        if (modifierId != null) {
+            ops.add(new Op(Kind.REMOVE_ID, null, modifierId, null, null, 0.0f));
+        }
+        return this;
+    }
+
+    /**
+     * Stage removal of every modifier from a source.
+     */
+    public StatTransaction removeSource(String source) {
+        if (source != null) {
+            ops.add(new Op(Kind.REMOVE_SOURCE, null, null, source, null, 0.0f));
+        }
+        return this;
+    }
+
+    /**
+     * Stage a new base value for a stat.
+     */
+    public StatTransaction setBase(StatType stat, float value) {
+        if (stat != null) {
+            ops.add(new Op(Kind.SET_BASE, null, null, null, stat, value));
+        }
+        return this;
+    }
+
+    /**
+     * Check whether any operation has been staged.
+     */
+    public boolean isEmpty() {
+        return ops.isEmpty();
+    }
+
+    /**
+     * Apply all staged operations atomically.
+     *
+     * @return Bitmask of stats (by {@link StatType#ordinal()}) whose final value changed
+     * @throws IllegalStateException if this transaction was already committed
+     */
+    public long commit() {
+        if (committed) {
+            throw new IllegalStateException("StatTransaction already committed");
+        }
+        committed = true;
+        return target.apply(ops);
+    }
+}
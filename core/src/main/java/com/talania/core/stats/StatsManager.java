@@ -1,8 +1,14 @@
 package com.talania.core.stats;
 
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 /**
@@ -10,6 +16,11 @@ import java.util.function.Consumer;
  * 
  * <p>Provides a centralized registry for tracking stats across all entities.
  * Handles persistence, events, and cross-entity operations.
+ *
+ * <p>Registered stats report their own mutations. Changes are coalesced per
+ * entity until {@link #flushChanges()} runs (once per tick), which then fires
+ * at most one {@link StatChangeEvent} per changed stat and one
+ * {@link StatChangeBatch} per changed entity.
  * 
  * <p>Usage:
  * <pre>{@code
@@ -20,8 +31,8 @@ import java.util.function.Consumer;
  * stats.addModifier(StatModifier.add("race:orc", StatType.HEALTH, 100));
  * 
  * // Listen for stat changes
- * StatsManager.onStatChange(StatType.HEALTH, (id, oldVal, newVal) -> {
- *     System.out.println("Health changed: " + oldVal + " -> " + newVal);
+ * StatsManager.onStatChange(StatType.HEALTH, event -> {
+ *     System.out.println("Health changed: " + event.getOldValue() + " -> " + event.getNewValue());
  * });
  * }</pre>
  * 
@@ -30,8 +41,13 @@ import java.util.function.Consumer;
  */
 public final class StatsManager {
 
+    private static final StatType[] TYPES = StatType.values();
     private static final Map<UUID, EntityStats> statsRegistry = new ConcurrentHashMap<>();
-    private static final Map<StatType, Consumer<StatChangeEvent>> changeListeners = new ConcurrentHashMap<>();
+    private static final Map<UUID, ChangeTracker> trackers = new ConcurrentHashMap<>();
+    private static final Queue<ChangeTracker> pendingTrackers = new ConcurrentLinkedQueue<>();
+    private static final Map<StatType, List<Consumer<StatChangeEvent>>> changeListeners = createListenerMap();
+    private static final List<Consumer<StatChangeBatch>> batchListeners = new CopyOnWriteArrayList<>();
+    private static final Object FLUSH_LOCK = new Object();
 
     private StatsManager() {}
 
@@ -44,7 +60,15 @@ public final class StatsManager {
      * @return The entity's stats
      */
     public static EntityStats getOrCreate(UUID entityId) {
-        return statsRegistry.computeIfAbsent(entityId, k -> new EntityStats());
+        EntityStats existing = statsRegistry.get(entityId);
+        if (existing != null) {
+            return existing;
+        }
+        return statsRegistry.computeIfAbsent(entityId, k -> {
+            EntityStats stats = new EntityStats();
+            attach(k, stats);
+            return stats;
+        });
     }
 
     /**
@@ -58,7 +82,11 @@ public final class StatsManager {
      * Register stats for an entity.
      */
     public static void register(UUID entityId, EntityStats stats) {
-        statsRegistry.put(entityId, stats);
+        EntityStats previous = statsRegistry.put(entityId, stats);
+        if (previous != stats) {
+            detach(entityId);
+            attach(entityId, stats);
+        }
     }
 
     /**
@@ -69,7 +97,7 @@ public final class StatsManager {
      */
     @Deprecated
     public static EntityStats unregister(UUID entityId) {
-        return statsRegistry.remove(entityId);
+        return remove(entityId);
     }
 
     /**
@@ -79,7 +107,9 @@ public final class StatsManager {
      * @return The removed stats, or null if not registered
      */
     public static EntityStats remove(UUID entityId) {
-        return statsRegistry.remove(entityId);
+        EntityStats removed = statsRegistry.remove(entityId);
+        detach(entityId);
+        return removed;
     }
 
     /**
@@ -93,7 +123,11 @@ public final class StatsManager {
      * Clear all registered stats.
      */
     public static void clear() {
+        for (UUID entityId : statsRegistry.keySet()) {
+            detach(entityId);
+        }
         statsRegistry.clear();
+        pendingTrackers.clear();
     }
 
     // ==================== BULK OPERATIONS ====================
@@ -133,26 +167,132 @@ public final class StatsManager {
     // ==================== EVENTS ====================
 
     /**
-     * Register a listener for stat changes.
-     * Note: Listeners must be manually triggered by calling {@link #notifyChange}.
+     * Register a listener for changes to one stat.
+     * Several listeners may be registered for the same stat; they fire from
+     * {@link #flushChanges()} or a manual {@link #notifyChange}.
      */
     public static void onStatChange(StatType type, Consumer<StatChangeEvent> listener) {
         if (type != null && listener != null) {
-            changeListeners.put(type, listener);
+            changeListeners.get(type).add(listener);
+        }
+    }
+
+    /**
+     * Unregister a per-stat listener.
+     */
+    public static void removeStatChangeListener(StatType type, Consumer<StatChangeEvent> listener) {
+        if (type != null) {
+            changeListeners.get(type).remove(listener);
         }
     }
 
+    /**
+     * Register a listener that receives one coalesced record per changed
+     * entity each time {@link #flushChanges()} runs.
+     */
+    public static void onStatsChanged(Consumer<StatChangeBatch> listener) {
+        if (listener != null) {
+            batchListeners.add(listener);
+        }
+    }
+
+    /**
+     * Unregister a coalesced change listener.
+     */
+    public static void removeStatsChangedListener(Consumer<StatChangeBatch> listener) {
+        batchListeners.remove(listener);
+    }
+
     /**
      * Notify listeners of a stat change.
-     * Call this after modifying stats if you want change events.
+     * Registered stats notify automatically; call this only for changes
+     * made outside {@link EntityStats}.
      */
     public static void notifyChange(UUID entityId, StatType type, float oldValue, float newValue) {
-        Consumer<StatChangeEvent> listener = changeListeners.get(type);
-        if (listener != null) {
-            listener.accept(new StatChangeEvent(entityId, type, oldValue, newValue));
+        List<Consumer<StatChangeEvent>> listeners = changeListeners.get(type);
+        if (listeners == null || listeners.isEmpty()) {
+            return;
+        }
+        StatChangeEvent event = new StatChangeEvent(entityId, type, oldValue, newValue);
+        for (Consumer<StatChangeEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    /**
+     * Deliver all coalesced stat changes since the previous flush.
+     *
+     * <p>Call once per server tick from a single owner (the runtime drives it
+     * from {@link com.talania.core.utils.time.GlobalTicker}), not from a
+     * per-world system. Stats that were touched but ended at the value last
+     * delivered are dropped, so listeners only see real changes. Concurrent
+     * calls are serialized.
+     *
+     * @return Number of entities with at least one changed stat
+     */
+    public static int flushChanges() {
+        synchronized (FLUSH_LOCK) {
+            return flushPending();
         }
     }
 
+    private static int flushPending() {
+        int delivered = 0;
+        ChangeTracker tracker;
+        while ((tracker = pendingTrackers.poll()) != null) {
+            long touched = tracker.pending.getAndSet(0L);
+            if (touched == 0L || trackers.get(tracker.entityId) != tracker) {
+                continue;
+            }
+            long changed = 0L;
+            for (long bits = touched; bits != 0L; bits &= bits - 1) {
+                int i = Long.numberOfTrailingZeros(bits);
+                StatType type = TYPES[i];
+                float value = tracker.stats.get(type);
+                float previous = tracker.published[i];
+                if (Float.compare(value, previous) == 0) {
+                    continue;
+                }
+                tracker.published[i] = value;
+                changed |= 1L << i;
+                notifyChange(tracker.entityId, type, previous, value);
+            }
+            if (changed != 0L) {
+                delivered++;
+                if (!batchListeners.isEmpty()) {
+                    StatChangeBatch batch = new StatChangeBatch(tracker.entityId, changed);
+                    for (Consumer<StatChangeBatch> listener : batchListeners) {
+                        listener.accept(batch);
+                    }
+                }
+            }
+        }
+        return delivered;
+    }
+
+    private static void attach(UUID entityId, EntityStats stats) {
+        ChangeTracker tracker = new ChangeTracker(entityId, stats);
+        trackers.put(entityId, tracker);
+        stats.addChangeListener(tracker);
+        // Stats may arrive already modified; report anything off its default.
+        tracker.onStatsChanged(stats, -1L >>> (Long.SIZE - TYPES.length));
+    }
+
+    private static void detach(UUID entityId) {
+        ChangeTracker tracker = trackers.remove(entityId);
+        if (tracker != null) {
+            tracker.stats.removeChangeListener(tracker);
+        }
+    }
+
+    private static Map<StatType, List<Consumer<StatChangeEvent>>> createListenerMap() {
+        Map<StatType, List<Consumer<StatChangeEvent>>> map = new EnumMap<>(StatType.class);
+        for (StatType type : StatType.values()) {
+            map.put(type, new CopyOnWriteArrayList<>());
+        }
+        return map;
+    }
+
     // ==================== UTILITY ====================
 
     /**
@@ -170,6 +310,34 @@ public final class StatsManager {
         getOrCreate(entityId).addModifier(modifier);
     }
 
+    // ==================== CHANGE TRACKING ====================
+
+    /**
+     * Accumulates touched-stat masks for one entity between flushes.
+     */
+    private static final class ChangeTracker implements EntityStats.ChangeListener {
+        private final UUID entityId;
+        private final EntityStats stats;
+        private final AtomicLong pending = new AtomicLong();
+        /** Last values delivered to listeners; only touched under {@code FLUSH_LOCK}. */
+        private final float[] published = new float[TYPES.length];
+
+        private ChangeTracker(UUID entityId, EntityStats stats) {
+            this.entityId = entityId;
+            this.stats = stats;
+            for (StatType type : TYPES) {
+                published[type.ordinal()] = type.getDefaultValue();
+            }
+        }
+
+        @Override
+        public void onStatsChanged(EntityStats source, long statMask) {
+            if (pending.getAndAccumulate(statMask, (a, b) -> a | b) == 0L) {
+                pendingTrackers.add(this);
+            }
+        }
+    }
+
     // ==================== EVENT CLASS ====================
 
     /**
@@ -194,4 +362,23 @@ public final class StatsManager {
         public float getNewValue() { return newValue; }
         public float getDelta() { return newValue - oldValue; }
     }
+
+    /**
+     * Coalesced record of every stat that changed on one entity since the
+     * previous {@link #flushChanges()}.
+     */
+    public static final class StatChangeBatch {
+        private final UUID entityId;
+        private final long changedMask;
+
+        public StatChangeBatch(UUID entityId, long changedMask) {
+            this.entityId = entityId;
+            this.changedMask = changedMask;
+        }
+
+        public UUID getEntityId() { return entityId; }
+        /** Bitmask with bit {@link StatType#ordinal()} set for each changed stat. */
+        public long getChangedMask() { return changedMask; }
+        public boolean contains(StatType type) { return (changedMask & (1L << type.ordinal())) != 0L; }
+    }
 }
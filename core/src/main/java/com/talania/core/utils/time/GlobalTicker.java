@@ -0,0 +1,120 @@
+package com.talania.core.utils.time;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs server-wide per-tick work on one dedicated thread.
+ *
+ * <p>ECS {@code TickingSystem}s tick once per world store, each on that
+ * world's own thread, so work that is global to the server cannot be driven
+ * from them without several worlds running it at the same time. Tasks added
+ * here run once per tick, in the order they were added, always on the
+ * {@code TalaniaCore-Tick} thread. Work that must touch a world's entity
+ * store still has to hop to that world (for example with a per-store queue
+ * drained by a world system).</p>
+ */
+public final class GlobalTicker implements Closeable {
+    public static final long DEFAULT_PERIOD_MS = 50L;
+
+    private final long periodMs;
+    private final List<Runnable> tasks = new CopyOnWriteArrayList<>();
+    private final Object lifecycleLock = new Object();
+    private ScheduledExecutorService executor;
+    private volatile Thread thread;
+    private volatile boolean closed;
+
+    public GlobalTicker() {
+        this(DEFAULT_PERIOD_MS);
+    }
+
+    public GlobalTicker(long periodMs) {
+        this.periodMs = Math.max(1L, periodMs);
+    }
+
+    /**
+     * Run {@code task} once per tick on the tick thread. Starts the thread on
+     * first use.
+     *
+     * @return true if the task was added
+     */
+    public boolean add(Runnable task) {
+        if (task == null) {
+            return false;
+        }
+        synchronized (lifecycleLock) {
+            if (closed) {
+                return false;
+            }
+            tasks.add(task);
+            if (executor == null) {
+                executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread created = new Thread(runnable, "TalaniaCore-Tick");
+                    created.setDaemon(true);
+                    thread = created;
+                    return created;
+                });
+                executor.scheduleAtFixedRate(this::runTasks, periodMs, periodMs, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        }
+    }
+
+    public boolean remove(Runnable task) {
+        return tasks.remove(task);
+    }
+
+    /**
+     * True when called from the tick thread.
+     */
+    public boolean isTickThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    public long periodMs() {
+        return periodMs;
+    }
+
+    /**
+     * Stop ticking. A tick already in progress is allowed to finish.
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService current;
+        synchronized (lifecycleLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            current = executor;
+            executor = null;
+        }
+        tasks.clear();
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        if (!isTickThread()) {
+            try {
+                current.awaitTermination(1L, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runTasks() {
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // An escaping exception would cancel the schedule for every task.
+                System.err.println("[TalaniaCore] Tick task failed: " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.talania.core.utils.time;
+
+/**
+ * Tick clock advanced by its owner, typically from a ticking system.
+ */
+public final class ManualTickClock implements TickClock {
+    private final long tickMillis;
+    private volatile long tick;
+
+    public ManualTickClock(long tickMillis) {
+        this.tickMillis = Math.max(1L, tickMillis);
+    }
+
+    @Override
+    public long currentTick() {
+        return tick;
+    }
+
+    @Override
+    public long tickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Advance by one tick and return the new tick. Single writer.
+     */
+    public long advance() {
+        long next = tick + 1L;
+        tick = next;
+        return next;
+    }
+
+    public void set(long tick) {
+        this.tick = tick;
+    }
+}
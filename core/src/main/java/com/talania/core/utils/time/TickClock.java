@@ -0,0 +1,54 @@
+package com.talania.core.utils.time;
+
+/**
+ * Monotonic tick source supplied by the caller of a tick-based service.
+ *
+ * <p>{@link #millis()} counts wall-clock milliseconds; {@link ManualTickClock}
+ * is advanced explicitly, e.g. once per server tick.</p>
+ */
+public interface TickClock {
+
+    /**
+     * Current tick.
+     */
+    long currentTick();
+
+    /**
+     * Length of one tick in milliseconds (at least 1).
+     */
+    long tickMillis();
+
+    /**
+     * Number of whole ticks covering {@code millis}, rounded up.
+     */
+    default long ticksFor(long millis) {
+        if (millis <= 0L) {
+            return 0L;
+        }
+        long tick = tickMillis();
+        return (millis + tick - 1L) / tick;
+    }
+
+    /**
+     * Clock whose tick is one millisecond of {@link System#currentTimeMillis()}.
+     */
+    static TickClock millis() {
+        return SystemMillisClock.INSTANCE;
+    }
+
+    final class SystemMillisClock implements TickClock {
+        private static final SystemMillisClock INSTANCE = new SystemMillisClock();
+
+        private SystemMillisClock() {}
+
+        @Override
+        public long currentTick() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public long tickMillis() {
+            return 1L;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.talania.core.utils.time;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe {@link TimingWheel} driven by a {@link TickClock}.
+ *
+ * <p>{@link #global()} is for callbacks that may run on any world thread;
+ * {@link #forWorld(String)} services are advanced by that world's
+ * {@link TimerSystem}, so their callbacks run on the world thread and may
+ * touch the world's entity store. Callbacks run while the service is locked:
+ * keep them short and do not block.</p>
+ */
+public final class TimerService {
+    private static final TimerService GLOBAL = new TimerService(TickClock.millis());
+    private static final Map<String, TimerService> WORLDS = new ConcurrentHashMap<>();
+
+    private final TickClock clock;
+    private final TimingWheel wheel;
+
+    public TimerService(TickClock clock) {
+        this.clock = clock != null ? clock : TickClock.millis();
+        this.wheel = new TimingWheel(this.clock.currentTick());
+    }
+
+    public static TimerService global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Timers for one world, created on first use.
+     */
+    public static TimerService forWorld(String worldName) {
+        if (worldName == null || worldName.isEmpty()) {
+            return GLOBAL;
+        }
+        return WORLDS.computeIfAbsent(worldName, ignored -> new TimerService(TickClock.millis()));
+    }
+
+    /**
+     * Drop a world's timers without firing them. The core runtime calls this
+     * when a world is removed.
+     */
+    public static void removeWorld(String worldName) {
+        TimerService removed = worldName == null ? null : WORLDS.remove(worldName);
+        if (removed != null) {
+            removed.clear();
+        }
+    }
+
+    public TickClock clock() {
+        return clock;
+    }
+
+    /**
+     * Run {@code callback} once {@code delayMs} have passed.
+     *
+     * @return handle for {@link #cancel(long)}
+     */
+    public long schedule(long delayMs, TimingWheel.Callback callback, long payload) {
+        long deadline = clock.currentTick() + clock.ticksFor(delayMs);
+        synchronized (wheel) {
+            return wheel.scheduleAt(deadline, callback, payload);
+        }
+    }
+
+    /**
+     * Run {@code callback} at an absolute tick of this service's clock.
+     */
+    public long scheduleAt(long deadlineTick, TimingWheel.Callback callback, long payload) {
+        synchronized (wheel) {
+            return wheel.scheduleAt(deadlineTick, callback, payload);
+        }
+    }
+
+    public boolean cancel(long handle) {
+        if (handle == TimingWheel.NO_TIMER) {
+            return false;
+        }
+        synchronized (wheel) {
+            return wheel.cancel(handle);
+        }
+    }
+
+    public boolean isScheduled(long handle) {
+        if (handle == TimingWheel.NO_TIMER) {
+            return false;
+        }
+        synchronized (wheel) {
+            return wheel.isScheduled(handle);
+        }
+    }
+
+    /**
+     * Fire every timer that is due on the calling thread.
+     *
+     * @return number of callbacks run
+     */
+    public int advance() {
+        long now = clock.currentTick();
+        synchronized (wheel) {
+            return wheel.advanceTo(now);
+        }
+    }
+
+    public int size() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (wheel) {
+            wheel.clear();
+        }
+    }
+}
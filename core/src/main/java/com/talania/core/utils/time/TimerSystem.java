@@ -0,0 +1,33 @@
+package com.talania.core.utils.time;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Fires due {@link TimerService} callbacks once per tick: the ticking world's
+ * timers on its own thread, plus the global timers.
+ */
+public final class TimerSystem extends TickingSystem<EntityStore> {
+
+    @Override
+    public void tick(float delta, int systemIndex, Store<EntityStore> store) {
+        TimerService.global().advance();
+        TimerService world = forStore(store);
+        if (world != TimerService.global()) {
+            world.advance();
+        }
+    }
+
+    /**
+     * Timers of the world that owns {@code store}, or the global timers.
+     */
+    public static TimerService forStore(Store<EntityStore> store) {
+        if (store == null || store.getExternalData() == null) {
+            return TimerService.global();
+        }
+        World world = store.getExternalData().getWorld();
+        return world == null ? TimerService.global() : TimerService.forWorld(world.getName());
+    }
+}
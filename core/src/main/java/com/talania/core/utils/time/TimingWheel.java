@@ -0,0 +1,358 @@
+package com.talania.core.utils.time;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel that fires callbacks when their deadline tick passes.
+ *
+ * <p>Four levels of 64 slots cover 2^24 ticks; later deadlines wait in an
+ * overflow bucket and are re-filed as the wheel turns. Timers are pooled in
+ * primitive arrays and addressed by a {@code long} handle (slot plus
+ * generation), so scheduling, cancelling and firing do not allocate once the
+ * pool has grown. {@link #advanceTo(long)} skips runs of empty slots, so its
+ * cost depends on the number of expiring timers rather than the number of
+ * scheduled ones or the length of the gap.</p>
+ *
+ * <p>Not thread-safe: confine a wheel to one thread or guard it externally
+ * (see {@link TimerService}). Callbacks run inside {@link #advanceTo(long)}
+ * and may schedule or cancel timers.</p>
+ */
+public final class TimingWheel {
+    /** Handle value that never refers to a timer. */
+    public static final long NO_TIMER = 0L;
+
+    /**
+     * Receives the payload passed at scheduling time.
+     */
+    @FunctionalInterface
+    public interface Callback {
+        void onExpire(long payload);
+    }
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW = LEVELS * SLOTS;
+    private static final int FIRING = OVERFLOW + 1;
+    private static final int FREE = -1;
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    private final int[] heads = new int[FIRING + 1];
+    private final int[] levelCounts = new int[LEVELS + 1];
+
+    private long[] deadlines;
+    private long[] payloads;
+    private Callback[] callbacks;
+    private int[] next;
+    private int[] prev;
+    private int[] buckets;
+    private int[] generations;
+    private int freeHead = -1;
+    private int allocated;
+    private int size;
+    private long currentTick;
+
+    public TimingWheel(long startTick) {
+        this(startTick, 64);
+    }
+
+    public TimingWheel(long startTick, int initialCapacity) {
+        this.currentTick = startTick;
+        Arrays.fill(heads, -1);
+        int capacity = Math.max(16, initialCapacity);
+        deadlines = new long[capacity];
+        payloads = new long[capacity];
+        callbacks = new Callback[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        buckets = new int[capacity];
+        generations = new int[capacity];
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Number of scheduled timers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedule a callback {@code delayTicks} after the current tick.
+     */
+    public long schedule(long delayTicks, Callback callback, long payload) {
+        return scheduleAt(currentTick + Math.max(0L, delayTicks), callback, payload);
+    }
+
+    /**
+     * Schedule a callback for an absolute tick. Deadlines at or before the
+     * current tick fire on the next advance.
+     *
+     * @return handle for {@link #cancel(long)}
+     */
+    public long scheduleAt(long deadlineTick, Callback callback, long payload) {
+        if (callback == null) {
+            return NO_TIMER;
+        }
+        int node = allocate();
+        deadlines[node] = Math.max(deadlineTick, currentTick + 1L);
+        payloads[node] = payload;
+        callbacks[node] = callback;
+        file(node);
+        size++;
+        return handle(node);
+    }
+
+    /**
+     * Cancel a timer that has not fired yet.
+     *
+     * @return true if the timer was still scheduled
+     */
+    public boolean cancel(long handle) {
+        int node = nodeOf(handle);
+        if (node < 0) {
+            return false;
+        }
+        unlink(node);
+        release(node);
+        size--;
+        return true;
+    }
+
+    public boolean isScheduled(long handle) {
+        return nodeOf(handle) >= 0;
+    }
+
+    /**
+     * Deadline of a scheduled timer, or {@link Long#MIN_VALUE}.
+     */
+    public long deadlineOf(long handle) {
+        int node = nodeOf(handle);
+        return node < 0 ? Long.MIN_VALUE : deadlines[node];
+    }
+
+    /**
+     * Fire every timer whose deadline is at or before {@code tick}.
+     *
+     * @return number of callbacks run
+     */
+    public int advanceTo(long tick) {
+        int fired = 0;
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick;
+                break;
+            }
+            long step = nextInterestingTick(tick);
+            currentTick = step;
+            cascade(step);
+            fired += fire((int) (step & SLOT_MASK));
+        }
+        return fired;
+    }
+
+    /**
+     * Drop every timer without firing it.
+     */
+    public void clear() {
+        for (int bucket = 0; bucket < heads.length; bucket++) {
+            int node = heads[bucket];
+            while (node >= 0) {
+                int following = next[node];
+                release(node);
+                node = following;
+            }
+            heads[bucket] = -1;
+        }
+        Arrays.fill(levelCounts, 0);
+        size = 0;
+    }
+
+    // ==================== INTERNAL ====================
+
+    /**
+     * The next tick that needs processing: the next tick if level 0 holds
+     * timers, otherwise the next boundary of the lowest non-empty level.
+     */
+    private long nextInterestingTick(long limit) {
+        long candidate = currentTick + 1L;
+        for (int level = 0; level < LEVELS; level++) {
+            if (levelCounts[level] > 0) {
+                return candidate;
+            }
+            // Nothing can fire below level+1 before its next boundary.
+            long width = 1L << (SLOT_BITS * (level + 1));
+            candidate = (currentTick | (width - 1L)) + 1L;
+            if (candidate >= limit) {
+                return limit;
+            }
+        }
+        return Math.min(candidate, limit);
+    }
+
+    private void cascade(long tick) {
+        if ((tick & (RANGE - 1L)) == 0L && heads[OVERFLOW] >= 0) {
+            refile(OVERFLOW, LEVELS);
+        }
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            long width = 1L << (SLOT_BITS * level);
+            if ((tick & (width - 1L)) != 0L) {
+                continue;
+            }
+            int bucket = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            if (heads[bucket] >= 0) {
+                refile(bucket, level);
+            }
+        }
+    }
+
+    private void refile(int bucket, int level) {
+        int node = heads[bucket];
+        heads[bucket] = -1;
+        while (node >= 0) {
+            int following = next[node];
+            levelCounts[level]--;
+            file(node);
+            node = following;
+        }
+    }
+
+    private int fire(int slot) {
+        int head = heads[slot];
+        if (head < 0) {
+            return 0;
+        }
+        // Move the slot to the firing list so callbacks can cancel or schedule freely.
+        heads[slot] = -1;
+        int tail = head;
+        int count = 0;
+        for (int node = head; node >= 0; node = next[node]) {
+            buckets[node] = FIRING;
+            tail = node;
+            count++;
+        }
+        levelCounts[0] -= count;
+        int pending = heads[FIRING];
+        if (pending >= 0) {
+            next[tail] = pending;
+            prev[pending] = tail;
+        }
+        heads[FIRING] = head;
+
+        int fired = 0;
+        while (heads[FIRING] >= 0) {
+            int node = heads[FIRING];
+            unlink(node);
+            Callback callback = callbacks[node];
+            long payload = payloads[node];
+            release(node);
+            size--;
+            callback.onExpire(payload);
+            fired++;
+        }
+        return fired;
+    }
+
+    private void file(int node) {
+        long deadline = deadlines[node];
+        long delta = deadline - currentTick;
+        int bucket;
+        int level;
+        if (delta < 0L) {
+            delta = 0L;
+        }
+        if (delta >= RANGE) {
+            bucket = OVERFLOW;
+            level = LEVELS;
+        } else {
+            level = 0;
+            while (delta >= (1L << (SLOT_BITS * (level + 1)))) {
+                level++;
+            }
+            bucket = level * SLOTS + (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        }
+        buckets[node] = bucket;
+        prev[node] = -1;
+        next[node] = heads[bucket];
+        if (heads[bucket] >= 0) {
+            prev[heads[bucket]] = node;
+        }
+        heads[bucket] = node;
+        levelCounts[level]++;
+    }
+
+    private void unlink(int node) {
+        int bucket = buckets[node];
+        if (prev[node] >= 0) {
+            next[prev[node]] = next[node];
+        } else {
+            heads[bucket] = next[node];
+        }
+        if (next[node] >= 0) {
+            prev[next[node]] = prev[node];
+        }
+        if (bucket < OVERFLOW) {
+            levelCounts[bucket / SLOTS]--;
+        } else if (bucket == OVERFLOW) {
+            levelCounts[LEVELS]--;
+        }
+        prev[node] = -1;
+        next[node] = -1;
+    }
+
+    private int allocate() {
+        if (freeHead >= 0) {
+            int node = freeHead;
+            freeHead = next[node];
+            return node;
+        }
+        if (allocated == deadlines.length) {
+            int capacity = deadlines.length << 1;
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+            callbacks = Arrays.copyOf(callbacks, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            buckets = Arrays.copyOf(buckets, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+        }
+        return allocated++;
+    }
+
+    private void release(int node) {
+        callbacks[node] = null;
+        buckets[node] = FREE;
+        // Invalidate outstanding handles; generation 0 is skipped so handles are never 0.
+        int generation = generations[node] + 1;
+        generations[node] = generation == 0 ? 1 : generation;
+        next[node] = freeHead;
+        freeHead = node;
+    }
+
+    private long handle(int node) {
+        int generation = generations[node];
+        if (generation == 0) {
+            generation = 1;
+            generations[node] = generation;
+        }
+        return ((long) generation << 32) | (node & 0xFFFFFFFFL);
+    }
+
+    private int nodeOf(long handle) {
+        if (handle == NO_TIMER) {
+            return -1;
+        }
+        int node = (int) handle;
+        if (node < 0 || node >= allocated) {
+            return -1;
+        }
+        if (generations[node] != (int) (handle >>> 32) || buckets[node] == FREE) {
+            return -1;
+        }
+        return node;
+    }
+}
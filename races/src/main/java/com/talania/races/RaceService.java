@@ -35,13 +35,13 @@ public final class RaceService {
         }
         RaceType previous = assigned.put(entityId, race);
         EntityStats stats = StatsManager.getOrCreate(entityId);
-        if (previous != null) {
-            stats.removeModifiersBySource(previous.sourceKey());
-        }
         List<StatModifier> modifiers = race.createBaseModifiers();
-        for (StatModifier modifier : modifiers) {
-            stats.addModifier(modifier);
-        }
+        stats.batch(tx -> {
+            if (previous != null) {
+                tx.removeSource(previous.sourceKey());
+            }
+            tx.addAll(modifiers);
+        });
     }
 
     /**
@@ -38,7 +38,8 @@ public final class TalaniaRacesPlugin extends JavaPlugin {
         this.conditionalEffectSystem = new RaceConditionalEffectSystem(raceService);
         getEntityStoreRegistry().registerSystem(conditionalEffectSystem);
         RaceCosmeticOverrides.ensureRegistered();
-        EventBus.subscribe(PromptRaceSelectionEvent.class, this::handleRaceSelectionPrompt);
+        EventBus.subscribe(this, PromptRaceSelectionEvent.class, this::handleRaceSelectionPrompt,
+                EventBus.EventPriority.NORMAL);
         TalaniaModuleRegistry.get().register("races", new ModuleHooks() {
             @Override
             public void onPlayerReady(PlayerRef playerRef, TalaniaPlayerProfile profile,
@@ -75,6 +76,11 @@ public final class TalaniaRacesPlugin extends JavaPlugin {
         });
     }
 
+    @Override
+    protected void shutdown() {
+        EventBus.unsubscribeOwner(this);
+    }
+
     private void tryOpenRacesDebugUi(PlayerRef playerRef,
                                      com.hypixel.hytale.component.Ref<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> ref,
                                      com.hypixel.hytale.component.Store<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> store) {